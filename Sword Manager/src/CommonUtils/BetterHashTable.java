@@ -1,16 +1,30 @@
 package CommonUtils;
 
+import CommonUtils.HashTableStats.Operation;
 import CommonUtils.Interfaces.BetterHashTableInterface;
+import CommonUtils.Interfaces.HashTableCursor;
 
 import java.awt.*;
 import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 /**
- * Implements our {@link BetterHashTableInterface} and adds two constructors.
+ * Implements our {@link BetterHashTableInterface} and adds three constructors.
  *
  * @param <K> Type of key the hash table is holding
  * @param <V> Type of value the hash table is holding
- * @implNote Implements a hash table using an array with initial capacity 19.
+ * @implNote Implements a hash table using an array with initial capacity 29.
+ * <p>
+ * Tables built with <code>powerOfTwoCapacity</code> instead keep a power-of-two capacity, mix the key's
+ * hash code with a murmur3 finalizer and probe the triangular numbers (h, h+1, h+3, h+6, ...) using a
+ * mask.  That sequence visits every slot of a power-of-two table and needs no division per probe.
+ * <p>
+ * Power-of-two tables can also resize incrementally (see {@link #setIncrementalResize(boolean)}).  A resize
+ * then only allocates the new array; the old one is kept alongside it and every write moves the next
+ * MIGRATION_STEP slots (and the key being written) across, so no single call pays for rehashing the whole
+ * table.  Until the old array is empty, lookups that miss the new array also search the old one.
  */
 public class BetterHashTable<K, V> implements BetterHashTableInterface<K, V> {
     /**
@@ -23,7 +37,12 @@ public class BetterHashTable<K, V> implements BetterHashTableInterface<K, V> {
      * If the number of elements stored is > LOAD_FACTOR, it should increase
      * the capacity of the array according to INCREASE_FACTOR.
      * <p>
-     * Our hash table will not decrease its size for the duration of its lifetime.
+     * Deleted markers lengthen every probe sequence that passes over them, so they count towards the
+     * ratio as well.  If crossing it is mostly their doing (fewer than half of LOAD_FACTOR are live
+     * elements), the table is rehashed at its current capacity instead, which drops every marker.
+     * <p>
+     * Our hash table will not decrease its size on its own unless shrinking is turned on
+     * (see {@link #setShrinkOnLowOccupancy(boolean)}), or {@link #trimToSize()} is called.
      */
     private final double LOAD_FACTOR = 0.75;
     /**
@@ -38,9 +57,57 @@ public class BetterHashTable<K, V> implements BetterHashTableInterface<K, V> {
      * "some small quantity (<100)"
      */
     private final int CAPACITY_INCREMENT = 1 << 5;//32
+    /**
+     * If shrinking is turned on and the number of elements stored is < capacity * SHRINK_FACTOR, the capacity
+     * is divided by INCREASE_FACTOR (never below the capacity the table was constructed with).  Shrinking
+     * leaves the table at most half as full as this, far enough below LOAD_FACTOR that a few inserts
+     * cannot make it grow right back.
+     */
+    private final double SHRINK_FACTOR = 0.125;
+    /**
+     * Number of old-array slots each write moves into the new array while an incremental resize is running.
+     * Any resize leaves the new array at most half full against LOAD_FACTOR, and it takes well over
+     * capacity / MIGRATION_STEP inserts to fill the other half, so a migration finishes before the
+     * next one is due.
+     */
+    private final int MIGRATION_STEP = 64;
 
     int size;
     int capacity;
+    int tombstones;
+
+    /**
+     * Capacity the table was constructed with; shrinking never goes below it
+     */
+    final int minCapacity;
+    boolean shrinkOnLowOccupancy;
+
+    /**
+     * Whether this table uses power-of-two capacities with masked triangular probing
+     * (see the class header comment), and the mask that goes with the current capacity
+     */
+    final boolean powerOfTwo;
+    int mask;
+
+    /**
+     * Incremental resizing: the array still being emptied into <code>table</code> (null when no resize is
+     * running), and the index of the next slot of it to move
+     */
+    boolean incrementalResize;
+    Node<K, V>[] oldTable;
+    int migrated;
+
+    /**
+     * Longest time a single call spent resizing, in nanoseconds
+     */
+    long maxResizePauseNanos;
+
+    /**
+     * Where to record probe counts and resizes, or null when nobody is observing this table.  lastProbes is
+     * the number of slots the latest findSlot call examined.
+     */
+    HashTableStats stats;
+    int lastProbes;
 
     /**
      * Simple storage unit for our hash table
@@ -75,6 +142,11 @@ public class BetterHashTable<K, V> implements BetterHashTableInterface<K, V> {
      */
     private final Node<K, V> DELETED = new Node<>(null, null);
 
+    /**
+     * Returned by findSlot when the key is absent and its probe sequence has no free slot
+     */
+    private static final int NO_SLOT = Integer.MIN_VALUE;
+
     /**
      * Array to store elements  (according to the implementation
      * note in the class header comment).
@@ -86,9 +158,11 @@ public class BetterHashTable<K, V> implements BetterHashTableInterface<K, V> {
      */
     @SuppressWarnings("unchecked")
     public BetterHashTable() {
+        this.powerOfTwo = false;
         this.table = (Node<K, V>[]) new Node[INIT_CAPACITY];
         size = 0;
         capacity = INIT_CAPACITY;
+        minCapacity = INIT_CAPACITY;
     }
 
     /**
@@ -99,11 +173,82 @@ public class BetterHashTable<K, V> implements BetterHashTableInterface<K, V> {
      */
     @SuppressWarnings("unchecked")
     public BetterHashTable(int initialCapacity) throws IllegalArgumentException {
+        this(initialCapacity, false);
+    }
+
+    /**
+     * Constructor that initializes the hash table with an initial capacity and probing mode
+     *
+     * @param initialCapacity    initial table capacity (rounded up to a power of two if powerOfTwoCapacity is set)
+     * @param powerOfTwoCapacity whether to use power-of-two capacities with masked triangular probing
+     * @throws IllegalArgumentException if the initial capacity is negative
+     */
+    public BetterHashTable(int initialCapacity, boolean powerOfTwoCapacity) throws IllegalArgumentException {
+        this(initialCapacity, powerOfTwoCapacity, false);
+    }
+
+    /**
+     * Constructor shared by the public constructors and {@link #withExpectedSize(int, boolean)}
+     *
+     * @param initialCapacity    initial table capacity, or number of elements to size the table for
+     * @param powerOfTwoCapacity whether to use power-of-two capacities with masked triangular probing
+     * @param isElementCount     whether initialCapacity is a number of elements rather than a capacity
+     * @throws IllegalArgumentException if the initial capacity is negative
+     */
+    @SuppressWarnings("unchecked")
+    private BetterHashTable(int initialCapacity, boolean powerOfTwoCapacity, boolean isElementCount) throws IllegalArgumentException {
         if (initialCapacity < 0) throw new IllegalArgumentException();
 
-        this.table = (Node<K, V>[]) new Node[initialCapacity];
+        this.powerOfTwo = powerOfTwoCapacity;
+        if (isElementCount) {
+            initialCapacity = capacityFor(initialCapacity);
+        }
+        capacity = powerOfTwo ? Hashing.powerOfTwoAtLeast(initialCapacity) : Math.max(initialCapacity, 1);
+        mask = capacity - 1;
+        minCapacity = capacity;
+        this.table = (Node<K, V>[]) new Node[capacity];
         size = 0;
-        capacity = initialCapacity;
+    }
+
+    /**
+     * Creates an empty table that can hold the given number of elements without resizing
+     *
+     * @param expectedSize number of elements the table is expected to hold
+     * @param <K>          Type of key the hash table is holding
+     * @param <V>          Type of value the hash table is holding
+     * @return new empty hash table
+     * @throws IllegalArgumentException if the expected size is negative
+     */
+    public static <K, V> BetterHashTable<K, V> withExpectedSize(int expectedSize) throws IllegalArgumentException {
+        return withExpectedSize(expectedSize, false);
+    }
+
+    /**
+     * Creates an empty table that can hold the given number of elements without resizing
+     *
+     * @param expectedSize       number of elements the table is expected to hold
+     * @param powerOfTwoCapacity whether to use power-of-two capacities with masked triangular probing
+     * @param <K>                Type of key the hash table is holding
+     * @param <V>                Type of value the hash table is holding
+     * @return new empty hash table
+     * @throws IllegalArgumentException if the expected size is negative
+     */
+    public static <K, V> BetterHashTable<K, V> withExpectedSize(int expectedSize, boolean powerOfTwoCapacity) throws IllegalArgumentException {
+        return new BetterHashTable<>(expectedSize, powerOfTwoCapacity, true);
+    }
+
+    /**
+     * Returns the smallest capacity that holds the given number of elements under the load factor
+     *
+     * @param elements number of elements
+     * @return capacity for this table's mode (a power of two in power-of-two mode)
+     */
+    private int capacityFor(long elements) {
+        long needed = Math.max((long) (elements / LOAD_FACTOR) + 1, 1);
+        if (powerOfTwo) {
+            return Hashing.powerOfTwoAtLeast((int) Math.min(needed, Hashing.MAX_POWER_OF_TWO));
+        }
+        return (int) Math.min(needed, Integer.MAX_VALUE - 8);
     }
 
     /**
@@ -113,16 +258,372 @@ public class BetterHashTable<K, V> implements BetterHashTableInterface<K, V> {
      * @return positive hashed value
      */
     private int usefulHash(K thing) {
-        return Math.abs(Objects.hash(thing));
+        if (powerOfTwo) {
+            return Hashing.mix(thing.hashCode());
+        }
+        /* same value as Math.abs(Objects.hash(thing)) without allocating the varargs array */
+        return Math.abs(31 + thing.hashCode()) & Integer.MAX_VALUE;
     }
 
+    /**
+     * Returns the index to look at on the given probe
+     *
+     * @param key usefulHash of the key
+     * @param i   probe number, starting at 0
+     * @return index into the table
+     */
     private int hashFunction(int key, int i) {
-        long probe = i * i;
+        if (powerOfTwo) {
+            return triangularProbe(key, i, mask);
+        }
+        long probe = (long) i * i;
         long asdf = key + probe;
         long index = asdf % capacity;
         return (int) index;
     }
 
+    /**
+     * Returns the index to look at on the given probe of a power-of-two array
+     *
+     * @param key  usefulHash of the key
+     * @param i    probe number, starting at 0
+     * @param mask length of the array - 1
+     * @return index into the array
+     */
+    private static int triangularProbe(int key, int i, int mask) {
+        long triangle = ((long) i * (i + 1)) >>> 1;
+        return (int) ((key + triangle) & mask);
+    }
+
+    /**
+     * Walks the probe sequence for the given key exactly once.
+     *
+     * @param key  key to look for
+     * @param hash usefulHash of the key
+     * @return the index of the key if it is in the table.  Otherwise -(slot + 1), where slot is the first
+     * deleted or empty slot the key could be placed in, or NO_SLOT if the probe sequence has no room.
+     */
+    private int findSlot(K key, int hash) {
+        int firstFree = -1;
+        int probe = 0;
+
+        while (probe < capacity) {
+            int index = hashFunction(hash, probe);
+            Node<K, V> node = table[index];
+            if (node == null) {
+                lastProbes = probe + 1;
+                return -((firstFree == -1 ? index : firstFree) + 1);
+            } else if (node == DELETED) {
+                if (firstFree == -1) {
+                    firstFree = index;
+                }
+            } else if (node.key.equals(key)) {
+                lastProbes = probe + 1;
+                return index;
+            }
+            probe++;
+        }
+        lastProbes = probe;
+        return firstFree == -1 ? NO_SLOT : -(firstFree + 1);
+    }
+
+    /**
+     * {@link #findSlot(Object, int)}, recording the probe count if stats are on
+     *
+     * @param operation kind of operation the lookup is for
+     */
+    private int findSlot(K key, int hash, Operation operation) {
+        int slot = findSlot(key, hash);
+        if (stats != null) {
+            stats.recordProbes(operation, lastProbes);
+        }
+        return slot;
+    }
+
+    /**
+     * Stores a key known not to be in the table, growing the table first if necessary
+     *
+     * @param key   key to store
+     * @param hash  usefulHash of the key
+     * @param slot  result of {@link #findSlot} for the key
+     * @param value value to store
+     * @return the node that was stored
+     */
+    private Node<K, V> addNew(K key, int hash, int slot, V value) {
+        double ratio = (double) (size + tombstones) / (double) capacity;
+        if (ratio > LOAD_FACTOR || slot == NO_SLOT) {
+            if (oldTable != null) { /* writes came faster than the migration; finish it and start over */
+                finishMigration();
+                return addNew(key, hash, findSlot(key, hash), value);
+            }
+            if (size > capacity * LOAD_FACTOR / INCREASE_FACTOR || tombstones == 0) {
+                grow();
+            } else {
+                resizeTo(capacity);
+            }
+            slot = findSlot(key, hash);
+        }
+        while (slot == NO_SLOT) { /* the probe sequence missed every free slot, so try a bigger table */
+            grow();
+            slot = findSlot(key, hash);
+        }
+
+        int index = -(slot + 1);
+        if (table[index] == DELETED) {
+            tombstones--;
+        }
+
+        Node<K, V> node = new Node<>(key, value);
+        table[index] = node;
+        size++;
+        return node;
+    }
+
+    /**
+     * Marks the slot as deleted, then shrinks the table if necessary
+     *
+     * @param slot index of the entry to remove
+     */
+    private void deleteAt(int slot) {
+        table[slot] = DELETED;
+        size--;
+        tombstones++;
+
+        if (shrinkOnLowOccupancy && oldTable == null && size < capacity * SHRINK_FACTOR && capacity / INCREASE_FACTOR >= minCapacity) {
+            resizeTo(capacity / INCREASE_FACTOR);
+        }
+    }
+
+    /**
+     * Rehashes into the given capacity, or the closest larger one that every entry fits in
+     *
+     * @param newCapacity capacity to rehash into (a power of two in power-of-two mode)
+     */
+    private void resizeTo(int newCapacity) {
+        long start = System.nanoTime();
+        if (stats != null) {
+            stats.recordResize();
+        }
+        if (incrementalResize) {
+            finishMigration();
+            startMigration(newCapacity);
+        } else {
+            while (!rehash(newCapacity)) {
+                newCapacity += CAPACITY_INCREMENT;
+            }
+        }
+        recordPause(start);
+    }
+
+    /**
+     * Increases the capacity of the table according to INCREASE_FACTOR and rehashes every entry
+     */
+    private void grow() {
+        if (powerOfTwo) {
+            if (capacity >= Hashing.MAX_POWER_OF_TWO) {
+                throw new OutOfMemoryError();
+            }
+            resizeTo(capacity * INCREASE_FACTOR);
+            return;
+        }
+
+        int newCapacity;
+        if ((long) capacity * INCREASE_FACTOR > Integer.MAX_VALUE - 8) {
+            if ((long) capacity + CAPACITY_INCREMENT > Integer.MAX_VALUE - 8) {
+                throw new OutOfMemoryError();
+            }
+            newCapacity = capacity + CAPACITY_INCREMENT;
+        } else {
+            newCapacity = Math.max(capacity * INCREASE_FACTOR, 1);
+        }
+
+        resizeTo(newCapacity);
+    }
+
+    /**
+     * Moves every entry into a new array of the given capacity.  Deleted markers are dropped.
+     *
+     * @param newCapacity capacity of the new array
+     * @return false (leaving the table untouched) if some entry's probe sequence found no free slot
+     */
+    @SuppressWarnings("unchecked")
+    private boolean rehash(int newCapacity) {
+        int oldCapacity = capacity;
+        Node<K, V>[] oldTable = table;
+        capacity = newCapacity;
+        mask = capacity - 1;
+
+        Node<K, V>[] list = (Node<K, V>[]) new Node[capacity];
+
+        for (int i = 0; i < oldCapacity; i++) { /* rehashing with the new capacity */
+            Node<K, V> node = oldTable[i];
+            if (node != null && node != DELETED) {
+                int hash = usefulHash(node.key);
+                int probe = 0;
+                boolean stored = false;
+                while (probe < capacity && !stored) {
+                    int index = hashFunction(hash, probe);
+                    if (list[index] == null) {
+                        list[index] = node;
+                        stored = true;
+                    }
+                    probe++;
+                }
+                if (!stored) {
+                    capacity = oldCapacity;
+                    mask = capacity - 1;
+                    return false;
+                }
+            }
+        }
+        this.table = list;
+        tombstones = 0;
+        return true;
+    }
+
+    /**
+     * Switches to an empty array of the given capacity and keeps the current one as <code>oldTable</code>,
+     * to be emptied into the new one a few slots at a time.  Only used in power-of-two mode, where an
+     * entry always finds a free slot.
+     *
+     * @param newCapacity power of two capacity of the new array
+     */
+    @SuppressWarnings("unchecked")
+    private void startMigration(int newCapacity) {
+        oldTable = table;
+        migrated = 0;
+        capacity = newCapacity;
+        mask = capacity - 1;
+        table = (Node<K, V>[]) new Node[capacity];
+        tombstones = 0;
+    }
+
+    /**
+     * Moves up to the given number of old-array slots into the new array.  Moved slots are marked deleted
+     * rather than emptied, so the probe sequences of entries that have not moved yet stay intact.
+     *
+     * @param slots number of old-array slots to process
+     */
+    private void migrate(int slots) {
+        int end = (int) Math.min((long) migrated + slots, oldTable.length);
+        for (; migrated < end; migrated++) {
+            Node<K, V> node = oldTable[migrated];
+            if (node != null && node != DELETED) {
+                oldTable[migrated] = DELETED;
+                placeMigrated(node);
+            }
+        }
+        if (migrated == oldTable.length) {
+            oldTable = null;
+        }
+    }
+
+    /**
+     * Stores a node taken from the old array in the first free slot of its probe sequence in the new array.
+     * The node's key is never in the new array already, so no key comparisons are needed.
+     *
+     * @param node node to store
+     */
+    private void placeMigrated(Node<K, V> node) {
+        int hash = usefulHash(node.key);
+        for (int probe = 0; ; probe++) {
+            int index = hashFunction(hash, probe);
+            if (table[index] == null || table[index] == DELETED) {
+                if (table[index] == DELETED) {
+                    tombstones--;
+                }
+                table[index] = node;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Looks the key up in the old array
+     *
+     * @param key  key to look for
+     * @param hash usefulHash of the key
+     * @return index of the key in oldTable, or -1 if it is not there
+     */
+    private int findInOldTable(K key, int hash) {
+        int oldMask = oldTable.length - 1;
+        for (int probe = 0; probe < oldTable.length; probe++) {
+            int index = triangularProbe(hash, probe, oldMask);
+            Node<K, V> node = oldTable[index];
+            if (node == null) {
+                return -1;
+            } else if (node != DELETED && node.key.equals(key)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Called at the start of every write while a migration is running: moves the next MIGRATION_STEP
+     * slots, then the key about to be written if it is still in the old array, so the write only has to
+     * look at the new array.
+     *
+     * @param key  key about to be written
+     * @param hash usefulHash of the key
+     */
+    private void advanceMigration(K key, int hash) {
+        long start = System.nanoTime();
+        migrate(MIGRATION_STEP);
+        if (oldTable != null) {
+            int index = findInOldTable(key, hash);
+            if (index >= 0) {
+                Node<K, V> node = oldTable[index];
+                oldTable[index] = DELETED;
+                placeMigrated(node);
+            }
+        }
+        recordPause(start);
+    }
+
+    /**
+     * Moves everything left in the old array, if a migration is running
+     */
+    private void finishMigration() {
+        if (oldTable != null) {
+            migrate(oldTable.length);
+        }
+    }
+
+    /**
+     * Updates the longest resize pause with the time since <code>start</code>
+     *
+     * @param start System.nanoTime() when the resize work began
+     */
+    private void recordPause(long start) {
+        long nanos = System.nanoTime() - start;
+        maxResizePauseNanos = Math.max(maxResizePauseNanos, nanos);
+        if (stats != null) {
+            stats.recordResizeTime(nanos);
+        }
+    }
+
+    /**
+     * Returns the value of the key's entry, looking in the old array too while a migration is running
+     *
+     * @param key  key to look for
+     * @param hash usefulHash of the key
+     * @param defaultValue value to return if the key is not in the table
+     * @return value associated with the key, or <code>defaultValue</code> if it does not exist
+     */
+    private V lookup(K key, int hash, V defaultValue) {
+        int slot = findSlot(key, hash, Operation.GET);
+        if (slot >= 0) {
+            return table[slot].value;
+        }
+        if (oldTable != null) {
+            int index = findInOldTable(key, hash);
+            if (index >= 0) {
+                return oldTable[index].value;
+            }
+        }
+        return defaultValue;
+    }
 
     /**
      * Places the item in the hash table. Passing key=null will not change the state of the table.
@@ -137,85 +638,158 @@ public class BetterHashTable<K, V> implements BetterHashTableInterface<K, V> {
             return;
         }
 
-        if (containsKey(key)) {
-            int probe = 0;
+        int hash = usefulHash(key);
+        if (oldTable != null) {
+            advanceMigration(key, hash);
+        }
+        int slot = findSlot(key, hash, Operation.INSERT);
+        if (slot >= 0) {
+            table[slot].value = value;
+            return;
+        }
+        addNew(key, hash, slot, value);
+    }
 
-            while (probe < capacity) {
-                int index = hashFunction(usefulHash(key), probe);
-                if (table[index].key != null) {
-                    if (table[index].key.equals(key)) {
-                        table[index] = new Node<>(key, value);
-                        return;
-                    }
-                }
-                probe++;
+    /**
+     * Associates the value with the key only if the key is not already mapped to a non-null value.
+     * Passing key=null will not change the state of the table.
+     *
+     * @param key   key to associate with the value
+     * @param value item to store in the hash table
+     * @return the previous value associated with the key, or <code>null</code> if there was none
+     */
+    @Override
+    public V putIfAbsent(K key, V value) {
+        if (key == null) {
+            return null;
+        }
+
+        int hash = usefulHash(key);
+        if (oldTable != null) {
+            advanceMigration(key, hash);
+        }
+        int slot = findSlot(key, hash, Operation.INSERT);
+        if (slot >= 0) {
+            V old = table[slot].value;
+            if (old == null) {
+                table[slot].value = value;
             }
+            return old;
         }
+        addNew(key, hash, slot, value);
+        return null;
+    }
 
-        /* increase the capacity if necessary */
+    /**
+     * If the key is not already mapped to a non-null value, computes one with the given function and
+     * stores it unless it is <code>null</code>.  The function must not modify this table.
+     *
+     * @param key             key to look up
+     * @param mappingFunction function computing a value from the key
+     * @return the current (existing or computed) value associated with the key, or <code>null</code>
+     */
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        if (key == null) {
+            return null;
+        }
 
-        double ratio = (double) size / (double) capacity;
-        if (ratio > LOAD_FACTOR) {
-            if (capacity * INCREASE_FACTOR > Integer.MAX_VALUE) {
-                int oldCapacity = capacity;
-                capacity = capacity + CAPACITY_INCREMENT;
+        int hash = usefulHash(key);
+        if (oldTable != null) {
+            advanceMigration(key, hash);
+        }
+        int slot = findSlot(key, hash, Operation.INSERT);
+        if (slot >= 0 && table[slot].value != null) {
+            return table[slot].value;
+        }
 
-                Node<K, V>[] list = new Node[capacity];
+        V value = mappingFunction.apply(key);
+        if (value == null) {
+            return null;
+        }
+        if (slot >= 0) {
+            table[slot].value = value;
+        } else {
+            addNew(key, hash, slot, value);
+        }
+        return value;
+    }
 
+    /**
+     * Computes a new value for the key from its current value (<code>null</code> if absent).  If the new
+     * value is <code>null</code> the mapping is removed.  The function must not modify this table.
+     *
+     * @param key               key to look up
+     * @param remappingFunction function computing the new value from the key and its current value
+     * @return the new value associated with the key, or <code>null</code> if there is none
+     */
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        if (key == null) {
+            return null;
+        }
 
-                for (int i = 0; i < oldCapacity; i++) {
-                    int probe = 0;
-                    if (table[i] != null) {
-                        boolean stored = false;
-                        while (probe < capacity && stored == false) {
-                            int index = hashFunction(usefulHash(table[i].key), probe);
-                            if (list[index] == null) {
-                                list[index] = table[i];
-                                stored = true;
-                            }
-                            probe++;
-                        }
-                    }
-                }
-                this.table = list;
-            } else {
-                int oldCapacity = capacity;
-                capacity = capacity * INCREASE_FACTOR;
-
-                Node<K, V>[] list = new Node[capacity];
-
-                for (int i = 0; i < oldCapacity; i++) { /* rehashing with the new capacity */
-                    int probe = 0;
-                    if (table[i] != null) {
-                        boolean stored = false;
-                        while (probe < capacity && stored == false) {
-                            int index = hashFunction(usefulHash(table[i].key), probe);
-                            if (list[index] == null) {
-                                list[index] = table[i];
-                                stored = true;
-                            }
-                            probe++;
-                        }
-                    }
-                }
-                this.table = list;
-            }
+        int hash = usefulHash(key);
+        if (oldTable != null) {
+            advanceMigration(key, hash);
         }
+        int slot = findSlot(key, hash, Operation.INSERT);
+        V old = slot >= 0 ? table[slot].value : null;
 
-        int probe = 0;
+        V value = remappingFunction.apply(key, old);
+        store(key, hash, slot, value);
+        return value;
+    }
 
-        while (probe < capacity) {
-            int index = hashFunction(usefulHash(key), probe);
-            if (table[index] == null) {
-                table[index] = new Node<>(key, value);
-                size++;
-                return;
-            } else if (table[index].equals(DELETED)) {
-                table[index] = new Node<>(key, value);
-                size++;
-                return;
+    /**
+     * Associates the value with the key if it is absent or mapped to <code>null</code>, otherwise replaces
+     * the current value with the result of the function (removing the mapping if that is <code>null</code>).
+     * The function must not modify this table.
+     *
+     * @param key               key to look up
+     * @param value             value to use if the key is absent
+     * @param remappingFunction function combining the current value and the given value
+     * @return the new value associated with the key, or <code>null</code> if there is none
+     * @throws NullPointerException if the value is null
+     */
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        if (value == null) {
+            throw new NullPointerException();
+        }
+        if (key == null) {
+            return null;
+        }
+
+        int hash = usefulHash(key);
+        if (oldTable != null) {
+            advanceMigration(key, hash);
+        }
+        int slot = findSlot(key, hash, Operation.INSERT);
+        V old = slot >= 0 ? table[slot].value : null;
+
+        V merged = old == null ? value : remappingFunction.apply(old, value);
+        store(key, hash, slot, merged);
+        return merged;
+    }
+
+    /**
+     * Writes the result of a compute/merge back to the slot found for the key
+     *
+     * @param key   key being updated
+     * @param hash  usefulHash of the key
+     * @param slot  result of {@link #findSlot} for the key
+     * @param value new value, or <code>null</code> to remove the mapping
+     */
+    private void store(K key, int hash, int slot, V value) {
+        if (value == null) {
+            if (slot >= 0) {
+                deleteAt(slot);
             }
-            probe++;
+        } else if (slot >= 0) {
+            table[slot].value = value;
+        } else {
+            addNew(key, hash, slot, value);
         }
     }
 
@@ -226,20 +800,17 @@ public class BetterHashTable<K, V> implements BetterHashTableInterface<K, V> {
      */
     @Override
     public void remove(K key) {
-        int probe = 0;
-        int index = hashFunction(usefulHash(key), probe);
-
-        while (table[index] != null && probe < capacity) {
-            if (table[index].key != null) {
-                if (table[index].key.equals(key)) {
-                    table[index] = DELETED;
-                    size--;
-                    return;
-                }
+        if (key == null) {
+            return;
+        }
 
-            }
-            probe++;
-            index = hashFunction(usefulHash(key), probe);
+        int hash = usefulHash(key);
+        if (oldTable != null) {
+            advanceMigration(key, hash);
+        }
+        int slot = findSlot(key, hash, Operation.REMOVE);
+        if (slot >= 0) {
+            deleteAt(slot);
         }
     }
 
@@ -251,19 +822,23 @@ public class BetterHashTable<K, V> implements BetterHashTableInterface<K, V> {
      */
     @Override
     public V get(K key) {
-        int probe = 0;
-        int index = hashFunction(usefulHash(key), probe);
+        return getOrDefault(key, null);
+    }
 
-        while (table[index] != null && probe < capacity) {
-            if (table[index].key != null) {
-                if (table[index].key.equals(key)) {
-                    return table[index].value;
-                }
-            }
-            probe++;
-            index = hashFunction(usefulHash(key), probe);
+    /**
+     * Retrieves a value based on the given key
+     *
+     * @param key          key to search by
+     * @param defaultValue value to return if the key does not exist
+     * @return value associated with the key, or <code>defaultValue</code> if it does not exist
+     */
+    @Override
+    public V getOrDefault(K key, V defaultValue) {
+        if (key == null) {
+            return defaultValue;
         }
-        return null;
+
+        return lookup(key, usefulHash(key), defaultValue);
     }
 
     /**
@@ -274,20 +849,111 @@ public class BetterHashTable<K, V> implements BetterHashTableInterface<K, V> {
      * as ultimately determined by the equals method
      */
     @Override
-    public boolean containsKey(K key) { /*DOESNT WORK*/
-        int probe = 0;
-        int index = hashFunction(usefulHash(key), probe);
+    public boolean containsKey(K key) {
+        if (key == null) {
+            return false;
+        }
+
+        int hash = usefulHash(key);
+        return findSlot(key, hash, Operation.GET) >= 0 || (oldTable != null && findInOldTable(key, hash) >= 0);
+    }
+
+    /**
+     * Places every entry of the other table in this one, as if by insert, growing this table at most once
+     * beforehand.
+     *
+     * @param other table to copy entries from
+     * @throws NullPointerException if other is null
+     */
+    @Override
+    public void putAll(BetterHashTableInterface<? extends K, ? extends V> other) {
+        if (other == this) {
+            return;
+        }
+
+        ensureCapacity((int) Math.min((long) size + other.size(), Integer.MAX_VALUE));
+        other.forEach(this::insert);
+    }
 
-        while (table[index] != null && probe < capacity) {
-            if (table[index].key != null) {
-                if (table[index].key.equals(key)) {
+    /**
+     * Calls the action once for every entry in the table, in no particular order.  The action must not
+     * modify this table.
+     *
+     * @param action action to run on each key and value
+     * @throws NullPointerException if the action is null
+     */
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        if (action == null) {
+            throw new NullPointerException();
+        }
+
+        forEachIn(table, action);
+        if (oldTable != null) {
+            forEachIn(oldTable, action);
+        }
+    }
+
+    private void forEachIn(Node<K, V>[] array, BiConsumer<? super K, ? super V> action) {
+        for (Node<K, V> node : array) {
+            if (node != null && node != DELETED) {
+                action.accept(node.key, node.value);
+            }
+        }
+    }
+
+    /**
+     * Returns a cursor over the entries of the table, in no particular order
+     *
+     * @return a new cursor positioned before the first entry
+     */
+    @Override
+    public HashTableCursor<K, V> cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Walks the backing array, then the old array if an incremental resize was running when it was created
+     */
+    private class Cursor implements HashTableCursor<K, V> {
+        Node<K, V>[] array = table;
+        Node<K, V>[] next = oldTable;
+        int index = -1;
+        Node<K, V> current;
+
+        @Override
+        public boolean advance() {
+            while (true) {
+                index++;
+                if (index == array.length) {
+                    if (next == null) {
+                        index--;
+                        current = null;
+                        return false;
+                    }
+                    array = next;
+                    next = null;
+                    index = 0;
+                }
+                Node<K, V> node = array[index];
+                if (node != null && node != DELETED) {
+                    current = node;
                     return true;
                 }
             }
-            probe++;
-            index = hashFunction(usefulHash(key), probe);
         }
-        return false;
+
+        @Override
+        public K key() {
+            if (current == null) throw new IllegalStateException();
+            return current.key;
+        }
+
+        @Override
+        public V value() {
+            if (current == null) throw new IllegalStateException();
+            return current.value;
+        }
     }
 
     /**
@@ -300,6 +966,139 @@ public class BetterHashTable<K, V> implements BetterHashTableInterface<K, V> {
             table[i] = null; /* pretty sure we can do null here because its all empty */
         }
         size = 0;
+        tombstones = 0;
+        oldTable = null;
+    }
+
+    /**
+     * Shrinks the table to the smallest capacity that holds its current elements under the load factor,
+     * dropping every deleted marker on the way.
+     */
+    public void trimToSize() {
+        resizeTo(capacityFor(size));
+    }
+
+    /**
+     * Grows the table once, if needed, so that it can hold the given number of elements without resizing
+     *
+     * @param expectedSize number of elements the table is expected to hold
+     */
+    public void ensureCapacity(int expectedSize) {
+        int needed = capacityFor(expectedSize);
+        if (needed > capacity) {
+            resizeTo(needed);
+        }
+    }
+
+    /**
+     * Turns shrinking on or off.  When on, removing elements until fewer than capacity * SHRINK_FACTOR
+     * remain divides the capacity by INCREASE_FACTOR (never below the constructed capacity).
+     *
+     * @param shrink whether the table should shrink when mostly empty
+     */
+    public void setShrinkOnLowOccupancy(boolean shrink) {
+        this.shrinkOnLowOccupancy = shrink;
+    }
+
+    /**
+     * Turns incremental resizing on or off (see the class header comment).  Turning it off finishes any
+     * resize that is still running.
+     *
+     * @param incremental whether resizes should be spread over later writes
+     * @throws IllegalStateException if the table was not constructed with power-of-two capacities
+     */
+    public void setIncrementalResize(boolean incremental) throws IllegalStateException {
+        if (incremental && !powerOfTwo) throw new IllegalStateException();
+
+        if (!incremental) {
+            finishMigration();
+        }
+        this.incrementalResize = incremental;
+    }
+
+    /**
+     * Returns whether an incremental resize is still moving entries out of the old array
+     *
+     * @return true iff the table currently has two backing arrays
+     */
+    public boolean isResizing() {
+        return oldTable != null;
+    }
+
+    /**
+     * Returns the longest time a single call to this table has spent resizing, including allocating the new
+     * array, so blocking and incremental resizing can be compared
+     *
+     * @return longest resize pause in nanoseconds, or 0 if the table has never resized
+     */
+    public long maxResizePauseNanos() {
+        return maxResizePauseNanos;
+    }
+
+    /**
+     * Starts recording probe counts and resizes into the given stats, or stops recording if it is null.
+     * The same stats object may be shared by several tables.
+     *
+     * @param stats where to record, or <code>null</code>
+     */
+    public void setStats(HashTableStats stats) {
+        this.stats = stats;
+    }
+
+    /**
+     * Samples the table's current size, deleted markers and longest cluster into its stats (which walks the
+     * whole table) and returns them
+     *
+     * @return the stats set with {@link #setStats(HashTableStats)}, or <code>null</code> if there are none
+     */
+    public HashTableStats stats() {
+        if (stats != null) {
+            stats.sampleTable(size, capacity, tombstones,
+                    HashTableStats.maxClusterLength(i -> table[i] != null, capacity));
+        }
+        return stats;
+    }
+
+    /**
+     * Returns the length of the backing array
+     *
+     * @return current capacity of the table
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the number of slots currently holding a deleted marker
+     *
+     * @return number of deleted markers in the table
+     */
+    public int tombstoneCount() {
+        return tombstones;
+    }
+
+    /**
+     * Returns the average number of slots a successful lookup examines, over every element in the table.
+     * Walks the whole table, so it is meant for diagnostics rather than hot paths.  While an incremental
+     * resize is running, only elements already in the new array are counted.
+     *
+     * @return average probe length, or 0 if the table is empty
+     */
+    public double averageProbeLength() {
+        long total = 0, count = 0;
+        for (int i = 0; i < capacity; i++) {
+            Node<K, V> node = table[i];
+            if (node != null && node != DELETED) {
+                int hash = usefulHash(node.key);
+                int probe = 0;
+                while (hashFunction(hash, probe) != i) {
+                    probe++;
+                }
+                total += probe + 1;
+                count++;
+            }
+        }
+        return count == 0 ? 0 : (double) total / count;
     }
 
     /**
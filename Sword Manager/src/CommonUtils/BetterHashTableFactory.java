@@ -0,0 +1,70 @@
+package CommonUtils;
+
+import CommonUtils.Interfaces.BetterHashTableInterface;
+
+/**
+ * Creates {@link BetterHashTableInterface} implementations by name, so callers can switch
+ * collision-resolution engines without changing their own code.
+ */
+public class BetterHashTableFactory {
+    /**
+     * The available hash table engines
+     */
+    public enum Engine {
+        /**
+         * {@link BetterHashTable} with quadratic probing over its default capacities
+         */
+        QUADRATIC,
+        /**
+         * {@link BetterHashTable} with power-of-two capacities and masked triangular probing
+         */
+        POWER_OF_TWO,
+        /**
+         * {@link RobinHoodHashTable}: linear probing with backward-shift deletion, load factor 0.9
+         */
+        ROBIN_HOOD
+    }
+
+    private BetterHashTableFactory() {
+    }
+
+    /**
+     * Creates an empty hash table with the engine's default capacity
+     *
+     * @param engine engine to use
+     * @param <K>    Type of key the hash table is holding
+     * @param <V>    Type of value the hash table is holding
+     * @return new empty hash table
+     */
+    public static <K, V> BetterHashTableInterface<K, V> create(Engine engine) {
+        switch (engine) {
+            case POWER_OF_TWO:
+                return new BetterHashTable<>(0, true);
+            case ROBIN_HOOD:
+                return new RobinHoodHashTable<>();
+            default:
+                return new BetterHashTable<>();
+        }
+    }
+
+    /**
+     * Creates an empty hash table with the given initial capacity
+     *
+     * @param engine          engine to use
+     * @param initialCapacity initial table capacity
+     * @param <K>             Type of key the hash table is holding
+     * @param <V>             Type of value the hash table is holding
+     * @return new empty hash table
+     * @throws IllegalArgumentException if the initial capacity is negative
+     */
+    public static <K, V> BetterHashTableInterface<K, V> create(Engine engine, int initialCapacity) {
+        switch (engine) {
+            case POWER_OF_TWO:
+                return new BetterHashTable<>(initialCapacity, true);
+            case ROBIN_HOOD:
+                return new RobinHoodHashTable<>(initialCapacity);
+            default:
+                return new BetterHashTable<>(initialCapacity);
+        }
+    }
+}
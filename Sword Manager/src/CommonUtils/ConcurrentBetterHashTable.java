@@ -0,0 +1,670 @@
+package CommonUtils;
+
+import CommonUtils.Interfaces.BetterHashTableInterface;
+import CommonUtils.Interfaces.HashTableCursor;
+
+import java.awt.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Implements our {@link BetterHashTableInterface} so that it can be shared between threads.
+ *
+ * @param <K> Type of key the hash table is holding
+ * @param <V> Type of value the hash table is holding
+ * @implNote The table is split into a power-of-two number of segments, picked by the top bits of the
+ * mixed hash.  Each segment is an open-addressing table (linear probing, deleted markers) with its own
+ * lock, which every write takes and no read does: entries are never moved within a published array, a
+ * resize builds a new array and publishes it through a volatile field, and values are volatile, so a
+ * reader always sees either the old or the new state of each entry.  Segments resize independently.
+ * Reads that race with a write to the same key may see either value; size() is a sum over segments
+ * and is only exact when no writes are in flight.  forEach and cursors are weakly consistent: they walk
+ * each segment's array as it was when they reached it, and never fail because of concurrent writes.
+ */
+public class ConcurrentBetterHashTable<K, V> implements BetterHashTableInterface<K, V> {
+    /**
+     * Initial size of each segment.
+     */
+    private final int INIT_SEGMENT_CAPACITY = 16;
+    /**
+     * Determines the maximum ratio of occupied slots (live entries and deleted markers) to a segment's array size.
+     */
+    private final double LOAD_FACTOR = 0.75;
+    /**
+     * Determines how much to increase a segment's capacity.
+     */
+    private final int INCREASE_FACTOR = 2;
+
+    /**
+     * Storage unit for our hash table.  The key and hash never change; the value is updated in place.
+     */
+    private static final class Entry<K, V> {
+        final K key;
+        final int hash;
+        volatile V value;
+
+        Entry(K key, int hash, V value) {
+            this.key = key;
+            this.hash = hash;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Marker left in a slot whose entry was removed
+     */
+    private static final Object DELETED = new Object();
+
+    /**
+     * Returned by findSlot when the key is absent and the array has no free slot
+     */
+    private static final int NO_SLOT = Integer.MIN_VALUE;
+
+    /**
+     * One independently locked and resized part of the table
+     */
+    private static final class Segment {
+        final ReentrantLock lock = new ReentrantLock();
+        volatile AtomicReferenceArray<Object> table;
+        volatile int count;
+        int tombstones;
+
+        Segment(int capacity) {
+            table = new AtomicReferenceArray<>(capacity);
+        }
+    }
+
+    private final Segment[] segments;
+    private final int segmentShift;
+
+    /**
+     * Constructs the hash table with four segments per hardware thread, rounded up to a power of two
+     * (at least 16)
+     */
+    public ConcurrentBetterHashTable() {
+        this(0, 4 * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor that initializes the hash table for an expected capacity and number of writer threads
+     *
+     * @param initialCapacity  initial capacity, spread over the segments
+     * @param concurrencyLevel expected number of threads writing at once, rounded up to a power-of-two
+     *                         number of segments (at least 16)
+     * @throws IllegalArgumentException if the initial capacity or concurrency level is negative
+     */
+    public ConcurrentBetterHashTable(int initialCapacity, int concurrencyLevel) throws IllegalArgumentException {
+        if (initialCapacity < 0 || concurrencyLevel < 0) throw new IllegalArgumentException();
+
+        int numSegments = Math.min(Hashing.powerOfTwoAtLeast(Math.max(concurrencyLevel, 16)), 1 << 16);
+        int segmentCapacity = Math.max(INIT_SEGMENT_CAPACITY,
+                Hashing.powerOfTwoAtLeast((int) (initialCapacity / LOAD_FACTOR) / numSegments + 1));
+
+        segments = new Segment[numSegments];
+        for (int i = 0; i < numSegments; i++) {
+            segments[i] = new Segment(segmentCapacity);
+        }
+        segmentShift = 32 - Integer.numberOfTrailingZeros(numSegments);
+    }
+
+    private Segment segmentFor(int hash) {
+        return segments[hash >>> segmentShift];
+    }
+
+    /**
+     * Finds the entry for the key in the given array without locking
+     *
+     * @param table array to search
+     * @param key   key to look for
+     * @param hash  mixed hash of the key
+     * @return the key's entry, or <code>null</code> if it is not in the array
+     */
+    @SuppressWarnings("unchecked")
+    private Entry<K, V> find(AtomicReferenceArray<Object> table, K key, int hash) {
+        int mask = table.length() - 1;
+        int index = hash & mask;
+
+        for (int probe = 0; probe <= mask; probe++) {
+            Object o = table.get(index);
+            if (o == null) {
+                return null;
+            }
+            if (o != DELETED) {
+                Entry<K, V> entry = (Entry<K, V>) o;
+                if (entry.hash == hash && entry.key.equals(key)) {
+                    return entry;
+                }
+            }
+            index = (index + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Walks the probe sequence of the segment's current array.  Caller must hold the segment's lock.
+     *
+     * @return the index of the key if it is in the array, otherwise -(slot + 1) where slot is the first
+     * deleted or empty slot the key could be placed in, or NO_SLOT if there is none
+     */
+    @SuppressWarnings("unchecked")
+    private int findSlot(AtomicReferenceArray<Object> table, K key, int hash) {
+        int mask = table.length() - 1;
+        int index = hash & mask;
+        int firstFree = -1;
+
+        for (int probe = 0; probe <= mask; probe++) {
+            Object o = table.get(index);
+            if (o == null) {
+                return -((firstFree == -1 ? index : firstFree) + 1);
+            }
+            if (o == DELETED) {
+                if (firstFree == -1) {
+                    firstFree = index;
+                }
+            } else {
+                Entry<K, V> entry = (Entry<K, V>) o;
+                if (entry.hash == hash && entry.key.equals(key)) {
+                    return index;
+                }
+            }
+            index = (index + 1) & mask;
+        }
+        return firstFree == -1 ? NO_SLOT : -(firstFree + 1);
+    }
+
+    /**
+     * Adds a key known not to be in the segment, resizing the segment first if necessary.
+     * Caller must hold the segment's lock.
+     *
+     * @param segment segment the key belongs to
+     * @param slot    result of {@link #findSlot} for the key in the segment's current array
+     * @param key     key to store
+     * @param hash    mixed hash of the key
+     * @param value   value to store
+     */
+    private void addNew(Segment segment, int slot, K key, int hash, V value) {
+        AtomicReferenceArray<Object> table = segment.table;
+        int index = slot == NO_SLOT ? -1 : -(slot + 1);
+
+        if (index != -1 && table.get(index) == DELETED) {
+            segment.tombstones--;
+        } else if (index == -1 || segment.count + segment.tombstones + 1 > table.length() * LOAD_FACTOR) {
+            int length = table.length();
+            if (segment.count + 1 > length * LOAD_FACTOR / INCREASE_FACTOR) {
+                if (length >= Hashing.MAX_POWER_OF_TWO) {
+                    throw new OutOfMemoryError();
+                }
+                length *= INCREASE_FACTOR;
+            }
+            table = rehash(segment, length);
+            index = -(findSlot(table, key, hash) + 1);
+        }
+
+        table.set(index, new Entry<>(key, hash, value));
+        segment.count = segment.count + 1;
+    }
+
+    /**
+     * Builds a new array for the segment, drops its deleted markers and publishes it.
+     * Caller must hold the segment's lock.
+     *
+     * @param segment   segment to rebuild
+     * @param newLength power of two length of the new array
+     * @return the new array
+     */
+    @SuppressWarnings("unchecked")
+    private AtomicReferenceArray<Object> rehash(Segment segment, int newLength) {
+        AtomicReferenceArray<Object> old = segment.table;
+        AtomicReferenceArray<Object> table = new AtomicReferenceArray<>(newLength);
+        int mask = newLength - 1;
+
+        for (int i = 0; i < old.length(); i++) {
+            Object o = old.get(i);
+            if (o != null && o != DELETED) {
+                int index = ((Entry<K, V>) o).hash & mask;
+                while (table.get(index) != null) {
+                    index = (index + 1) & mask;
+                }
+                table.set(index, o);
+            }
+        }
+
+        segment.tombstones = 0;
+        segment.table = table;
+        return table;
+    }
+
+    /**
+     * Removes the entry at the given slot.  Caller must hold the segment's lock.
+     */
+    private void removeAt(Segment segment, int slot) {
+        segment.table.set(slot, DELETED);
+        segment.tombstones++;
+        segment.count = segment.count - 1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Entry<K, V> entryAt(Segment segment, int slot) {
+        return (Entry<K, V>) segment.table.get(slot);
+    }
+
+    /**
+     * Places the item in the hash table. Passing key=null will not change the state of the table.
+     * Passing a key already in the table will modify the original entry in the table.
+     *
+     * @param key   key to associate with the value
+     * @param value item to store in the hash table
+     */
+    @Override
+    public void insert(K key, V value) {
+        if (key == null) {
+            return;
+        }
+
+        int hash = Hashing.mix(key.hashCode());
+        Segment segment = segmentFor(hash);
+        segment.lock.lock();
+        try {
+            int slot = findSlot(segment.table, key, hash);
+            if (slot >= 0) {
+                entryAt(segment, slot).value = value;
+            } else {
+                addNew(segment, slot, key, hash, value);
+            }
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * Atomically associates the value with the key only if the key is not already mapped to a non-null value.
+     * Passing key=null will not change the state of the table.
+     *
+     * @param key   key to associate with the value
+     * @param value item to store in the hash table
+     * @return the previous value associated with the key, or <code>null</code> if there was none
+     */
+    @Override
+    public V putIfAbsent(K key, V value) {
+        if (key == null) {
+            return null;
+        }
+
+        int hash = Hashing.mix(key.hashCode());
+        Segment segment = segmentFor(hash);
+        segment.lock.lock();
+        try {
+            int slot = findSlot(segment.table, key, hash);
+            if (slot >= 0) {
+                Entry<K, V> entry = entryAt(segment, slot);
+                V old = entry.value;
+                if (old == null) {
+                    entry.value = value;
+                }
+                return old;
+            }
+            addNew(segment, slot, key, hash, value);
+            return null;
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * Atomically computes and stores a value for the key if it is not already mapped to a non-null value.
+     * The function runs while the key's segment is locked, so it must be short and must not modify this table.
+     *
+     * @param key             key to look up
+     * @param mappingFunction function computing a value from the key
+     * @return the current (existing or computed) value associated with the key, or <code>null</code>
+     */
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        if (key == null) {
+            return null;
+        }
+
+        int hash = Hashing.mix(key.hashCode());
+        Entry<K, V> existing = find(segmentFor(hash).table, key, hash);
+        if (existing != null) {
+            V value = existing.value;
+            if (value != null) {
+                return value;
+            }
+        }
+
+        Segment segment = segmentFor(hash);
+        segment.lock.lock();
+        try {
+            int slot = findSlot(segment.table, key, hash);
+            if (slot >= 0 && entryAt(segment, slot).value != null) {
+                return entryAt(segment, slot).value;
+            }
+
+            V value = mappingFunction.apply(key);
+            if (value == null) {
+                return null;
+            }
+            if (slot >= 0) {
+                entryAt(segment, slot).value = value;
+            } else {
+                addNew(segment, slot, key, hash, value);
+            }
+            return value;
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * Atomically computes a new value for the key from its current value (<code>null</code> if absent).
+     * If the new value is <code>null</code> the mapping is removed.  The function runs while the key's
+     * segment is locked, so it must be short and must not modify this table.
+     *
+     * @param key               key to look up
+     * @param remappingFunction function computing the new value from the key and its current value
+     * @return the new value associated with the key, or <code>null</code> if there is none
+     */
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        if (key == null) {
+            return null;
+        }
+
+        int hash = Hashing.mix(key.hashCode());
+        Segment segment = segmentFor(hash);
+        segment.lock.lock();
+        try {
+            int slot = findSlot(segment.table, key, hash);
+            V old = slot >= 0 ? entryAt(segment, slot).value : null;
+
+            V value = remappingFunction.apply(key, old);
+            store(segment, slot, key, hash, value);
+            return value;
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * Atomically associates the value with the key if it is absent or mapped to <code>null</code>, otherwise
+     * replaces the current value with the result of the function (removing the mapping if that is
+     * <code>null</code>).  The function runs while the key's segment is locked, so it must be short and must
+     * not modify this table.
+     *
+     * @param key               key to look up
+     * @param value             value to use if the key is absent
+     * @param remappingFunction function combining the current value and the given value
+     * @return the new value associated with the key, or <code>null</code> if there is none
+     * @throws NullPointerException if the value is null
+     */
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        if (value == null) {
+            throw new NullPointerException();
+        }
+        if (key == null) {
+            return null;
+        }
+
+        int hash = Hashing.mix(key.hashCode());
+        Segment segment = segmentFor(hash);
+        segment.lock.lock();
+        try {
+            int slot = findSlot(segment.table, key, hash);
+            V old = slot >= 0 ? entryAt(segment, slot).value : null;
+
+            V merged = old == null ? value : remappingFunction.apply(old, value);
+            store(segment, slot, key, hash, merged);
+            return merged;
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * Writes the result of a compute/merge back to the slot found for the key.  Caller must hold the
+     * segment's lock.
+     */
+    private void store(Segment segment, int slot, K key, int hash, V value) {
+        if (value == null) {
+            if (slot >= 0) {
+                removeAt(segment, slot);
+            }
+        } else if (slot >= 0) {
+            entryAt(segment, slot).value = value;
+        } else {
+            addNew(segment, slot, key, hash, value);
+        }
+    }
+
+    /**
+     * Removes the key, value pair associated with the given key
+     *
+     * @param key key/value to remove
+     */
+    @Override
+    public void remove(K key) {
+        if (key == null) {
+            return;
+        }
+
+        int hash = Hashing.mix(key.hashCode());
+        Segment segment = segmentFor(hash);
+        segment.lock.lock();
+        try {
+            int slot = findSlot(segment.table, key, hash);
+            if (slot >= 0) {
+                removeAt(segment, slot);
+            }
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * Retrieves a value based on the given key.  Does not lock.
+     *
+     * @param key key to search by
+     * @return value associated with the key, or <code>null</code> if it does not exist
+     */
+    @Override
+    public V get(K key) {
+        return getOrDefault(key, null);
+    }
+
+    /**
+     * Retrieves a value based on the given key.  Does not lock.
+     *
+     * @param key          key to search by
+     * @param defaultValue value to return if the key does not exist
+     * @return value associated with the key, or <code>defaultValue</code> if it does not exist
+     */
+    @Override
+    public V getOrDefault(K key, V defaultValue) {
+        if (key == null) {
+            return defaultValue;
+        }
+
+        int hash = Hashing.mix(key.hashCode());
+        Entry<K, V> entry = find(segmentFor(hash).table, key, hash);
+        return entry != null ? entry.value : defaultValue;
+    }
+
+    /**
+     * Returns <code>true</code> if this hash table contains the given key.  Does not lock.
+     *
+     * @param key key to check for
+     * @return true iff the hash table contains a mapping for the specified key,
+     * as ultimately determined by the equals method
+     */
+    @Override
+    public boolean containsKey(K key) {
+        if (key == null) {
+            return false;
+        }
+
+        int hash = Hashing.mix(key.hashCode());
+        return find(segmentFor(hash).table, key, hash) != null;
+    }
+
+    /**
+     * Places every entry of the other table in this one, as if by insert.  Every segment is first grown to
+     * its expected share of the combined size, so the copy itself rarely resizes.  Not atomic: other threads
+     * may see some of the entries before the rest.
+     *
+     * @param other table to copy entries from
+     * @throws NullPointerException if other is null
+     */
+    @Override
+    public void putAll(BetterHashTableInterface<? extends K, ? extends V> other) {
+        if (other == this) {
+            return;
+        }
+
+        long perSegment = ((long) size() + other.size()) / segments.length + 1;
+        int length = Hashing.powerOfTwoAtLeast((int) Math.min((long) (perSegment / LOAD_FACTOR) + 1, Hashing.MAX_POWER_OF_TWO));
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                if (segment.table.length() < length) {
+                    rehash(segment, length);
+                }
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        other.forEach(this::insert);
+    }
+
+    /**
+     * Calls the action once for every entry in the table, in no particular order.  Does not lock, so entries
+     * written while it runs may or may not be seen.  The action may modify this table.
+     *
+     * @param action action to run on each key and value
+     * @throws NullPointerException if the action is null
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        if (action == null) {
+            throw new NullPointerException();
+        }
+
+        for (Segment segment : segments) {
+            AtomicReferenceArray<Object> table = segment.table;
+            for (int i = 0; i < table.length(); i++) {
+                Object o = table.get(i);
+                if (o != null && o != DELETED) {
+                    Entry<K, V> entry = (Entry<K, V>) o;
+                    action.accept(entry.key, entry.value);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns a weakly consistent cursor over the entries of the table, in no particular order
+     *
+     * @return a new cursor positioned before the first entry
+     */
+    @Override
+    public HashTableCursor<K, V> cursor() {
+        return new HashTableCursor<K, V>() {
+            int segment = -1;
+            AtomicReferenceArray<Object> table;
+            int index;
+            Entry<K, V> current;
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public boolean advance() {
+                while (true) {
+                    if (table == null || ++index >= table.length()) {
+                        if (segment + 1 >= segments.length) {
+                            current = null;
+                            table = null;
+                            return false;
+                        }
+                        segment++;
+                        table = segments[segment].table;
+                        index = 0;
+                    }
+                    Object o = table.get(index);
+                    if (o != null && o != DELETED) {
+                        current = (Entry<K, V>) o;
+                        return true;
+                    }
+                }
+            }
+
+            @Override
+            public K key() {
+                if (current == null) throw new IllegalStateException();
+                return current.key;
+            }
+
+            @Override
+            public V value() {
+                if (current == null) throw new IllegalStateException();
+                return current.value;
+            }
+        };
+    }
+
+    /**
+     * Empties the hash table, one segment at a time.
+     */
+    @Override
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                segment.table = new AtomicReferenceArray<>(segment.table.length());
+                segment.count = 0;
+                segment.tombstones = 0;
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of items in the hash table
+     *
+     * @return integer representing the number of elements in the hash table
+     */
+    @Override
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.count;
+        }
+        return size;
+    }
+
+    /**
+     * DO NOT MODIFY NOR IMPLEMENT THIS FUNCTION
+     *
+     * @param g graphics object to draw on
+     */
+    @Override
+    public void draw(Graphics g) {
+        if (g != null) g.getColor();
+        //todo GRAPHICS DEVELOPER:: draw the hash table how we discussed
+    }
+
+    /**
+     * DO NOT MODIFY NOR IMPLEMENT THIS FUNCTION
+     *
+     * @param g graphics object to draw on
+     */
+    @Override
+    public void visualize(Graphics g) {
+        if (g != null) g.getColor();
+        //todo GRAPHICS DEVELOPER:: visualization is to be time-based -- how we discussed
+    }
+}
@@ -0,0 +1,263 @@
+package CommonUtils;
+
+import CommonUtils.Interfaces.MinHeapInterface;
+
+import java.awt.*;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Implements our {@link MinHeapInterface} so that it can be shared between threads, for example by
+ * several cleaning drones pulling the next sword due from one schedule.
+ * <p>
+ * The order is relaxed: removeMin returns one of the smallest elements, not necessarily the smallest.
+ * With q queues the removed element is, on average, within the O(q) smallest ones.  Built with a single
+ * queue, the heap is exact (a MinHeap behind a lock).
+ *
+ * @param <E> the type of object this heap will be holding
+ * @implNote This is a MultiQueue.  Elements are spread over q independent MinHeaps, each with its own
+ * lock and a volatile copy of its minimum.  add puts the element in a random queue whose lock is free.
+ * removeMin picks two random queues, compares their published minimums without locking, and removes
+ * from the better one if its lock is free; otherwise it tries another pair.  Since no thread ever waits
+ * for a lock while a free queue is available, throughput grows with the number of threads instead of
+ * serializing on one lock.  peekMin and size read the published values without locking, so they are
+ * exact only when no operation is in flight.
+ */
+public class ConcurrentMinHeap<E> implements MinHeapInterface<E> {
+    /**
+     * Number of queues per hardware thread used by the default constructor.
+     */
+    private final int QUEUES_PER_THREAD = 4;
+
+    /**
+     * One independently locked part of the heap
+     */
+    private static final class Queue<E> {
+        final ReentrantLock lock = new ReentrantLock();
+        final MinHeap<E> heap;
+        volatile E min;
+        volatile int count;
+
+        Queue(Comparator<? super E> comparator) {
+            heap = new MinHeap<>(comparator);
+        }
+
+        /**
+         * Publishes the heap's minimum and size.  Caller must hold the lock.
+         */
+        void publish() {
+            min = heap.peekMin();
+            count = heap.size();
+        }
+    }
+
+    private final Queue<E>[] queues;
+
+    /**
+     * Orders the elements, or null for their natural ordering
+     */
+    private final Comparator<? super E> comparator;
+
+    /**
+     * Constructs an empty heap in natural order with four queues per hardware thread
+     */
+    public ConcurrentMinHeap() {
+        this(0, null);
+    }
+
+    /**
+     * Constructs an empty heap in natural order with the given number of queues
+     *
+     * @param numQueues number of queues; 0 picks four per hardware thread, and 1 makes the order exact
+     * @throws IllegalArgumentException if numQueues is negative
+     */
+    public ConcurrentMinHeap(int numQueues) {
+        this(numQueues, null);
+    }
+
+    /**
+     * Constructs an empty heap ordered by the given comparator with the given number of queues
+     *
+     * @param numQueues  number of queues; 0 picks four per hardware thread, and 1 makes the order exact
+     * @param comparator orders the elements, or null for their natural ordering
+     * @throws IllegalArgumentException if numQueues is negative
+     */
+    @SuppressWarnings("unchecked")
+    public ConcurrentMinHeap(int numQueues, Comparator<? super E> comparator) {
+        if (numQueues < 0) {
+            throw new IllegalArgumentException();
+        }
+        if (numQueues == 0) {
+            numQueues = QUEUES_PER_THREAD * Runtime.getRuntime().availableProcessors();
+        }
+        this.comparator = comparator;
+        queues = (Queue<E>[]) new Queue<?>[numQueues];
+        for (int i = 0; i < numQueues; i++) {
+            queues[i] = new Queue<>(comparator);
+        }
+    }
+
+    /**
+     * Compares two elements with the comparator, or by their natural ordering if there is none
+     */
+    @SuppressWarnings("unchecked")
+    private int compare(E a, E b) {
+        if (comparator != null) {
+            return comparator.compare(a, b);
+        }
+        return ((Comparable<? super E>) a).compareTo(b);
+    }
+
+    /**
+     * Returns the number of queues the elements are spread over
+     *
+     * @return number of queues
+     */
+    public int numQueues() {
+        return queues.length;
+    }
+
+    /**
+     * Adds the item to the min heap
+     *
+     * @param item item to add
+     * @throws NullPointerException if the specified element is null
+     */
+    @Override
+    public void add(E item) {
+        if (item == null) {
+            throw new NullPointerException();
+        }
+
+        /* try random queues until one is free, then give up and wait for the last one tried */
+
+        ThreadLocalRandom rand = ThreadLocalRandom.current();
+        Queue<E> queue = queues[rand.nextInt(queues.length)];
+        for (int attempt = 1; attempt < queues.length && !queue.lock.tryLock(); attempt++) {
+            queue = queues[rand.nextInt(queues.length)];
+        }
+        if (!queue.lock.isHeldByCurrentThread()) {
+            queue.lock.lock();
+        }
+        try {
+            queue.heap.add(item);
+            queue.publish();
+        } finally {
+            queue.lock.unlock();
+        }
+    }
+
+    /**
+     * Empties the heap.  Elements added while it runs may or may not be removed.
+     */
+    @Override
+    public void clear() {
+        for (Queue<E> queue : queues) {
+            queue.lock.lock();
+            try {
+                queue.heap.clear();
+                queue.publish();
+            } finally {
+                queue.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Returns the minimum element without removing it, or returns <code>null</code> if heap is empty.
+     * Does not lock, so under concurrent use the element may already be gone when this returns.
+     *
+     * @return the minimum element in the heap, or <code>null</code> if heap is empty
+     */
+    @Override
+    public E peekMin() {
+        E best = null;
+        for (Queue<E> queue : queues) {
+            E min = queue.min;
+            if (min != null && (best == null || compare(min, best) < 0)) {
+                best = min;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Remove and return one of the smallest elements in the heap (see the class header comment), or
+     * returns <code>null</code> if heap is empty.  <code>null</code> is only returned after every queue
+     * was seen empty, so it is exact when no add is in flight.
+     *
+     * @return one of the smallest elements in the heap, or <code>null</code> if heap is empty
+     */
+    @Override
+    public E removeMin() {
+        ThreadLocalRandom rand = ThreadLocalRandom.current();
+        for (int attempt = 0; attempt < queues.length; attempt++) {
+            Queue<E> a = queues[rand.nextInt(queues.length)];
+            Queue<E> b = queues[rand.nextInt(queues.length)];
+            E minA = a.min, minB = b.min;
+            if (minA == null && minB == null) {
+                continue;
+            }
+            Queue<E> queue = minB == null || (minA != null && compare(minA, minB) <= 0) ? a : b;
+            if (queue.lock.tryLock()) {
+                try {
+                    E item = queue.heap.removeMin();
+                    if (item != null) {
+                        queue.publish();
+                        return item;
+                    }
+                } finally {
+                    queue.lock.unlock();
+                }
+            }
+        }
+
+        /* nearly empty or heavily contended: visit every queue, waiting for each lock */
+
+        int start = rand.nextInt(queues.length);
+        for (int i = 0; i < queues.length; i++) {
+            Queue<E> queue = queues[(start + i) % queues.length];
+            if (queue.count == 0) {
+                continue;
+            }
+            queue.lock.lock();
+            try {
+                E item = queue.heap.removeMin();
+                if (item != null) {
+                    queue.publish();
+                    return item;
+                }
+            } finally {
+                queue.lock.unlock();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the number of elements in the heap.  It is a sum over the queues, so it is exact only when
+     * no operation is in flight.
+     *
+     * @return integer representing the number of elements in the heap
+     */
+    @Override
+    public int size() {
+        int size = 0;
+        for (Queue<E> queue : queues) {
+            size += queue.count;
+        }
+        return size;
+    }
+
+    /**
+     * DO NOT MODIFY NOR IMPLEMENT THIS FUNCTION
+     *
+     * @param g graphics object to draw on
+     */
+    @Override
+    public void draw(Graphics g) {
+        //DO NOT MODIFY NOR IMPLEMENT THIS FUNCTION
+        if (g != null) g.getColor();
+    }
+}
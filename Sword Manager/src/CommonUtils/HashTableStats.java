@@ -0,0 +1,258 @@
+package CommonUtils;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * Counters describing how a hash table behaves: how many slots each get, insert and remove examined,
+ * how often and for how long it resized, and (as of the last {@link BetterHashTable#stats()} or
+ * {@link IntHashTable#stats()} call) how full and how clustered its array is.
+ * <p>
+ * A table only records into a stats object while one is attached with <code>setStats</code>, so tables
+ * that are not being observed pay nothing but a null check.  The counters are plain fields updated by the
+ * table's own thread; another thread reading them while the table is in use sees approximate values.
+ */
+public class HashTableStats {
+    /**
+     * Operations whose probe counts are recorded
+     */
+    public enum Operation {
+        /**
+         * get, getOrDefault and containsKey
+         */
+        GET,
+        /**
+         * insert and the other operations that may add or update an entry
+         */
+        INSERT,
+        /**
+         * remove
+         */
+        REMOVE
+    }
+
+    /**
+     * Number of histogram buckets.  Bucket i counts operations that examined i slots; the last bucket
+     * also counts every longer probe sequence.
+     */
+    public static final int HISTOGRAM_BUCKETS = 64;
+
+    private final long[][] probeHistograms = new long[Operation.values().length][HISTOGRAM_BUCKETS];
+    private final long[] probeTotals = new long[Operation.values().length];
+    private long resizeCount;
+    private long resizeNanos;
+
+    private int size;
+    private int capacity;
+    private int tombstones;
+    private int maxClusterLength;
+
+    /**
+     * Records one operation
+     *
+     * @param operation kind of operation
+     * @param probes    number of slots it examined
+     */
+    void recordProbes(Operation operation, int probes) {
+        probeHistograms[operation.ordinal()][Math.min(probes, HISTOGRAM_BUCKETS - 1)]++;
+        probeTotals[operation.ordinal()] += probes;
+    }
+
+    /**
+     * Records that the table started a resize
+     */
+    void recordResize() {
+        resizeCount++;
+    }
+
+    /**
+     * Adds time spent resizing
+     *
+     * @param nanos time in nanoseconds
+     */
+    void recordResizeTime(long nanos) {
+        resizeNanos += nanos;
+    }
+
+    /**
+     * Stores the table's current shape
+     */
+    void sampleTable(int size, int capacity, int tombstones, int maxClusterLength) {
+        this.size = size;
+        this.capacity = capacity;
+        this.tombstones = tombstones;
+        this.maxClusterLength = maxClusterLength;
+    }
+
+    /**
+     * Returns the length of the longest run of consecutive occupied (live or deleted) slots, wrapping
+     * around the end of the array
+     *
+     * @param occupied occupied[i] tells whether slot i is occupied
+     * @param capacity number of slots
+     * @return longest run, or capacity if no slot is empty
+     */
+    static int maxClusterLength(IntPredicate occupied, int capacity) {
+        int max = 0, run = 0, leadingRun = -1;
+        for (int i = 0; i < capacity; i++) {
+            if (occupied.test(i)) {
+                run++;
+            } else {
+                if (leadingRun == -1) {
+                    leadingRun = run;
+                }
+                max = Math.max(max, run);
+                run = 0;
+            }
+        }
+        if (leadingRun == -1) {
+            return capacity;
+        }
+        return Math.max(max, run + leadingRun);
+    }
+
+    /**
+     * Zeroes every counter
+     */
+    public void reset() {
+        for (long[] histogram : probeHistograms) {
+            Arrays.fill(histogram, 0);
+        }
+        Arrays.fill(probeTotals, 0);
+        resizeCount = 0;
+        resizeNanos = 0;
+    }
+
+    /**
+     * Returns a copy of the probe-count histogram of the given operation (see {@link #HISTOGRAM_BUCKETS})
+     *
+     * @param operation kind of operation
+     * @return number of operations that examined i slots, for each i
+     */
+    public long[] probeHistogram(Operation operation) {
+        return probeHistograms[operation.ordinal()].clone();
+    }
+
+    /**
+     * Returns how many operations of the given kind were recorded
+     *
+     * @param operation kind of operation
+     * @return number of operations
+     */
+    public long operationCount(Operation operation) {
+        long count = 0;
+        for (long c : probeHistograms[operation.ordinal()]) {
+            count += c;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the average number of slots an operation of the given kind examined
+     *
+     * @param operation kind of operation
+     * @return average probe count, or 0 if none were recorded
+     */
+    public double averageProbes(Operation operation) {
+        long count = operationCount(operation);
+        return count == 0 ? 0 : (double) probeTotals[operation.ordinal()] / count;
+    }
+
+    /**
+     * Returns the largest number of slots any recorded operation of the given kind examined
+     *
+     * @param operation kind of operation
+     * @return longest probe count (HISTOGRAM_BUCKETS - 1 means at least that many), or 0 if none were recorded
+     */
+    public int maxProbes(Operation operation) {
+        long[] histogram = probeHistograms[operation.ordinal()];
+        for (int i = HISTOGRAM_BUCKETS - 1; i > 0; i--) {
+            if (histogram[i] != 0) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns how many times the table resized (grew, shrank or was rebuilt to drop deleted markers)
+     *
+     * @return number of resizes
+     */
+    public long resizeCount() {
+        return resizeCount;
+    }
+
+    /**
+     * Returns the total time spent resizing
+     *
+     * @return time in nanoseconds
+     */
+    public long resizeNanos() {
+        return resizeNanos;
+    }
+
+    /**
+     * Returns the number of elements in the table when it was last sampled
+     *
+     * @return number of elements
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the capacity of the table when it was last sampled
+     *
+     * @return number of slots
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the fraction of slots holding a deleted marker when the table was last sampled
+     *
+     * @return deleted markers / capacity, or 0 if the table was never sampled
+     */
+    public double tombstoneRatio() {
+        return capacity == 0 ? 0 : (double) tombstones / capacity;
+    }
+
+    /**
+     * Returns the fraction of slots holding an element when the table was last sampled
+     *
+     * @return size / capacity, or 0 if the table was never sampled
+     */
+    public double loadFactor() {
+        return capacity == 0 ? 0 : (double) size / capacity;
+    }
+
+    /**
+     * Returns the longest run of consecutive occupied slots when the table was last sampled
+     *
+     * @return longest cluster length
+     */
+    public int maxClusterLength() {
+        return maxClusterLength;
+    }
+
+    /**
+     * Summary for logging
+     *
+     * @return string version of the stats
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("HashTableStats{");
+        for (Operation operation : Operation.values()) {
+            sb.append(operation).append(": ").append(operationCount(operation)).append(" ops, avg ")
+                    .append(String.format("%.2f", averageProbes(operation))).append(" / max ")
+                    .append(maxProbes(operation)).append(" probes; ");
+        }
+        return sb.append("resizes=").append(resizeCount).append(" (").append(resizeNanos / 1000000).append(" ms)")
+                .append(", size=").append(size).append(", capacity=").append(capacity)
+                .append(", tombstoneRatio=").append(String.format("%.3f", tombstoneRatio()))
+                .append(", maxCluster=").append(maxClusterLength).append('}').toString();
+    }
+}
@@ -0,0 +1,46 @@
+package CommonUtils;
+
+/**
+ * Hashing helpers shared by the hash tables in this package.
+ */
+final class Hashing {
+    /**
+     * Largest power of two an int-indexed array can hold
+     */
+    static final int MAX_POWER_OF_TWO = 1 << 30;
+
+    private Hashing() {
+    }
+
+    /**
+     * Murmur3 32-bit finalizer.  Spreads every input bit across the whole word so that
+     * masking off the low bits of the result still depends on the high bits of the input.
+     *
+     * @param h value to mix
+     * @return mixed value (may be negative)
+     */
+    static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    /**
+     * Returns the smallest power of two that is >= the given value, clamped to [1, MAX_POWER_OF_TWO]
+     *
+     * @param n value to round up
+     * @return power of two capacity
+     */
+    static int powerOfTwoAtLeast(int n) {
+        if (n <= 1) {
+            return 1;
+        }
+        if (n >= MAX_POWER_OF_TWO) {
+            return MAX_POWER_OF_TWO;
+        }
+        return Integer.highestOneBit(n - 1) << 1;
+    }
+}
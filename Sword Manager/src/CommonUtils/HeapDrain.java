@@ -0,0 +1,190 @@
+package CommonUtils;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * Batch removal shared by the array-backed d-ary heaps in this package ({@link MinHeap} and
+ * {@link LongPayloadMinHeap}), whose drainUpTo removes every entry at most a threshold at once.
+ *
+ * @implNote The entries at most the threshold form a subtree at the top of the heap.  walk visits it
+ * smallest first, keeping its frontier in a small binary heap of indices.  removePositions then fills
+ * the holes with the survivors from the end of the array and sifts them down deepest first, or, if at
+ * least half the heap is going, compacts the survivors and rebuilds the heap bottom-up.
+ */
+final class HeapDrain {
+    /**
+     * Determines how much to increase the work arrays' capacity.
+     */
+    private static final int INCREASE_FACTOR = 2;
+
+    /**
+     * A heap's entries, seen by their index in its backing array(s)
+     */
+    interface Entries {
+        /**
+         * Returns the number of entries
+         */
+        int size();
+
+        /**
+         * Returns log2 of the number of children per node
+         */
+        int arityShift();
+
+        /**
+         * Compares the entries at two indices
+         */
+        int compareAt(int i, int j);
+
+        /**
+         * Moves the entry at one index to another, overwriting it
+         */
+        void move(int from, int to);
+
+        /**
+         * Drops every entry at or past the given index
+         */
+        void truncate(int size);
+
+        /**
+         * Places the entry at the index at or below it, as in a sift-down
+         */
+        void siftDown(int i);
+    }
+
+    private HeapDrain() {
+    }
+
+    /**
+     * Finds the entries that are not larger than the threshold, of which the root must be one
+     *
+     * @param entries heap to search
+     * @param exceeds answers whether the entry at an index is larger than the threshold
+     * @return their indices, smallest entry first
+     */
+    static int[] walk(Entries entries, IntPredicate exceeds) {
+        int n = entries.size();
+        int arityShift = entries.arityShift();
+        int lastParent = n < 2 ? -1 : (n - 2) >>> arityShift;
+        int[] removed = new int[16];
+        int k = 0;
+        int[] frontier = new int[16];
+        int frontierSize = 1;
+        frontier[0] = 0;
+        while (frontierSize > 0) {
+            int i = frontier[0];
+            frontierSize--;
+            if (frontierSize > 0) {
+                frontierSiftDown(entries, frontier, frontierSize, frontier[frontierSize]);
+            }
+            if (k == removed.length) {
+                removed = Arrays.copyOf(removed, k * INCREASE_FACTOR);
+            }
+            removed[k++] = i;
+
+            if (i > lastParent) {
+                continue;
+            }
+            int child = (i << arityShift) + 1;
+            int end = (int) Math.min((long) child + (1 << arityShift), n);
+            for (; child < end; child++) {
+                if (!exceeds.test(child)) {
+                    if (frontierSize == frontier.length) {
+                        frontier = Arrays.copyOf(frontier, frontierSize * INCREASE_FACTOR);
+                    }
+                    frontierSiftUp(entries, frontier, frontierSize, child);
+                    frontierSize++;
+                }
+            }
+        }
+        return Arrays.copyOf(removed, k);
+    }
+
+    /**
+     * Places the heap index in the hole of the frontier heap (ordered by the entries at its indices)
+     */
+    private static void frontierSiftUp(Entries entries, int[] frontier, int hole, int index) {
+        while (hole > 0) {
+            int parent = (hole - 1) >>> 1;
+            if (entries.compareAt(index, frontier[parent]) >= 0) {
+                break;
+            }
+            frontier[hole] = frontier[parent];
+            hole = parent;
+        }
+        frontier[hole] = index;
+    }
+
+    /**
+     * Places the heap index in the root hole of the frontier heap of the given size
+     */
+    private static void frontierSiftDown(Entries entries, int[] frontier, int size, int index) {
+        int hole = 0;
+        while (2 * hole + 1 < size) {
+            int child = 2 * hole + 1;
+            if (child + 1 < size && entries.compareAt(frontier[child + 1], frontier[child]) < 0) {
+                child++;
+            }
+            if (entries.compareAt(index, frontier[child]) <= 0) {
+                break;
+            }
+            frontier[hole] = frontier[child];
+            hole = child;
+        }
+        frontier[hole] = index;
+    }
+
+    /**
+     * Removes the entries at the given positions, which must form a subtree containing the root, and
+     * restores the heap order
+     *
+     * @param entries   heap to remove them from
+     * @param positions positions to remove (reordered by this method)
+     */
+    static void removePositions(Entries entries, int[] positions) {
+        Arrays.sort(positions);
+        int n = entries.size();
+        int k = positions.length;
+        int m = n - k;
+
+        if (k >= m) {
+            /* most of the heap is going: compact the survivors and rebuild */
+            int write = 0, next = 0;
+            for (int i = 0; i < n; i++) {
+                if (next < k && positions[next] == i) {
+                    next++;
+                } else {
+                    entries.move(i, write++);
+                }
+            }
+            entries.truncate(m);
+            for (int i = m < 2 ? -1 : (m - 2) >>> entries.arityShift(); i >= 0; i--) {
+                entries.siftDown(i);
+            }
+            return;
+        }
+
+        /* fill the holes below m with the survivors at or past m */
+
+        int holes = 0;
+        while (holes < k && positions[holes] < m) {
+            holes++;
+        }
+        int source = m, next = holes;
+        for (int h = 0; h < holes; h++) {
+            while (next < k && positions[next] == source) {
+                next++;
+                source++;
+            }
+            entries.move(source++, positions[h]);
+        }
+        entries.truncate(m);
+
+        /* every ancestor of a hole is a hole too, so sifting them deepest first repairs the heap */
+
+        for (int h = holes - 1; h >= 0; h--) {
+            entries.siftDown(positions[h]);
+        }
+    }
+}
@@ -0,0 +1,375 @@
+package CommonUtils;
+
+import CommonUtils.Interfaces.IndexedMinHeapInterface;
+
+import java.awt.*;
+import java.util.Arrays;
+
+/**
+ * Implements our IndexedMinHeapInterface and adds a constructor
+ *
+ * @param <E> the type of object this heap will be holding
+ * @implNote Like {@link MinHeap}, elements live in a plain <code>Object[]</code> and are sifted by moving a
+ * hole.  Two parallel int arrays map heap positions to handles and handles back to positions; every
+ * element moved by a sift updates both, so finding an element from its handle is O(1) and
+ * decreaseKey, increaseKey and remove are O(log n).
+ * <p>
+ * The position-to-handle array is always a permutation of [0, capacity): positions below the size hold
+ * the handles of the elements there, and the positions past it hold the free handles, so the next
+ * insert simply takes the handle sitting at the first free position.
+ */
+public class IndexedMinHeap<E extends Comparable<E>> implements IndexedMinHeapInterface<E> {
+    /**
+     * Initial size of the backing arrays.
+     */
+    private final int INIT_CAPACITY = 16;
+    /**
+     * Determines how much to increase the arrays' capacity.
+     */
+    private final int INCREASE_FACTOR = 2;
+    /**
+     * Largest array length the VM reliably allows.
+     */
+    private final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    /**
+     * Parallel arrays (according to the implementation note in the class header comment).
+     */
+    private Object[] heap;
+    private int[] handleAt;
+    private int[] positionOf;
+    int n;
+
+    /**
+     * Constructs an empty indexed min heap
+     */
+    public IndexedMinHeap() {
+        allocate(INIT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty indexed min heap that can hold the given number of elements before it has to grow
+     *
+     * @param initialCapacity number of elements to make room for
+     * @throws IllegalArgumentException if initialCapacity is negative
+     */
+    public IndexedMinHeap(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException();
+        }
+        allocate(Math.max(initialCapacity, 1));
+    }
+
+    private void allocate(int capacity) {
+        heap = new Object[capacity];
+        handleAt = new int[capacity];
+        positionOf = new int[capacity];
+        for (int i = 0; i < capacity; i++) {
+            handleAt[i] = i;
+            positionOf[i] = -1;
+        }
+        n = 0;
+    }
+
+    /**
+     * Grows the backing arrays, if they are full, so they can hold one more element.  The new handles
+     * are placed at the new positions.
+     */
+    private void ensureRoom() {
+        if (n < heap.length) {
+            return;
+        }
+        if (heap.length >= MAX_CAPACITY) {
+            throw new OutOfMemoryError();
+        }
+        int oldCapacity = heap.length;
+        int newCapacity = (int) Math.min((long) oldCapacity * INCREASE_FACTOR, MAX_CAPACITY);
+        heap = Arrays.copyOf(heap, newCapacity);
+        handleAt = Arrays.copyOf(handleAt, newCapacity);
+        positionOf = Arrays.copyOf(positionOf, newCapacity);
+        for (int i = oldCapacity; i < newCapacity; i++) {
+            handleAt[i] = i;
+            positionOf[i] = -1;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private E elementAt(int i) {
+        return (E) heap[i];
+    }
+
+    /**
+     * Writes the item and its handle at the given position
+     */
+    private void place(int position, E item, int handle) {
+        heap[position] = item;
+        handleAt[position] = handle;
+        positionOf[handle] = position;
+    }
+
+    /**
+     * Places the item (with its handle) in the hole at the given index or above it, moving larger
+     * parents down as it goes
+     */
+    private void siftUp(int hole, E item, int handle) {
+        while (hole > 0) {
+            int parent = (hole - 1) >>> 1;
+            E p = elementAt(parent);
+            if (item.compareTo(p) >= 0) {
+                break;
+            }
+            place(hole, p, handleAt[parent]);
+            hole = parent;
+        }
+        place(hole, item, handle);
+    }
+
+    /**
+     * Places the item (with its handle) in the hole at the given index or below it, moving smaller
+     * children up as it goes
+     */
+    private void siftDown(int hole, E item, int handle) {
+        int half = n >>> 1; /* nodes at or past this index have no children */
+        while (hole < half) {
+            int child = 2 * hole + 1;
+            E minChild = elementAt(child);
+            int right = child + 1;
+            if (right < n && minChild.compareTo(elementAt(right)) > 0) {
+                child = right;
+                minChild = elementAt(right);
+            }
+            if (item.compareTo(minChild) <= 0) {
+                break;
+            }
+            place(hole, minChild, handleAt[child]);
+            hole = child;
+        }
+        place(hole, item, handle);
+    }
+
+    /**
+     * Returns the position of the element with the given handle
+     *
+     * @throws IllegalArgumentException if the handle is not valid
+     */
+    private int positionOf(int handle) {
+        if (!contains(handle)) {
+            throw new IllegalArgumentException();
+        }
+        return positionOf[handle];
+    }
+
+    /**
+     * Adds the item to the min heap
+     *
+     * @param item item to add
+     * @throws NullPointerException if the specified element is null
+     */
+    @Override
+    public void add(E item) {
+        insert(item);
+    }
+
+    /**
+     * Adds the item to the min heap
+     *
+     * @param item item to add
+     * @return handle of the item, valid until it leaves the heap
+     * @throws NullPointerException if the specified element is null
+     */
+    @Override
+    public int insert(E item) {
+        if (item == null) {
+            throw new NullPointerException();
+        }
+
+        ensureRoom();
+        int handle = handleAt[n];
+        n++;
+        siftUp(n - 1, item, handle);
+        return handle;
+    }
+
+    /**
+     * Tells whether the handle belongs to an element in the heap
+     *
+     * @param handle handle to check
+     * @return true if the handle is valid
+     */
+    @Override
+    public boolean contains(int handle) {
+        return handle >= 0 && handle < positionOf.length && positionOf[handle] != -1;
+    }
+
+    /**
+     * Returns the element with the given handle
+     *
+     * @param handle handle returned by insert
+     * @return the element
+     * @throws IllegalArgumentException if the handle is not valid
+     */
+    @Override
+    public E get(int handle) {
+        return elementAt(positionOf(handle));
+    }
+
+    /**
+     * Replaces the element with the given handle by one that is not greater, and restores the heap order.
+     * If item is the element already stored (changed in place), the heap cannot see its old priority, so
+     * nothing is checked: the element is moved whichever way its neighbours require.
+     *
+     * @param handle handle returned by insert
+     * @param item   new element (possibly the same object, changed in place), which keeps the handle
+     * @throws NullPointerException     if item is null
+     * @throws IllegalArgumentException if the handle is not valid, or item is another object greater than
+     *                                  the element it replaces
+     */
+    @Override
+    public void decreaseKey(int handle, E item) {
+        if (item == null) {
+            throw new NullPointerException();
+        }
+        int position = positionOf(handle);
+        E old = elementAt(position);
+        if (item != old && item.compareTo(old) > 0) {
+            throw new IllegalArgumentException();
+        }
+        reposition(position, item, handle);
+    }
+
+    /**
+     * Replaces the element with the given handle by one that is not smaller, and restores the heap order.
+     * If item is the element already stored (changed in place), the heap cannot see its old priority, so
+     * nothing is checked: the element is moved whichever way its neighbours require.
+     *
+     * @param handle handle returned by insert
+     * @param item   new element (possibly the same object, changed in place), which keeps the handle
+     * @throws NullPointerException     if item is null
+     * @throws IllegalArgumentException if the handle is not valid, or item is another object smaller than
+     *                                  the element it replaces
+     */
+    @Override
+    public void increaseKey(int handle, E item) {
+        if (item == null) {
+            throw new NullPointerException();
+        }
+        int position = positionOf(handle);
+        E old = elementAt(position);
+        if (item != old && item.compareTo(old) < 0) {
+            throw new IllegalArgumentException();
+        }
+        reposition(position, item, handle);
+    }
+
+    /**
+     * Places the item in the hole at the given index, sifting it up if it is smaller than its parent and
+     * down otherwise
+     */
+    private void reposition(int hole, E item, int handle) {
+        if (hole > 0 && item.compareTo(elementAt((hole - 1) >>> 1)) < 0) {
+            siftUp(hole, item, handle);
+        } else {
+            siftDown(hole, item, handle);
+        }
+    }
+
+    /**
+     * Removes the element with the given handle from the heap
+     *
+     * @param handle handle returned by insert
+     * @return the removed element
+     * @throws IllegalArgumentException if the handle is not valid
+     */
+    @Override
+    public E remove(int handle) {
+        int position = positionOf(handle);
+        E item = elementAt(position);
+
+        /* take the last element out, and park the freed handle at the first free position */
+
+        n--;
+        E last = elementAt(n);
+        int lastHandle = handleAt[n];
+        heap[n] = null;
+        handleAt[n] = handle;
+        positionOf[handle] = -1;
+
+        /* the last element fills the hole, moving whichever way it has to */
+
+        if (position < n) {
+            reposition(position, last, lastHandle);
+        }
+        return item;
+    }
+
+    /**
+     * Empties the heap.  Every handle becomes invalid.
+     */
+    @Override
+    public void clear() {
+        for (int i = 0; i < n; i++) {
+            heap[i] = null;
+            positionOf[handleAt[i]] = -1;
+        }
+        n = 0;
+    }
+
+    /**
+     * Returns the minimum element without removing it, or returns <code>null</code> if heap is empty
+     *
+     * @return the minimum element in the heap, or <code>null</code> if heap is empty
+     */
+    @Override
+    public E peekMin() {
+        if (n == 0) {
+            return null;
+        }
+        return elementAt(0);
+    }
+
+    /**
+     * Returns the handle of the minimum element, or -1 if heap is empty
+     *
+     * @return handle of the minimum element, or -1 if heap is empty
+     */
+    public int peekMinHandle() {
+        if (n == 0) {
+            return -1;
+        }
+        return handleAt[0];
+    }
+
+    /**
+     * Remove and return the minimum element in the heap, or returns <code>null</code> if heap is empty
+     *
+     * @return the minimum element in the heap, or <code>null</code> if heap is empty
+     */
+    @Override
+    public E removeMin() {
+        if (n == 0) {
+            return null;
+        }
+        return remove(handleAt[0]);
+    }
+
+    /**
+     * Returns the number of elements in the heap
+     *
+     * @return integer representing the number of elements in the heap
+     */
+    @Override
+    public int size() {
+        return n;
+    }
+
+    /**
+     * DO NOT MODIFY NOR IMPLEMENT THIS FUNCTION
+     *
+     * @param g graphics object to draw on
+     */
+    @Override
+    public void draw(Graphics g) {
+        //DO NOT MODIFY NOR IMPLEMENT THIS FUNCTION
+        if (g != null) g.getColor();
+    }
+}
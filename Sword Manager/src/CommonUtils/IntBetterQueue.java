@@ -0,0 +1,243 @@
+package CommonUtils;
+
+import CommonUtils.Interfaces.IntBetterQueueInterface;
+
+import java.awt.*;
+
+/**
+ * Implements {@link IntBetterQueueInterface} the same way {@link CommonUtils.Interfaces.BetterQueue} implements
+ * BetterQueueInterface, over an <code>int[]</code> so that queued values (request times, sword ids) are not
+ * boxed: adding an item never allocates unless the queue has to grow.
+ *
+ * @implNote A circular array whose capacity is always a power of two, at least INIT_CAPACITY.  It doubles
+ * when full and halves (as many times as needed, with System.arraycopy of its at most two contiguous runs)
+ * once less than a quarter full.  Removed slots are not cleared, since there is no reference to release.
+ */
+public class IntBetterQueue implements IntBetterQueueInterface {
+
+    /**
+     * Initial size of queue.  Do not decrease capacity below this value.
+     */
+    private final int INIT_CAPACITY = 8;
+
+    /**
+     * If the array needs to increase in size, it should be increased to
+     * old capacity * INCREASE_FACTOR.
+     * <p>
+     * If it cannot increase by that much (the capacity is already MAX_CAPACITY, the largest power of two
+     * an array can hold), throw OutOfMemoryError()
+     */
+    private final int INCREASE_FACTOR = 2;
+    private final int MAX_CAPACITY = 1 << 30;
+
+    /**
+     * If the number of elements stored is < capacity * DECREASE_FACTOR, it should decrease
+     * the capacity of the UDS to max(capacity / INCREASE_FACTOR, initial capacity).
+     */
+    private final double DECREASE_FACTOR = 0.25;
+
+    /**
+     * Array to store elements in
+     */
+    private int[] queue;
+    private int first;
+    private int mask;
+    private int size;
+
+    /**
+     * Constructs an empty queue
+     */
+    public IntBetterQueue() {
+        queue = new int[INIT_CAPACITY];
+        first = 0;
+        mask = INIT_CAPACITY - 1;
+        size = 0;
+    }
+
+    /**
+     * Moves the elements into a new array of the given power-of-two length (at least size), in order and
+     * starting at index 0
+     *
+     * @param newCapacity length of the new array
+     */
+    private void resize(int newCapacity) {
+        int[] newQueue = new int[newCapacity];
+        int firstRun = Math.min(size, queue.length - first);
+        System.arraycopy(queue, first, newQueue, 0, firstRun);
+        System.arraycopy(queue, 0, newQueue, firstRun, size - firstRun);
+        queue = newQueue;
+        first = 0;
+        mask = newCapacity - 1;
+    }
+
+    /**
+     * Add an item to the back of the queue
+     *
+     * @param item item to push
+     */
+    @Override
+    public void add(int item) {
+        if (size == queue.length) {
+            if (queue.length >= MAX_CAPACITY) {
+                throw new OutOfMemoryError();
+            }
+            resize(queue.length * INCREASE_FACTOR);
+        }
+
+        queue[(first + size) & mask] = item;
+        size++;
+    }
+
+    /**
+     * Returns the front of the queue (does not remove it) or {@link #EMPTY} if the queue is empty
+     *
+     * @return front of the queue or {@link #EMPTY} if the queue is empty
+     */
+    @Override
+    public int peek() {
+        if (size == 0) {
+            return EMPTY;
+        }
+        return queue[first];
+    }
+
+    /**
+     * Returns and removes the front of the queue
+     *
+     * @return the head of the queue, or {@link #EMPTY} if this queue is empty
+     */
+    @Override
+    public int remove() {
+        if (size == 0) {
+            return EMPTY;
+        }
+
+        int dequeued = queue[first];
+        first = (first + 1) & mask;
+        size--;
+
+        shrinkIfMostlyEmpty();
+        return dequeued;
+    }
+
+    /**
+     * Adds len items from src, starting at src[off], to the back of the queue in order
+     *
+     * @param src array holding the items to add
+     * @param off index of the first item to add
+     * @param len number of items to add
+     * @throws NullPointerException      if src is null
+     * @throws IndexOutOfBoundsException if off or len is negative, or off + len is larger than src.length
+     */
+    @Override
+    public void addAll(int[] src, int off, int len) {
+        if (off < 0 || len < 0 || off > src.length - len) {
+            throw new IndexOutOfBoundsException();
+        }
+        if ((long) size + len > MAX_CAPACITY) {
+            throw new OutOfMemoryError();
+        }
+
+        ensureCapacity(size + len);
+        int tail = (first + size) & mask;
+        int firstRun = Math.min(len, queue.length - tail);
+        System.arraycopy(src, off, queue, tail, firstRun);
+        System.arraycopy(src, off + firstRun, queue, 0, len - firstRun);
+        size += len;
+    }
+
+    /**
+     * Removes up to max items from the front of the queue and stores them in order at the start of dst
+     *
+     * @param dst array to store the removed items in; no more than its length are removed
+     * @param max largest number of items to remove
+     * @return number of items removed
+     * @throws NullPointerException     if dst is null
+     * @throws IllegalArgumentException if max is negative
+     */
+    @Override
+    public int drainTo(int[] dst, int max) {
+        if (max < 0) {
+            throw new IllegalArgumentException();
+        }
+        int count = Math.min(Math.min(max, size), dst.length);
+        int firstRun = Math.min(count, queue.length - first);
+        System.arraycopy(queue, first, dst, 0, firstRun);
+        System.arraycopy(queue, 0, dst, firstRun, count - firstRun);
+        first = (first + count) & mask;
+        size -= count;
+
+        shrinkIfMostlyEmpty();
+        return count;
+    }
+
+    /**
+     * Grows the queue once, if needed, so that it can hold the given number of items without resizing.  The
+     * capacity may shrink again once the queue is mostly empty (see DECREASE_FACTOR).
+     *
+     * @param expectedSize number of items the queue is expected to hold
+     * @throws OutOfMemoryError if expectedSize is larger than the largest capacity
+     */
+    @Override
+    public void ensureCapacity(int expectedSize) {
+        if (expectedSize > queue.length) {
+            if (expectedSize > MAX_CAPACITY) {
+                throw new OutOfMemoryError();
+            }
+            resize(Integer.highestOneBit(expectedSize - 1) << 1);
+        }
+    }
+
+    /**
+     * Decreases the size of the array if necessary (see DECREASE_FACTOR), by as many halvings as needed
+     */
+    private void shrinkIfMostlyEmpty() {
+        int capacity = queue.length;
+        while (size < capacity * DECREASE_FACTOR && capacity / INCREASE_FACTOR >= INIT_CAPACITY) {
+            capacity /= INCREASE_FACTOR;
+        }
+        if (capacity != queue.length) {
+            resize(capacity);
+        }
+    }
+
+    /**
+     * Returns the number of elements in the queue
+     *
+     * @return integer representing the number of elements in the queue
+     */
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns whether the queue is empty
+     *
+     * @return true if the queue is empty, false otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the length of the backing array
+     *
+     * @return number of elements the queue can hold before it has to grow
+     */
+    public int capacity() {
+        return queue.length;
+    }
+
+    /**
+     * DO NOT MODIFY NOR IMPLEMENT THIS FUNCTION
+     *
+     * @param g graphics object to draw on
+     */
+    @Override
+    public void draw(Graphics g) {
+        //DO NOT MODIFY NOR IMPLEMENT THIS FUNCTION
+        if (g != null) g.getColor();
+    }
+}
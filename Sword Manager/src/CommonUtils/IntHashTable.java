@@ -0,0 +1,346 @@
+package CommonUtils;
+
+import CommonUtils.HashTableStats.Operation;
+import CommonUtils.Interfaces.IntHashTableInterface;
+
+import java.awt.*;
+import java.util.Arrays;
+
+/**
+ * Implements our {@link IntHashTableInterface}: a {@link BetterHashTable} specialized for int keys.
+ *
+ * @param <V> Type of value the hash table is holding
+ * @implNote Keys, values and slot states live in parallel arrays, so no key is ever boxed and no
+ * per-entry node is allocated.  Capacity is always a power of two and collisions are resolved with
+ * triangular-number probing (h, h+1, h+3, h+6, ...), which visits every slot of a power-of-two table.
+ */
+public class IntHashTable<V> implements IntHashTableInterface<V> {
+    /**
+     * Initial size of hash table.
+     */
+    private final int INIT_CAPACITY = 32;
+    /**
+     * Determines the maximum ratio of occupied slots (live entries and deleted markers) to array size.
+     * <p>
+     * Crossing it either doubles the capacity or, if most occupied slots are deleted markers,
+     * rehashes in place at the same capacity.
+     */
+    private final double LOAD_FACTOR = 0.75;
+    /**
+     * Determines how much to increase the array's capacity.
+     */
+    private final int INCREASE_FACTOR = 2;
+
+    /**
+     * Slot states
+     */
+    private static final byte EMPTY = 0;
+    private static final byte FULL = 1;
+    private static final byte DELETED = 2;
+
+    int size;
+    int capacity;
+    int tombstones;
+
+    /**
+     * Parallel arrays to store entries (according to the implementation
+     * note in the class header comment).
+     */
+    int[] keys;
+    Object[] values;
+    byte[] states;
+
+    /**
+     * Where to record probe counts and resizes, or null when nobody is observing this table
+     */
+    HashTableStats stats;
+
+    /**
+     * Constructs the hash table with a default size
+     */
+    public IntHashTable() {
+        allocate(INIT_CAPACITY);
+    }
+
+    /**
+     * Constructor that initializes the hash table with an initial capacity
+     *
+     * @param initialCapacity initial table capacity, rounded up to a power of two
+     * @throws IllegalArgumentException if the initial capacity is negative
+     */
+    public IntHashTable(int initialCapacity) throws IllegalArgumentException {
+        if (initialCapacity < 0) throw new IllegalArgumentException();
+
+        allocate(Math.max(2, Hashing.powerOfTwoAtLeast(initialCapacity)));
+    }
+
+    private void allocate(int newCapacity) {
+        keys = new int[newCapacity];
+        values = new Object[newCapacity];
+        states = new byte[newCapacity];
+        capacity = newCapacity;
+        size = 0;
+        tombstones = 0;
+    }
+
+    /**
+     * Finds the slot holding the given key
+     *
+     * @param key       key to look for
+     * @param operation kind of operation the lookup is for, for the stats
+     * @return index of the key, or -1 if it is not in the table
+     */
+    private int indexOf(int key, Operation operation) {
+        int mask = capacity - 1;
+        int index = Hashing.mix(key) & mask;
+
+        int probe = 1;
+        for (; probe <= capacity; probe++) {
+            byte state = states[index];
+            if (state == EMPTY) {
+                break;
+            }
+            if (state == FULL && keys[index] == key) {
+                if (stats != null) {
+                    stats.recordProbes(operation, probe);
+                }
+                return index;
+            }
+            index = (index + probe) & mask;
+        }
+        if (stats != null) {
+            stats.recordProbes(operation, Math.min(probe, capacity));
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the first empty slot for a key known not to be in the table
+     *
+     * @param key key to place
+     * @return index of an empty slot, or -1 if the table is full
+     */
+    private int emptySlotFor(int key) {
+        int mask = capacity - 1;
+        int index = Hashing.mix(key) & mask;
+
+        for (int probe = 1; probe <= capacity; probe++) {
+            if (states[index] == EMPTY) {
+                return index;
+            }
+            index = (index + probe) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Rebuilds the table at the given capacity, dropping every deleted marker
+     *
+     * @param newCapacity power of two capacity
+     */
+    private void rehash(int newCapacity) {
+        long start = stats == null ? 0 : System.nanoTime();
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        byte[] oldStates = states;
+        int oldSize = size;
+
+        allocate(newCapacity);
+
+        for (int i = 0; i < oldStates.length; i++) {
+            if (oldStates[i] == FULL) {
+                int index = emptySlotFor(oldKeys[i]);
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+                states[index] = FULL;
+            }
+        }
+        size = oldSize;
+
+        if (stats != null) {
+            stats.recordResize();
+            stats.recordResizeTime(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Places the item in the hash table.
+     * Passing a key already in the table will modify the original entry in the table.
+     *
+     * @param key   key to associate with the value
+     * @param value item to store in the hash table
+     */
+    @Override
+    public void insert(int key, V value) {
+        int mask = capacity - 1;
+        int index = Hashing.mix(key) & mask;
+        int firstDeleted = -1;
+        int emptySlot = -1;
+
+        /* one pass: either find the key or remember where it would go */
+
+        int probe = 1;
+        for (; probe <= capacity; probe++) {
+            byte state = states[index];
+            if (state == EMPTY) {
+                emptySlot = index;
+                break;
+            }
+            if (state == FULL) {
+                if (keys[index] == key) {
+                    values[index] = value;
+                    if (stats != null) {
+                        stats.recordProbes(Operation.INSERT, probe);
+                    }
+                    return;
+                }
+            } else if (firstDeleted == -1) {
+                firstDeleted = index;
+            }
+            index = (index + probe) & mask;
+        }
+        if (stats != null) {
+            stats.recordProbes(Operation.INSERT, Math.min(probe, capacity));
+        }
+
+        if (firstDeleted != -1) {
+            keys[firstDeleted] = key;
+            values[firstDeleted] = value;
+            states[firstDeleted] = FULL;
+            tombstones--;
+            size++;
+            return;
+        }
+
+        /* claiming an empty slot: grow (or clean out deleted markers) if necessary */
+
+        if (size + tombstones + 1 > capacity * LOAD_FACTOR && capacity < Hashing.MAX_POWER_OF_TWO) {
+            if (size + 1 > capacity * LOAD_FACTOR / INCREASE_FACTOR) {
+                rehash(capacity * INCREASE_FACTOR);
+            } else {
+                rehash(capacity);
+            }
+            emptySlot = emptySlotFor(key);
+        }
+
+        if (emptySlot == -1) {
+            throw new OutOfMemoryError();
+        }
+
+        keys[emptySlot] = key;
+        values[emptySlot] = value;
+        states[emptySlot] = FULL;
+        size++;
+    }
+
+    /**
+     * Removes the key, value pair associated with the given key
+     *
+     * @param key key/value to remove
+     */
+    @Override
+    public void remove(int key) {
+        int index = indexOf(key, Operation.REMOVE);
+        if (index == -1) {
+            return;
+        }
+        values[index] = null;
+        states[index] = DELETED;
+        tombstones++;
+        size--;
+    }
+
+    /**
+     * Retrieves a value based on the given key
+     *
+     * @param key key to search by
+     * @return value associated with the key, or <code>null</code> if it does not exist
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        int index = indexOf(key, Operation.GET);
+        if (index == -1) {
+            return null;
+        }
+        return (V) values[index];
+    }
+
+    /**
+     * Returns <code>true</code> if this hash table contains the given key.
+     *
+     * @param key key to check for
+     * @return true iff the hash table contains a mapping for the specified key
+     */
+    @Override
+    public boolean containsKey(int key) {
+        return indexOf(key, Operation.GET) != -1;
+    }
+
+    /**
+     * Empties the hash table.
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(values, null);
+        Arrays.fill(states, EMPTY);
+        size = 0;
+        tombstones = 0;
+    }
+
+    /**
+     * Returns the number of items in the hash table
+     *
+     * @return integer representing the number of elements in the hash table
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Starts recording probe counts and resizes into the given stats, or stops recording if it is null.
+     * The same stats object may be shared by several tables.
+     *
+     * @param stats where to record, or <code>null</code>
+     */
+    public void setStats(HashTableStats stats) {
+        this.stats = stats;
+    }
+
+    /**
+     * Samples the table's current size, deleted markers and longest cluster into its stats (which walks the
+     * whole table) and returns them
+     *
+     * @return the stats set with {@link #setStats(HashTableStats)}, or <code>null</code> if there are none
+     */
+    public HashTableStats stats() {
+        if (stats != null) {
+            stats.sampleTable(size, capacity, tombstones,
+                    HashTableStats.maxClusterLength(i -> states[i] != EMPTY, capacity));
+        }
+        return stats;
+    }
+
+    /**
+     * DO NOT MODIFY NOR IMPLEMENT THIS FUNCTION
+     *
+     * @param g graphics object to draw on
+     */
+    @Override
+    public void draw(Graphics g) {
+        if (g != null) g.getColor();
+        //todo GRAPHICS DEVELOPER:: draw the hash table how we discussed
+    }
+
+    /**
+     * DO NOT MODIFY NOR IMPLEMENT THIS FUNCTION
+     *
+     * @param g graphics object to draw on
+     */
+    @Override
+    public void visualize(Graphics g) {
+        if (g != null) g.getColor();
+        //todo GRAPHICS DEVELOPER:: visualization is to be time-based -- how we discussed
+    }
+}
@@ -0,0 +1,304 @@
+package CommonUtils;
+
+import CommonUtils.Interfaces.IntIntHashTableInterface;
+
+import java.awt.*;
+import java.util.Arrays;
+
+/**
+ * Implements our {@link IntIntHashTableInterface}: a {@link BetterHashTable} specialized for int keys
+ * and int values.
+ *
+ * @implNote Keys, values and slot states live in parallel arrays, so no key is ever boxed and no
+ * per-entry node is allocated.  Capacity is always a power of two and collisions are resolved with
+ * triangular-number probing (h, h+1, h+3, h+6, ...), which visits every slot of a power-of-two table.
+ */
+public class IntIntHashTable implements IntIntHashTableInterface {
+    /**
+     * Initial size of hash table.
+     */
+    private final int INIT_CAPACITY = 32;
+    /**
+     * Determines the maximum ratio of occupied slots (live entries and deleted markers) to array size.
+     * <p>
+     * Crossing it either doubles the capacity or, if most occupied slots are deleted markers,
+     * rehashes in place at the same capacity.
+     */
+    private final double LOAD_FACTOR = 0.75;
+    /**
+     * Determines how much to increase the array's capacity.
+     */
+    private final int INCREASE_FACTOR = 2;
+
+    /**
+     * Slot states
+     */
+    private static final byte EMPTY = 0;
+    private static final byte FULL = 1;
+    private static final byte DELETED = 2;
+
+    int size;
+    int capacity;
+    int tombstones;
+
+    /**
+     * Parallel arrays to store entries (according to the implementation
+     * note in the class header comment).
+     */
+    int[] keys;
+    int[] values;
+    byte[] states;
+
+    /**
+     * Constructs the hash table with a default size
+     */
+    public IntIntHashTable() {
+        allocate(INIT_CAPACITY);
+    }
+
+    /**
+     * Constructor that initializes the hash table with an initial capacity
+     *
+     * @param initialCapacity initial table capacity, rounded up to a power of two
+     * @throws IllegalArgumentException if the initial capacity is negative
+     */
+    public IntIntHashTable(int initialCapacity) throws IllegalArgumentException {
+        if (initialCapacity < 0) throw new IllegalArgumentException();
+
+        allocate(Math.max(2, Hashing.powerOfTwoAtLeast(initialCapacity)));
+    }
+
+    private void allocate(int newCapacity) {
+        keys = new int[newCapacity];
+        values = new int[newCapacity];
+        states = new byte[newCapacity];
+        capacity = newCapacity;
+        size = 0;
+        tombstones = 0;
+    }
+
+    /**
+     * Finds the slot holding the given key
+     *
+     * @param key key to look for
+     * @return index of the key, or -1 if it is not in the table
+     */
+    private int indexOf(int key) {
+        int mask = capacity - 1;
+        int index = Hashing.mix(key) & mask;
+
+        for (int probe = 1; probe <= capacity; probe++) {
+            byte state = states[index];
+            if (state == EMPTY) {
+                return -1;
+            }
+            if (state == FULL && keys[index] == key) {
+                return index;
+            }
+            index = (index + probe) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the first empty slot for a key known not to be in the table
+     *
+     * @param key key to place
+     * @return index of an empty slot, or -1 if the table is full
+     */
+    private int emptySlotFor(int key) {
+        int mask = capacity - 1;
+        int index = Hashing.mix(key) & mask;
+
+        for (int probe = 1; probe <= capacity; probe++) {
+            if (states[index] == EMPTY) {
+                return index;
+            }
+            index = (index + probe) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Rebuilds the table at the given capacity, dropping every deleted marker
+     *
+     * @param newCapacity power of two capacity
+     */
+    private void rehash(int newCapacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        byte[] oldStates = states;
+        int oldSize = size;
+
+        allocate(newCapacity);
+
+        for (int i = 0; i < oldStates.length; i++) {
+            if (oldStates[i] == FULL) {
+                int index = emptySlotFor(oldKeys[i]);
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+                states[index] = FULL;
+            }
+        }
+        size = oldSize;
+    }
+
+    /**
+     * Places the item in the hash table.
+     * Passing a key already in the table will modify the original entry in the table.
+     *
+     * @param key   key to associate with the value
+     * @param value item to store in the hash table
+     */
+    @Override
+    public void insert(int key, int value) {
+        int mask = capacity - 1;
+        int index = Hashing.mix(key) & mask;
+        int firstDeleted = -1;
+        int emptySlot = -1;
+
+        /* one pass: either find the key or remember where it would go */
+
+        for (int probe = 1; probe <= capacity; probe++) {
+            byte state = states[index];
+            if (state == EMPTY) {
+                emptySlot = index;
+                break;
+            }
+            if (state == FULL) {
+                if (keys[index] == key) {
+                    values[index] = value;
+                    return;
+                }
+            } else if (firstDeleted == -1) {
+                firstDeleted = index;
+            }
+            index = (index + probe) & mask;
+        }
+
+        if (firstDeleted != -1) {
+            keys[firstDeleted] = key;
+            values[firstDeleted] = value;
+            states[firstDeleted] = FULL;
+            tombstones--;
+            size++;
+            return;
+        }
+
+        /* claiming an empty slot: grow (or clean out deleted markers) if necessary */
+
+        if (size + tombstones + 1 > capacity * LOAD_FACTOR && capacity < Hashing.MAX_POWER_OF_TWO) {
+            if (size + 1 > capacity * LOAD_FACTOR / INCREASE_FACTOR) {
+                rehash(capacity * INCREASE_FACTOR);
+            } else {
+                rehash(capacity);
+            }
+            emptySlot = emptySlotFor(key);
+        }
+
+        if (emptySlot == -1) {
+            throw new OutOfMemoryError();
+        }
+
+        keys[emptySlot] = key;
+        values[emptySlot] = value;
+        states[emptySlot] = FULL;
+        size++;
+    }
+
+    /**
+     * Removes the key, value pair associated with the given key
+     *
+     * @param key key/value to remove
+     */
+    @Override
+    public void remove(int key) {
+        int index = indexOf(key);
+        if (index == -1) {
+            return;
+        }
+        states[index] = DELETED;
+        tombstones++;
+        size--;
+    }
+
+    /**
+     * Retrieves a value based on the given key
+     *
+     * @param key key to search by
+     * @return value associated with the key, or {@link #NOT_FOUND} if it does not exist
+     */
+    @Override
+    public int get(int key) {
+        return getOrDefault(key, NOT_FOUND);
+    }
+
+    /**
+     * Retrieves a value based on the given key
+     *
+     * @param key          key to search by
+     * @param defaultValue value to return if the key does not exist
+     * @return value associated with the key, or <code>defaultValue</code> if it does not exist
+     */
+    @Override
+    public int getOrDefault(int key, int defaultValue) {
+        int index = indexOf(key);
+        if (index == -1) {
+            return defaultValue;
+        }
+        return values[index];
+    }
+
+    /**
+     * Returns <code>true</code> if this hash table contains the given key.
+     *
+     * @param key key to check for
+     * @return true iff the hash table contains a mapping for the specified key
+     */
+    @Override
+    public boolean containsKey(int key) {
+        return indexOf(key) != -1;
+    }
+
+    /**
+     * Empties the hash table.
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(states, EMPTY);
+        size = 0;
+        tombstones = 0;
+    }
+
+    /**
+     * Returns the number of items in the hash table
+     *
+     * @return integer representing the number of elements in the hash table
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * DO NOT MODIFY NOR IMPLEMENT THIS FUNCTION
+     *
+     * @param g graphics object to draw on
+     */
+    @Override
+    public void draw(Graphics g) {
+        if (g != null) g.getColor();
+        //todo GRAPHICS DEVELOPER:: draw the hash table how we discussed
+    }
+
+    /**
+     * DO NOT MODIFY NOR IMPLEMENT THIS FUNCTION
+     *
+     * @param g graphics object to draw on
+     */
+    @Override
+    public void visualize(Graphics g) {
+        if (g != null) g.getColor();
+        //todo GRAPHICS DEVELOPER:: visualization is to be time-based -- how we discussed
+    }
+}
@@ -1,5 +1,8 @@
 package CommonUtils.Interfaces;
 
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 /**
  * Interface for our new BetterHashTable object.
@@ -24,6 +27,49 @@ public interface BetterHashTableInterface<K, V> {
      */
     void insert(K key, V value);
 
+    /**
+     * Associates the value with the key only if the key is not already mapped to a non-null value.
+     * Passing key=null will not change the state of the table.
+     *
+     * @param key key to associate with the value
+     * @param value item to store in the hash table
+     * @return the previous value associated with the key, or <code>null</code> if there was none
+     */
+    V putIfAbsent(K key, V value);
+
+    /**
+     * If the key is not already mapped to a non-null value, computes one with the given function and
+     *   stores it unless it is <code>null</code>.  Passing key=null will not change the state of the table.
+     *
+     * @param key key to look up
+     * @param mappingFunction function computing a value from the key
+     * @return the current (existing or computed) value associated with the key, or <code>null</code>
+     */
+    V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction);
+
+    /**
+     * Computes a new value for the key from its current value (<code>null</code> if absent).  If the new
+     *   value is <code>null</code> the mapping is removed.  Passing key=null will not change the state of the table.
+     *
+     * @param key key to look up
+     * @param remappingFunction function computing the new value from the key and its current value
+     * @return the new value associated with the key, or <code>null</code> if there is none
+     */
+    V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction);
+
+    /**
+     * Associates the value with the key if it is absent or mapped to <code>null</code>, otherwise replaces
+     *   the current value with the result of the function (removing the mapping if that is <code>null</code>).
+     *   Passing key=null will not change the state of the table.
+     *
+     * @param key key to look up
+     * @param value value to use if the key is absent
+     * @param remappingFunction function combining the current value and the given value
+     * @return the new value associated with the key, or <code>null</code> if there is none
+     * @throws NullPointerException if the value is null
+     */
+    V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction);
+
     /**
      * Removes the key, value pair associated with the given key
      * @param key key/value to remove
@@ -37,6 +83,14 @@ public interface BetterHashTableInterface<K, V> {
      */
     V get(K key);
 
+    /**
+     * Retrieves a value based on the given key
+     * @param key key to search by
+     * @param defaultValue value to return if the key does not exist
+     * @return value associated with the key, or <code>defaultValue</code> if it does not exist
+     */
+    V getOrDefault(K key, V defaultValue);
+
     /**
      * Returns <code>true</code> if this hash table contains the given key.
      * @param key key to check for
@@ -45,6 +99,29 @@ public interface BetterHashTableInterface<K, V> {
      */
     boolean containsKey(K key);
 
+    /**
+     * Places every entry of the other table in this one, as if by insert, sizing this table once up front.
+     *
+     * @param other table to copy entries from
+     * @throws NullPointerException if other is null
+     */
+    void putAll(BetterHashTableInterface<? extends K, ? extends V> other);
+
+    /**
+     * Calls the action once for every entry in the table, in no particular order.  The action must not
+     *   modify this table.
+     *
+     * @param action action to run on each key and value
+     * @throws NullPointerException if the action is null
+     */
+    void forEach(BiConsumer<? super K, ? super V> action);
+
+    /**
+     * Returns a cursor over the entries of the table, in no particular order
+     * @return a new cursor positioned before the first entry
+     */
+    HashTableCursor<K, V> cursor();
+
     /**
      * Empties the hash table.
      */
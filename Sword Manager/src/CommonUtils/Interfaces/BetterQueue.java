@@ -9,6 +9,11 @@ import java.awt.*;
  * @implNote implement a queue using a circular array with initial capacity 8.
  * <p>
  * Implement BetterQueueInterface and add a constructor
+ * <p>
+ * The capacity is always a power of two, so wrapping an index around the array is a mask instead of a
+ * division.  Resizing copies the queue's (at most two) contiguous runs with System.arraycopy, and leaves
+ * the queue starting at index 0 of the new array.  addAll and drainTo move their items the same way, so
+ * a batch costs at most two copies and one capacity check instead of one per item.
  */
 public class BetterQueue<E> implements BetterQueueInterface<E> {
 
@@ -22,27 +27,28 @@ public class BetterQueue<E> implements BetterQueueInterface<E> {
      * If the array needs to increase in size, it should be increased to
      * old capacity * INCREASE_FACTOR.
      * <p>
-     * If it cannot increase by that much (old capacity * INCREASE_FACTOR > max int),
-     * it should increase by CONSTANT_INCREMENT.
-     * <p>
-     * If that can't be done either throw OutOfMemoryError()
+     * If it cannot increase by that much (the capacity is already MAX_CAPACITY, the largest power of two
+     * an array can hold), throw OutOfMemoryError()
      */
     private final int INCREASE_FACTOR = 2;
-    private final int CONSTANT_INCREMENT = 1 << 5; // 32
+    private final int MAX_CAPACITY = 1 << 30;
 
     /**
      * If the number of elements stored is < capacity * DECREASE_FACTOR, it should decrease
-     * the capacity of the UDS to max(capacity * DECREASE_FACTOR, initial capacity).
+     * the capacity of the UDS to max(capacity / INCREASE_FACTOR, initial capacity).
+     * <p>
+     * A queue that just shrank is at most half full, so it has to double before it grows again, and one
+     * that just grew is half full, so it has to lose three quarters of that before it shrinks: a queue
+     * whose size oscillates around a power of two does not copy its array on every add and remove.
      */
-    private final double DECREASE_FACTOR = 0.5;
+    private final double DECREASE_FACTOR = 0.25;
 
     /**
      * Array to store elements in
      */
     private E[] queue;
     private int first;
-    private int last;
-    private int capacity;
+    private int mask;
     private int size;
 
     /**
@@ -52,11 +58,27 @@ public class BetterQueue<E> implements BetterQueueInterface<E> {
     public BetterQueue() {
         queue = (E[]) new Object[INIT_CAPACITY];
         first = 0;
-        last = 0;
-        capacity = INIT_CAPACITY;
+        mask = INIT_CAPACITY - 1;
         size = 0;
     }
 
+    /**
+     * Moves the elements into a new array of the given power-of-two length (at least size), in order and
+     * starting at index 0
+     *
+     * @param newCapacity length of the new array
+     */
+    @SuppressWarnings("unchecked")
+    private void resize(int newCapacity) {
+        E[] newQueue = (E[]) new Object[newCapacity];
+        int firstRun = Math.min(size, queue.length - first);
+        System.arraycopy(queue, first, newQueue, 0, firstRun);
+        System.arraycopy(queue, 0, newQueue, firstRun, size - firstRun);
+        queue = newQueue;
+        first = 0;
+        mask = newCapacity - 1;
+    }
+
     /**
      * Add an item to the back of the queue
      *
@@ -71,36 +93,15 @@ public class BetterQueue<E> implements BetterQueueInterface<E> {
 
         /* increasing size if necessary */
 
-        if (this.size == this.capacity) {
-            if (this.capacity * INCREASE_FACTOR > Integer.MAX_VALUE) {
-                if (this.capacity + CONSTANT_INCREMENT > Integer.MAX_VALUE) {
-                    throw new OutOfMemoryError();
-                } else {
-                    E[] newQueue = (E[]) new Object[this.capacity + CONSTANT_INCREMENT];
-                    for (int i = 0; i < this.capacity; i++) {
-                        newQueue[i] = queue[i];
-                    }
-                    queue = newQueue;
-                    capacity = capacity + CONSTANT_INCREMENT;
-                    last = size;
-                }
-            } else {
-                E[] newQueue = (E[]) new Object[this.capacity * INCREASE_FACTOR];
-                for (int i = 0; i < this.capacity; i++) {
-                    newQueue[i] = queue[(first + i) % capacity];
-                }
-                queue = newQueue;
-                capacity = capacity * INCREASE_FACTOR;
-                first = 0;
-                last = size;
+        if (size == queue.length) {
+            if (queue.length >= MAX_CAPACITY) {
+                throw new OutOfMemoryError();
             }
+            resize(queue.length * INCREASE_FACTOR);
         }
 
-        queue[last] = item;
-        last++;
+        queue[(first + size) & mask] = item;
         size++;
-
-        last = last % capacity;
     }
 
     /**
@@ -120,29 +121,107 @@ public class BetterQueue<E> implements BetterQueueInterface<E> {
      */
     @Override
     public E remove() {
-        if (this.isEmpty()) {
+        if (size == 0) {
             return null;
         }
 
-        E dequeued;
-        dequeued = queue[first];
+        E dequeued = queue[first];
         queue[first] = null;
-        first = (first + 1) % capacity;
+        first = (first + 1) & mask;
         size--;
 
-        /* decrease the size of the array if necessary */
+        shrinkIfMostlyEmpty();
+        return dequeued;
+    }
 
-        if ((size <= capacity * DECREASE_FACTOR) && (capacity * DECREASE_FACTOR >= INIT_CAPACITY)) {
-            capacity = (int) (this.capacity * DECREASE_FACTOR);
-            E[] newQueue = (E[]) new Object[capacity];
-            for (int i = 0; i < capacity; i++) {
-                newQueue[i] = queue[(first + i) % queue.length];
+    /**
+     * Adds len items from src, starting at src[off], to the back of the queue in order.  If an item is null
+     * the queue is left unchanged.
+     *
+     * @param src array holding the items to add
+     * @param off index of the first item to add
+     * @param len number of items to add
+     * @throws NullPointerException      if src or any of the items is null
+     * @throws IndexOutOfBoundsException if off or len is negative, or off + len is larger than src.length
+     */
+    @Override
+    public void addAll(E[] src, int off, int len) {
+        if (off < 0 || len < 0 || off > src.length - len) {
+            throw new IndexOutOfBoundsException();
+        }
+        for (int i = off; i < off + len; i++) {
+            if (src[i] == null) {
+                throw new NullPointerException();
             }
-            last = 0;
-            queue = newQueue;
-            first = 0;
         }
-        return dequeued;
+        if ((long) size + len > MAX_CAPACITY) {
+            throw new OutOfMemoryError();
+        }
+
+        ensureCapacity(size + len);
+        int tail = (first + size) & mask;
+        int firstRun = Math.min(len, queue.length - tail);
+        System.arraycopy(src, off, queue, tail, firstRun);
+        System.arraycopy(src, off + firstRun, queue, 0, len - firstRun);
+        size += len;
+    }
+
+    /**
+     * Removes up to max items from the front of the queue and stores them in order at the start of dst
+     *
+     * @param dst array to store the removed items in; no more than its length are removed
+     * @param max largest number of items to remove
+     * @return number of items removed
+     * @throws NullPointerException     if dst is null
+     * @throws IllegalArgumentException if max is negative
+     */
+    @Override
+    public int drainTo(E[] dst, int max) {
+        if (max < 0) {
+            throw new IllegalArgumentException();
+        }
+        int count = Math.min(Math.min(max, size), dst.length);
+        int firstRun = Math.min(count, queue.length - first);
+        System.arraycopy(queue, first, dst, 0, firstRun);
+        System.arraycopy(queue, 0, dst, firstRun, count - firstRun);
+        for (int i = 0; i < count; i++) {
+            queue[(first + i) & mask] = null;
+        }
+        first = (first + count) & mask;
+        size -= count;
+
+        shrinkIfMostlyEmpty();
+        return count;
+    }
+
+    /**
+     * Grows the queue once, if needed, so that it can hold the given number of items without resizing.  The
+     * capacity may shrink again once the queue is mostly empty (see DECREASE_FACTOR).
+     *
+     * @param expectedSize number of items the queue is expected to hold
+     * @throws OutOfMemoryError if expectedSize is larger than the largest capacity
+     */
+    @Override
+    public void ensureCapacity(int expectedSize) {
+        if (expectedSize > queue.length) {
+            if (expectedSize > MAX_CAPACITY) {
+                throw new OutOfMemoryError();
+            }
+            resize(Integer.highestOneBit(expectedSize - 1) << 1);
+        }
+    }
+
+    /**
+     * Decreases the size of the array if necessary (see DECREASE_FACTOR), by as many halvings as needed
+     */
+    private void shrinkIfMostlyEmpty() {
+        int capacity = queue.length;
+        while (size < capacity * DECREASE_FACTOR && capacity / INCREASE_FACTOR >= INIT_CAPACITY) {
+            capacity /= INCREASE_FACTOR;
+        }
+        if (capacity != queue.length) {
+            resize(capacity);
+        }
     }
 
     /**
@@ -168,6 +247,15 @@ public class BetterQueue<E> implements BetterQueueInterface<E> {
         return false;
     }
 
+    /**
+     * Returns the length of the backing array
+     *
+     * @return number of elements the queue can hold before it has to grow
+     */
+    public int capacity() {
+        return queue.length;
+    }
+
     /**
      * DO NOT MODIFY NOR IMPLEMENT THIS FUNCTION
      *
@@ -17,6 +17,33 @@ public interface BetterQueueInterface<E> {
      */
     void add(E item);
 
+    /**
+     * Adds len items from src, starting at src[off], to the back of the queue in order.  If an item is null
+     *   the queue is left unchanged.
+     * @param src array holding the items to add
+     * @param off index of the first item to add
+     * @param len number of items to add
+     * @throws NullPointerException if src or any of the items is null
+     * @throws IndexOutOfBoundsException if off or len is negative, or off + len is larger than src.length
+     */
+    void addAll(E[] src, int off, int len);
+
+    /**
+     * Removes up to max items from the front of the queue and stores them in order at the start of dst
+     * @param dst array to store the removed items in; no more than its length are removed
+     * @param max largest number of items to remove
+     * @return number of items removed
+     * @throws NullPointerException if dst is null
+     * @throws IllegalArgumentException if max is negative
+     */
+    int drainTo(E[] dst, int max);
+
+    /**
+     * Grows the queue once, if needed, so that it can hold the given number of items without resizing
+     * @param expectedSize number of items the queue is expected to hold
+     */
+    void ensureCapacity(int expectedSize);
+
     /**
      * Returns the front of the queue (does not remove it) or <code>null</code> if the queue is empty
      * @return front of the queue or <code>null</code> if the queue is empty
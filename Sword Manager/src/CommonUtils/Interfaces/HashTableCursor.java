@@ -0,0 +1,40 @@
+package CommonUtils.Interfaces;
+
+/**
+ * Walks the entries of a {@link BetterHashTableInterface} in no particular order without allocating per
+ *   entry: the cursor itself is the only object created.
+ * <p>
+ * Typical use:
+ * <pre>
+ *     HashTableCursor&lt;K, V&gt; cursor = table.cursor();
+ *     while (cursor.advance()) {
+ *         use(cursor.key(), cursor.value());
+ *     }
+ * </pre>
+ * Modifying the table while a cursor is walking it (other than through the cursor) leaves the rest of the
+ *   walk unspecified, except for concurrent tables, whose cursors are weakly consistent.
+ *
+ * @param <K> Type of key the hash table is holding
+ * @param <V> Type of value the hash table is holding
+ */
+public interface HashTableCursor<K, V> {
+    /**
+     * Moves to the next entry
+     * @return true if there is one, false once every entry has been visited
+     */
+    boolean advance();
+
+    /**
+     * Returns the key of the current entry
+     * @return current key
+     * @throws IllegalStateException if advance() has not returned true yet, or has returned false
+     */
+    K key();
+
+    /**
+     * Returns the value of the current entry
+     * @return current value
+     * @throws IllegalStateException if advance() has not returned true yet, or has returned false
+     */
+    V value();
+}
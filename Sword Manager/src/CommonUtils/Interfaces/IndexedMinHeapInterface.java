@@ -0,0 +1,72 @@
+package CommonUtils.Interfaces;
+
+/**
+ * A min heap whose elements can be found again after they were added, so their priority can be changed
+ *   or they can be removed without searching the heap.
+ * <p>
+ * {@link #insert(Comparable)} returns an int handle that stays attached to the element, wherever sifting
+ *   moves it, until the element leaves the heap (by removeMin, remove or clear).  After that the handle
+ *   is invalid and may be handed out again by a later insert.  Elements added with
+ *   {@link #add(Comparable)} get a handle too; it is just not returned.
+ * <p>
+ * Because the elements are Comparable, their priority lives inside them.  To reprioritize, either pass
+ *   a replacement element to decreaseKey or increaseKey, which checks that it moved the way the method
+ *   says, or change the element in place and pass the same object back, in which case the heap cannot
+ *   see the old priority and simply moves the element whichever way restores the order.
+ *
+ * @param <E> Type of object the heap is holding
+ */
+public interface IndexedMinHeapInterface<E extends Comparable<E>> extends MinHeapInterface<E> {
+    /**
+     * Adds the item to the min heap
+     * @param item item to add
+     * @return handle of the item, valid until it leaves the heap
+     * @throws NullPointerException if the specified element is null
+     */
+    int insert(E item);
+
+    /**
+     * Tells whether the handle belongs to an element in the heap
+     * @param handle handle to check
+     * @return true if the handle is valid
+     */
+    boolean contains(int handle);
+
+    /**
+     * Returns the element with the given handle
+     * @param handle handle returned by insert
+     * @return the element
+     * @throws IllegalArgumentException if the handle is not valid
+     */
+    E get(int handle);
+
+    /**
+     * Replaces the element with the given handle by one that is not greater (or tells the heap that the
+     *   element was changed in place, if item is the same object), and restores the heap order
+     * @param handle handle returned by insert
+     * @param item new element, which keeps the handle
+     * @throws NullPointerException if item is null
+     * @throws IllegalArgumentException if the handle is not valid, or item is another object greater than
+     *   the element it replaces
+     */
+    void decreaseKey(int handle, E item);
+
+    /**
+     * Replaces the element with the given handle by one that is not smaller (or tells the heap that the
+     *   element was changed in place, if item is the same object), and restores the heap order
+     * @param handle handle returned by insert
+     * @param item new element, which keeps the handle
+     * @throws NullPointerException if item is null
+     * @throws IllegalArgumentException if the handle is not valid, or item is another object smaller than
+     *   the element it replaces
+     */
+    void increaseKey(int handle, E item);
+
+    /**
+     * Removes the element with the given handle from the heap
+     * @param handle handle returned by insert
+     * @return the removed element
+     * @throws IllegalArgumentException if the handle is not valid
+     */
+    E remove(int handle);
+}
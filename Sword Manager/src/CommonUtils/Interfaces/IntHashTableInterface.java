@@ -0,0 +1,62 @@
+package CommonUtils.Interfaces;
+
+
+/**
+ * Interface for a hash table keyed by primitive ints.  Follows the same contract as
+ * {@link BetterHashTableInterface} without boxing the key.
+ *
+ * @param <V> Type of value the hash table is holding
+ */
+public interface IntHashTableInterface<V> {
+    /**
+     * Places the item in the hash table.
+     * Passing a key already in the table will modify the original entry in the table.
+     *
+     * @param key key to associate with the value
+     * @param value item to store in the hash table
+     */
+    void insert(int key, V value);
+
+    /**
+     * Removes the key, value pair associated with the given key
+     * @param key key/value to remove
+     */
+    void remove(int key);
+
+    /**
+     * Retrieves a value based on the given key
+     * @param key key to search by
+     * @return value associated with the key, or <code>null</code> if it does not exist
+     */
+    V get(int key);
+
+    /**
+     * Returns <code>true</code> if this hash table contains the given key.
+     * @param key key to check for
+     * @return true iff the hash table contains a mapping for the specified key
+     */
+    boolean containsKey(int key);
+
+    /**
+     * Empties the hash table.
+     */
+    void clear();
+
+    /**
+     * Returns the number of items in the hash table
+     * @return integer representing the number of elements in the hash table
+     */
+    int size();
+
+    /**
+     * DO NOT MODIFY NOR IMPLEMENT THIS FUNCTION
+     * @param g graphics object to draw on
+     */
+    void draw(java.awt.Graphics g);
+
+    /**
+     * DO NOT MODIFY NOR IMPLEMENT THIS FUNCTION
+     * @param g graphics object to draw on
+     */
+    void visualize(java.awt.Graphics g);
+}
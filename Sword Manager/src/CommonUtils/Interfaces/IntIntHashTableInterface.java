@@ -0,0 +1,75 @@
+package CommonUtils.Interfaces;
+
+
+/**
+ * Interface for a hash table mapping primitive ints to primitive ints.  Follows the same contract as
+ * {@link BetterHashTableInterface}, except that a missing value is reported as {@link #NOT_FOUND}
+ * instead of <code>null</code>.
+ */
+public interface IntIntHashTableInterface {
+    /**
+     * Value returned by {@link #get(int)} when the key does not exist.  Use {@link #containsKey(int)}
+     * to tell it apart from a stored value of -1.
+     */
+    int NOT_FOUND = -1;
+
+    /**
+     * Places the item in the hash table.
+     * Passing a key already in the table will modify the original entry in the table.
+     *
+     * @param key key to associate with the value
+     * @param value item to store in the hash table
+     */
+    void insert(int key, int value);
+
+    /**
+     * Removes the key, value pair associated with the given key
+     * @param key key/value to remove
+     */
+    void remove(int key);
+
+    /**
+     * Retrieves a value based on the given key
+     * @param key key to search by
+     * @return value associated with the key, or {@link #NOT_FOUND} if it does not exist
+     */
+    int get(int key);
+
+    /**
+     * Retrieves a value based on the given key
+     * @param key key to search by
+     * @param defaultValue value to return if the key does not exist
+     * @return value associated with the key, or <code>defaultValue</code> if it does not exist
+     */
+    int getOrDefault(int key, int defaultValue);
+
+    /**
+     * Returns <code>true</code> if this hash table contains the given key.
+     * @param key key to check for
+     * @return true iff the hash table contains a mapping for the specified key
+     */
+    boolean containsKey(int key);
+
+    /**
+     * Empties the hash table.
+     */
+    void clear();
+
+    /**
+     * Returns the number of items in the hash table
+     * @return integer representing the number of elements in the hash table
+     */
+    int size();
+
+    /**
+     * DO NOT MODIFY NOR IMPLEMENT THIS FUNCTION
+     * @param g graphics object to draw on
+     */
+    void draw(java.awt.Graphics g);
+
+    /**
+     * DO NOT MODIFY NOR IMPLEMENT THIS FUNCTION
+     * @param g graphics object to draw on
+     */
+    void visualize(java.awt.Graphics g);
+}
@@ -0,0 +1,76 @@
+package CommonUtils.Interfaces;
+
+
+/**
+ * Interface for a queue of primitive longs.  Follows the same contract as {@link BetterQueueInterface},
+ * except that an empty queue is reported as {@link #EMPTY} instead of <code>null</code>.
+ */
+public interface LongBetterQueueInterface {
+    /**
+     * Value returned by {@link #peek()} and {@link #remove()} when the queue is empty.  Use
+     * {@link #isEmpty()} to tell it apart from a stored value of -1.
+     */
+    long EMPTY = -1;
+
+    /**
+     * Add an item to the back of the queue
+     * @param item item to push
+     */
+    void add(long item);
+
+    /**
+     * Adds len items from src, starting at src[off], to the back of the queue in order
+     * @param src array holding the items to add
+     * @param off index of the first item to add
+     * @param len number of items to add
+     * @throws NullPointerException if src is null
+     * @throws IndexOutOfBoundsException if off or len is negative, or off + len is larger than src.length
+     */
+    void addAll(long[] src, int off, int len);
+
+    /**
+     * Removes up to max items from the front of the queue and stores them in order at the start of dst
+     * @param dst array to store the removed items in; no more than its length are removed
+     * @param max largest number of items to remove
+     * @return number of items removed
+     * @throws NullPointerException if dst is null
+     * @throws IllegalArgumentException if max is negative
+     */
+    int drainTo(long[] dst, int max);
+
+    /**
+     * Grows the queue once, if needed, so that it can hold the given number of items without resizing
+     * @param expectedSize number of items the queue is expected to hold
+     */
+    void ensureCapacity(int expectedSize);
+
+    /**
+     * Returns the front of the queue (does not remove it) or {@link #EMPTY} if the queue is empty
+     * @return front of the queue or {@link #EMPTY} if the queue is empty
+     */
+    long peek();
+
+    /**
+     * Returns and removes the front of the queue
+     * @return the head of the queue, or {@link #EMPTY} if this queue is empty
+     */
+    long remove();
+
+    /**
+     * Returns the number of elements in the queue
+     * @return integer representing the number of elements in the queue
+     */
+    int size();
+
+    /**
+     * Returns whether the queue is empty
+     * @return true if the queue is empty, false otherwise
+     */
+    boolean isEmpty();
+
+    /**
+     * DO NOT MODIFY NOR IMPLEMENT THIS FUNCTION
+     * @param g graphics object to draw on
+     */
+    void draw(java.awt.Graphics g);
+}
@@ -0,0 +1,86 @@
+package CommonUtils.Interfaces;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Interface for a min heap of primitive entries: each entry is a long priority and an int payload (for
+ *   example an index into an array of the objects being ordered).  Entries are ordered by priority alone;
+ *   the order of entries with equal priorities is unspecified, so callers that need a stable order fold
+ *   a tie-breaker into the priority.
+ * <p>
+ * Follows the same contract as {@link MinHeapInterface}, except that an empty heap is reported with
+ *   {@link #NOT_FOUND} and {@link #EMPTY_KEY} instead of <code>null</code>.
+ */
+public interface LongPayloadMinHeapInterface {
+    /**
+     * Payload returned by {@link #peekMinPayload()} and {@link #removeMin()} when the heap is empty.  Use
+     *   {@link #size()} to tell it apart from a stored payload of -1.
+     */
+    int NOT_FOUND = -1;
+
+    /**
+     * Priority returned by {@link #peekMinKey()} when the heap is empty.  It is larger than every other
+     *   priority, so an empty heap's next event is never earlier than anything else.
+     */
+    long EMPTY_KEY = Long.MAX_VALUE;
+
+    /**
+     * Adds the entry to the min heap
+     * @param key priority of the entry
+     * @param payload value carried by the entry
+     */
+    void add(long key, int payload);
+
+    /**
+     * Adds every entry to the min heap: the entry with priority keys[i] carries payloads[i]
+     * @param keys priorities of the entries
+     * @param payloads values carried by the entries
+     * @throws IllegalArgumentException if the arrays differ in length
+     */
+    void addAll(long[] keys, int[] payloads);
+
+    /**
+     * Empties the heap.
+     */
+    void clear();
+
+    /**
+     * Returns the smallest priority without removing its entry
+     * @return the minimum priority in the heap, or {@link #EMPTY_KEY} if heap is empty
+     */
+    long peekMinKey();
+
+    /**
+     * Returns the payload of the entry with the smallest priority without removing it
+     * @return its payload, or {@link #NOT_FOUND} if heap is empty
+     */
+    int peekMinPayload();
+
+    /**
+     * Removes the entry with the smallest priority and returns its payload
+     * @return its payload, or {@link #NOT_FOUND} if heap is empty
+     */
+    int removeMin();
+
+    /**
+     * Removes every entry whose priority is at most the threshold and hands their payloads to the sink,
+     *   smallest first.  The whole batch is removed, and the heap left valid, before the sink sees any
+     *   payload, so the sink may use the heap; entries it adds are not part of the batch.
+     * @param threshold largest priority to remove
+     * @param sink receives the payloads
+     * @return number of entries removed
+     */
+    int drainUpTo(long threshold, IntConsumer sink);
+
+    /**
+     * Returns the number of entries in the heap
+     * @return integer representing the number of entries in the heap
+     */
+    int size();
+
+    /**
+     * DO NOT MODIFY NOR IMPLEMENT THIS FUNCTION
+     * @param g graphics object to draw on
+     */
+    void draw(java.awt.Graphics g);
+}
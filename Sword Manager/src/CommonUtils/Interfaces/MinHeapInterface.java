@@ -12,7 +12,7 @@ package CommonUtils.Interfaces;
  *
  * @param <E> Type of object the heap is holding
  */
-public interface MinHeapInterface<E extends Comparable<E>> {
+public interface MinHeapInterface<E> {
     /**
      * Adds the item to the min heap
      * @param item item to add
@@ -0,0 +1,349 @@
+package CommonUtils;
+
+import CommonUtils.Interfaces.LongPayloadMinHeapInterface;
+
+import java.awt.*;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Implements our LongPayloadMinHeapInterface and adds a constructor, plus helpers that pack a sword's
+ * time of clean and request order into one priority.
+ *
+ * @implNote Priorities and payloads live in parallel <code>long[]</code> and <code>int[]</code> arrays, so
+ * comparing two entries is one primitive comparison with no object dereferenced.  Like {@link MinHeap},
+ * sifting moves a hole.  The heap is 8-ary, the arity that won for swords (see
+ * <code>Benchmarks.HeapArityBenchmark</code>): the eight priorities a sift-down compares are next to each
+ * other and span one or two cache lines.
+ */
+public class LongPayloadMinHeap implements LongPayloadMinHeapInterface {
+    /**
+     * Initial size of the backing arrays.
+     */
+    private final int INIT_CAPACITY = 16;
+    /**
+     * Determines how much to increase the arrays' capacity.
+     */
+    private final int INCREASE_FACTOR = 2;
+    /**
+     * Largest array length the VM reliably allows.
+     */
+    private final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+    /**
+     * log2 of the number of children per node.
+     */
+    private final int ARITY_SHIFT = 3;
+
+    /**
+     * Parallel arrays to store entries (according to the implementation
+     * note in the class header comment).
+     */
+    private long[] keys;
+    private int[] payloads;
+    int n;
+
+    /**
+     * Constructs an empty min heap
+     */
+    public LongPayloadMinHeap() {
+        keys = new long[INIT_CAPACITY];
+        payloads = new int[INIT_CAPACITY];
+        n = 0;
+    }
+
+    /**
+     * Constructs an empty min heap that can hold the given number of entries before it has to grow
+     *
+     * @param initialCapacity number of entries to make room for
+     * @throws IllegalArgumentException if initialCapacity is negative
+     */
+    public LongPayloadMinHeap(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException();
+        }
+        keys = new long[Math.max(initialCapacity, 1)];
+        payloads = new int[Math.max(initialCapacity, 1)];
+        n = 0;
+    }
+
+    /**
+     * Packs a time and a request order into one priority: the time goes in the high 32 bits and the
+     * order in the low 32 bits.  For non-negative orders (and times that do not overflow when subtracted),
+     * priorities compare exactly as {@link Items.Sword#compareTo(Items.Sword)} compares swords with those
+     * times of clean and request orders.
+     *
+     * @param time  time of clean
+     * @param order request order, breaking ties between equal times
+     * @return the packed priority
+     */
+    public static long pack(int time, int order) {
+        return ((long) time << 32) | (order & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Returns the time packed into a priority by {@link #pack(int, int)}
+     *
+     * @param key packed priority
+     * @return its time
+     */
+    public static int timeOf(long key) {
+        return (int) (key >> 32);
+    }
+
+    /**
+     * Returns the request order packed into a priority by {@link #pack(int, int)}
+     *
+     * @param key packed priority
+     * @return its request order
+     */
+    public static int orderOf(long key) {
+        return (int) key;
+    }
+
+    /**
+     * Grows the backing arrays, if necessary, so they can hold the given number of additional entries
+     */
+    private void ensureRoom(int additional) {
+        long needed = (long) n + additional;
+        if (needed > MAX_CAPACITY) {
+            throw new OutOfMemoryError();
+        }
+        if (needed > keys.length) {
+            int newCapacity = (int) Math.max(needed, Math.min((long) keys.length * INCREASE_FACTOR, MAX_CAPACITY));
+            keys = Arrays.copyOf(keys, newCapacity);
+            payloads = Arrays.copyOf(payloads, newCapacity);
+        }
+    }
+
+    /**
+     * Places the entry in the hole at the given index or above it, moving larger parents down as it goes
+     */
+    private void siftUp(int hole, long key, int payload) {
+        while (hole > 0) {
+            int parent = (hole - 1) >>> ARITY_SHIFT;
+            long parentKey = keys[parent];
+            if (key >= parentKey) {
+                break;
+            }
+            keys[hole] = parentKey;
+            payloads[hole] = payloads[parent];
+            hole = parent;
+        }
+        keys[hole] = key;
+        payloads[hole] = payload;
+    }
+
+    /**
+     * Places the entry in the hole at the given index or below it, moving smaller children up as it goes
+     */
+    private void siftDown(int hole, long key, int payload) {
+        int lastParent = lastParent();
+        while (hole <= lastParent) {
+            int child = (hole << ARITY_SHIFT) + 1;
+            int end = (int) Math.min((long) child + (1 << ARITY_SHIFT), n);
+            long minKey = keys[child];
+            for (int sibling = child + 1; sibling < end; sibling++) {
+                if (keys[sibling] < minKey) {
+                    child = sibling;
+                    minKey = keys[sibling];
+                }
+            }
+            if (key <= minKey) {
+                break;
+            }
+            keys[hole] = minKey;
+            payloads[hole] = payloads[child];
+            hole = child;
+        }
+        keys[hole] = key;
+        payloads[hole] = payload;
+    }
+
+    /**
+     * Returns the index of the last node that has children, or -1 if none does
+     */
+    private int lastParent() {
+        return n < 2 ? -1 : (n - 2) >>> ARITY_SHIFT;
+    }
+
+    /**
+     * Adds the entry to the min heap
+     *
+     * @param key     priority of the entry
+     * @param payload value carried by the entry
+     */
+    @Override
+    public void add(long key, int payload) {
+        ensureRoom(1);
+        n++;
+        siftUp(n - 1, key, payload);
+    }
+
+    /**
+     * Adds every entry to the min heap.  If the entries are at least as many as those already held, the
+     * whole heap is rebuilt bottom-up in O(size) time; otherwise each entry is sifted up as by add.
+     *
+     * @param keys     priorities of the entries
+     * @param payloads values carried by the entries
+     * @throws IllegalArgumentException if the arrays differ in length
+     */
+    @Override
+    public void addAll(long[] keys, int[] payloads) {
+        if (keys.length != payloads.length) {
+            throw new IllegalArgumentException();
+        }
+        ensureRoom(keys.length);
+        if (keys.length >= n) {
+            System.arraycopy(keys, 0, this.keys, n, keys.length);
+            System.arraycopy(payloads, 0, this.payloads, n, keys.length);
+            n += keys.length;
+            for (int i = lastParent(); i >= 0; i--) {
+                siftDown(i, this.keys[i], this.payloads[i]);
+            }
+        } else {
+            for (int i = 0; i < keys.length; i++) {
+                n++;
+                siftUp(n - 1, keys[i], payloads[i]);
+            }
+        }
+    }
+
+    /**
+     * Empties the heap.
+     */
+    @Override
+    public void clear() {
+        n = 0;
+    }
+
+    /**
+     * Returns the smallest priority without removing its entry
+     *
+     * @return the minimum priority in the heap, or {@link #EMPTY_KEY} if heap is empty
+     */
+    @Override
+    public long peekMinKey() {
+        if (n == 0) {
+            return EMPTY_KEY;
+        }
+        return keys[0];
+    }
+
+    /**
+     * Returns the payload of the entry with the smallest priority without removing it
+     *
+     * @return its payload, or {@link #NOT_FOUND} if heap is empty
+     */
+    @Override
+    public int peekMinPayload() {
+        if (n == 0) {
+            return NOT_FOUND;
+        }
+        return payloads[0];
+    }
+
+    /**
+     * Removes the entry with the smallest priority and returns its payload
+     *
+     * @return its payload, or {@link #NOT_FOUND} if heap is empty
+     */
+    @Override
+    public int removeMin() {
+        if (n == 0) {
+            return NOT_FOUND;
+        }
+        int payload = payloads[0];
+        n--;
+        if (n > 0) {
+            siftDown(0, keys[n], payloads[n]);
+        }
+        return payload;
+    }
+
+    /**
+     * Removes every entry whose priority is at most the threshold, smallest first, handing each payload
+     * to the sink.  The heap is repaired before the sink sees any payload, so the sink may use the heap.
+     * <p>
+     * Removing k entries this way costs O(k log k) to order them plus at most k sift-downs, usually short
+     * ones, instead of k full-depth sift-downs; if k is at least half the heap, the rest is rebuilt
+     * bottom-up in linear time instead.
+     *
+     * @param threshold largest priority to remove
+     * @param sink      receives the payloads
+     * @return number of entries removed
+     */
+    @Override
+    public int drainUpTo(long threshold, IntConsumer sink) {
+        if (n == 0 || keys[0] > threshold) {
+            return 0;
+        }
+
+        int[] removed = HeapDrain.walk(entries, i -> keys[i] > threshold);
+        int[] drained = new int[removed.length];
+        for (int j = 0; j < removed.length; j++) {
+            drained[j] = payloads[removed[j]];
+        }
+        HeapDrain.removePositions(entries, removed);
+        for (int payload : drained) {
+            sink.accept(payload);
+        }
+        return removed.length;
+    }
+
+    /**
+     * This heap's entries, for {@link HeapDrain}
+     */
+    private final HeapDrain.Entries entries = new HeapDrain.Entries() {
+        @Override
+        public int size() {
+            return n;
+        }
+
+        @Override
+        public int arityShift() {
+            return ARITY_SHIFT;
+        }
+
+        @Override
+        public int compareAt(int i, int j) {
+            return Long.compare(keys[i], keys[j]);
+        }
+
+        @Override
+        public void move(int from, int to) {
+            keys[to] = keys[from];
+            payloads[to] = payloads[from];
+        }
+
+        @Override
+        public void truncate(int size) {
+            n = size;
+        }
+
+        @Override
+        public void siftDown(int i) {
+            LongPayloadMinHeap.this.siftDown(i, keys[i], payloads[i]);
+        }
+    };
+
+    /**
+     * Returns the number of entries in the heap
+     *
+     * @return integer representing the number of entries in the heap
+     */
+    @Override
+    public int size() {
+        return n;
+    }
+
+    /**
+     * DO NOT MODIFY NOR IMPLEMENT THIS FUNCTION
+     *
+     * @param g graphics object to draw on
+     */
+    @Override
+    public void draw(Graphics g) {
+        //DO NOT MODIFY NOR IMPLEMENT THIS FUNCTION
+        if (g != null) g.getColor();
+    }
+}
@@ -3,7 +3,11 @@ package CommonUtils;
 import CommonUtils.Interfaces.MinHeapInterface;
 
 import java.awt.*;
-import java.util.Vector;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
 
 /**
  * Implements our MinHeapInterface and adds a constructor
@@ -13,96 +17,420 @@ import java.util.Vector;
  * Write your own implementation of a MinHeap.</b>
  *
  * @param <E> the type of object this heap will be holding
+ * @implNote Elements live in a plain <code>Object[]</code> that is grown explicitly, so no access takes a
+ * lock or goes through a virtual call.  Sifting is iterative and moves a hole instead of swapping: the
+ * element being placed is held aside while the elements it passes are shifted one level, and it is
+ * written once at its final index.
+ * <p>
+ * The heap is binary by default.  It can instead be built d-ary (4-ary, 8-ary, ...), which makes it
+ * shallower and keeps each node's children next to each other in the array: removeMin then visits
+ * fewer levels and touches fewer cache lines per level, at the price of more comparisons per level.
+ * <p>
+ * Elements are ordered by their natural ordering unless the heap is built with a comparator or a key
+ * extractor.  A key extractor is called once per element, when it is added; its key is then kept in a
+ * <code>long[]</code> parallel to the elements and moved along with them, so sifting compares primitives
+ * instead of calling back into the elements.
+ * <p>
+ * The heap does not give memory back on its own unless shrinking is turned on (see
+ * {@link #setShrinkOnLowOccupancy(boolean)}), or {@link #trimToSize()} is called.
  */
-public class MinHeap<E extends Comparable<E>> implements MinHeapInterface<E> {
-    private Vector<E> list;
+public class MinHeap<E> implements MinHeapInterface<E> {
+    /**
+     * Initial size of the backing array.
+     */
+    private final int INIT_CAPACITY = 16;
+    /**
+     * Determines how much to increase the array's capacity.
+     */
+    private final int INCREASE_FACTOR = 2;
+    /**
+     * Largest array length the VM reliably allows.
+     */
+    private final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+    /**
+     * Largest number of children per node.
+     */
+    private final int MAX_ARITY = 64;
+    /**
+     * If shrinking is turned on and fewer than capacity * SHRINK_FACTOR elements are left, the capacity is
+     * divided by INCREASE_FACTOR (never below the capacity the heap was constructed with).  A shrunk heap is
+     * at most half full, so it has to double before it grows again: a heap hovering around one size does
+     * not keep reallocating.
+     */
+    private final double SHRINK_FACTOR = 0.25;
+    /**
+     * Assumed size of an array's header and of one reference (compressed oops), for memoryFootprint().
+     */
+    private final int ARRAY_HEADER_BYTES = 16;
+    private final int REFERENCE_BYTES = 4;
+
+    private Object[] heap;
     int n;
 
     /**
-     * A recursive method to heapify (sort the root to where it should go) a
-     * subtree with the root at given index
-     * Assumes the subtrees are already heapified.
-     * (The purpose of this method is to balance tree starting at the root)
+     * Capacity the heap was constructed with; shrinking never goes below it
+     */
+    private int minCapacity;
+    private boolean shrinkOnLowOccupancy;
+
+    /**
+     * Key of the element at the same index of heap, or null unless the heap was built with a key extractor
+     */
+    private long[] keys;
+
+    /**
+     * log2 of the number of children per node
+     */
+    private final int arityShift;
+
+    /**
+     * Orders the elements, or null for their natural ordering
+     */
+    private final Comparator<? super E> comparator;
+
+    /**
+     * Computes the key that orders each element, or null if the elements are compared instead
+     */
+    private final ToLongFunction<? super E> keyExtractor;
+
+    /**
+     * Constructs an empty min heap
+     */
+    public MinHeap() {
+        this(2, null, null);
+        allocate(INIT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty min heap that can hold the given number of elements before it has to grow
      *
-     * @param i root of the subtree to heapify
+     * @param initialCapacity number of elements to make room for
+     * @throws IllegalArgumentException if initialCapacity is negative
      */
+    public MinHeap(int initialCapacity) {
+        this(initialCapacity, 2);
+    }
 
-    public void heapify(int i) {
+    /**
+     * Constructs an empty d-ary min heap: each node has up to arity children instead of two
+     *
+     * @param initialCapacity number of elements to make room for
+     * @param arity           number of children per node; a power of two from 2 to 64
+     * @throws IllegalArgumentException if initialCapacity is negative or arity is not allowed
+     */
+    public MinHeap(int initialCapacity, int arity) {
+        this(arity, null, null);
+        allocate(initialCapacity);
+    }
 
-        /* let the base case be when the node at i has no children */
+    /**
+     * Constructs an empty min heap ordered by the given comparator
+     *
+     * @param comparator orders the elements, or null for their natural ordering
+     */
+    public MinHeap(Comparator<? super E> comparator) {
+        this(2, comparator, null);
+        allocate(INIT_CAPACITY);
+    }
 
-        if ((leftChild(i) > n - 1) && (rightChild(i) > n - 1)) {
-            return;
+    /**
+     * Constructs an empty d-ary min heap ordered by the given comparator
+     *
+     * @param initialCapacity number of elements to make room for
+     * @param arity           number of children per node; a power of two from 2 to 64
+     * @param comparator      orders the elements, or null for their natural ordering
+     * @throws IllegalArgumentException if initialCapacity is negative or arity is not allowed
+     */
+    public MinHeap(int initialCapacity, int arity, Comparator<? super E> comparator) {
+        this(arity, comparator, null);
+        allocate(initialCapacity);
+    }
+
+    /**
+     * Constructs an empty min heap ordered by the key the given function computes for each element.  The
+     * function is called once per element, when it is added, so the key must not change while the element
+     * is in the heap.
+     *
+     * @param keyExtractor computes the key of an element; smaller keys come out first
+     * @throws NullPointerException if keyExtractor is null
+     */
+    public MinHeap(ToLongFunction<? super E> keyExtractor) {
+        this(2, null, keyExtractor);
+        if (keyExtractor == null) {
+            throw new NullPointerException();
+        }
+        allocate(INIT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty d-ary min heap ordered by the key the given function computes for each element,
+     * as by {@link #MinHeap(ToLongFunction)}
+     *
+     * @param initialCapacity number of elements to make room for
+     * @param arity           number of children per node; a power of two from 2 to 64
+     * @param keyExtractor    computes the key of an element; smaller keys come out first
+     * @throws IllegalArgumentException if initialCapacity is negative or arity is not allowed
+     * @throws NullPointerException     if keyExtractor is null
+     */
+    public MinHeap(int initialCapacity, int arity, ToLongFunction<? super E> keyExtractor) {
+        this(arity, null, keyExtractor);
+        if (keyExtractor == null) {
+            throw new NullPointerException();
+        }
+        allocate(initialCapacity);
+    }
+
+    /**
+     * Sets the arity and ordering; the public constructors then allocate the backing array(s)
+     */
+    private MinHeap(int arity, Comparator<? super E> comparator, ToLongFunction<? super E> keyExtractor) {
+        if (arity < 2 || arity > MAX_ARITY || Integer.bitCount(arity) != 1) {
+            throw new IllegalArgumentException();
         }
+        this.arityShift = Integer.numberOfTrailingZeros(arity);
+        this.comparator = comparator;
+        this.keyExtractor = keyExtractor;
+        n = 0;
+    }
 
-        heapify(leftChild(i));
-        heapify(rightChild(i));
+    /**
+     * Allocates the backing array(s) with room for the given number of elements
+     */
+    private void allocate(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException();
+        }
+        minCapacity = Math.max(initialCapacity, 1);
+        heap = new Object[minCapacity];
+        if (keyExtractor != null) {
+            keys = new long[minCapacity];
+        }
+    }
 
-        sinkDown(i);
+    /**
+     * Returns the number of children per node
+     *
+     * @return 2 for a binary heap, or the arity it was constructed with
+     */
+    public int arity() {
+        return 1 << arityShift;
     }
 
     /**
-     * Function to fix the heap by sinking down a node
-     * for use in remove and heapify
+     * Constructs a min heap holding the given elements, built in linear time
      *
-     * @param i index of the node to sink down
+     * @param items elements to hold
+     * @param <E>   the type of object the heap will be holding
+     * @return a new heap containing every item
+     * @throws NullPointerException if items or any of its elements is null
      */
-    private void sinkDown(int i) {
-        if (leftChild(i) >= n) { /* there are no children to sink down with */
+    @SafeVarargs
+    public static <E extends Comparable<E>> MinHeap<E> of(E... items) {
+        MinHeap<E> heap = new MinHeap<>(items.length);
+        Object[] copy = new Object[items.length];
+        for (int i = 0; i < items.length; i++) {
+            copy[i] = items[i];
+        }
+        heap.appendAll(copy);
+        return heap;
+    }
+
+    /**
+     * Constructs a min heap holding the elements of the given collection, built in linear time
+     *
+     * @param items elements to hold
+     * @param <E>   the type of object the heap will be holding
+     * @return a new heap containing every item
+     * @throws NullPointerException if items or any of its elements is null
+     */
+    public static <E extends Comparable<E>> MinHeap<E> of(Collection<? extends E> items) {
+        MinHeap<E> heap = new MinHeap<>(items.size());
+        heap.addAll(items);
+        return heap;
+    }
+
+    /**
+     * Heapifies (sorts every node to where it should go in) the subtree with the root at the given index.
+     * Works bottom-up, one level of the subtree at a time, so no subtree needs to be heapified beforehand.
+     *
+     * @param i root of the subtree to heapify
+     */
+    public void heapify(int i) {
+        if (i < 0 || i >= n) {
             return;
         }
 
-        /* check if right and left are valid */
+        /* find the deepest level of the subtree that has an internal node */
 
-        int minIndex = -1;
-        E minValue;
+        int lastParent = lastParent();
+        int first = i;
+        long last = i;
+        while (first <= lastParent) {
+            first = firstChild(first);
+            last = (last << arityShift) + arity();
+        }
 
-        /* get minimum child */
+        /* sift down every node of that level and the ones above it, deepest first */
 
-        minIndex = leftChild(i);
+        while (true) {
+            for (int j = (int) Math.min(last, n - 1); j >= first; j--) {
+                siftDown(j, elementAt(j), keyAt(j));
+            }
+            if (first == i) {
+                return;
+            }
+            first = getParent(first);
+            last = (last - arity()) >> arityShift;
+        }
+    }
 
-        if (rightChild(i) < n && list.get(minIndex).compareTo(list.get(rightChild(i))) > 0) {
-            minIndex = rightChild(i);
+    /**
+     * Places the item in the hole at the given index or below it, moving smaller children up as it goes
+     *
+     * @param hole index whose contents may be overwritten
+     * @param item element to place
+     * @param key  key of the item (ignored unless the heap has a key extractor)
+     */
+    private void siftDown(int hole, E item, long key) {
+        if (keys != null) {
+            siftDownByKey(hole, item, key);
+            return;
+        }
+        int lastParent = lastParent();
+        while (hole <= lastParent) {
+            int child = firstChild(hole);
+            int end = (int) Math.min((long) child + arity(), n);
+            E minChild = elementAt(child);
+            for (int sibling = child + 1; sibling < end; sibling++) {
+                E e = elementAt(sibling);
+                if (compare(minChild, e) > 0) {
+                    child = sibling;
+                    minChild = e;
+                }
+            }
+            if (compare(item, minChild) <= 0) {
+                break;
+            }
+            heap[hole] = minChild;
+            hole = child;
         }
+        heap[hole] = item;
+    }
 
-        if (list.get(i).compareTo(list.get(minIndex)) > 0) {
-            swap(i, minIndex);
-            sinkDown(minIndex);
+    /**
+     * siftDown for a heap with a key extractor: compares the cached keys only
+     */
+    private void siftDownByKey(int hole, E item, long key) {
+        int lastParent = lastParent();
+        while (hole <= lastParent) {
+            int child = firstChild(hole);
+            int end = (int) Math.min((long) child + arity(), n);
+            long minKey = keys[child];
+            for (int sibling = child + 1; sibling < end; sibling++) {
+                if (keys[sibling] < minKey) {
+                    child = sibling;
+                    minKey = keys[sibling];
+                }
+            }
+            if (key <= minKey) {
+                break;
+            }
+            heap[hole] = heap[child];
+            keys[hole] = minKey;
+            hole = child;
         }
+        heap[hole] = item;
+        keys[hole] = key;
     }
 
     /**
-     * Simple swap function to swap the elements at index i and j
+     * Places the item in the hole at the given index or above it, moving larger parents down as it goes
+     *
+     * @param hole index whose contents may be overwritten
+     * @param item element to place
+     * @param key  key of the item (ignored unless the heap has a key extractor)
      */
+    private void siftUp(int hole, E item, long key) {
+        if (keys != null) {
+            while (hole > 0) {
+                int parent = getParent(hole);
+                if (key >= keys[parent]) {
+                    break;
+                }
+                heap[hole] = heap[parent];
+                keys[hole] = keys[parent];
+                hole = parent;
+            }
+            keys[hole] = key;
+        } else {
+            while (hole > 0) {
+                int parent = getParent(hole);
+                E p = elementAt(parent);
+                if (compare(item, p) >= 0) {
+                    break;
+                }
+                heap[hole] = p;
+                hole = parent;
+            }
+        }
+        heap[hole] = item;
+    }
 
-    private void swap(int i, int j) {
-        if (i >= n || j >= n) {
-            return;
+    /**
+     * Compares two elements with the comparator, or by their natural ordering if there is none
+     *
+     * @throws ClassCastException if there is no comparator and the elements are not Comparable
+     */
+    @SuppressWarnings("unchecked")
+    private int compare(E a, E b) {
+        if (comparator != null) {
+            return comparator.compare(a, b);
         }
-        E one = list.get(i);
-        E two = list.get(j);
-        list.set(i, two);
-        list.set(j, one);
+        return ((Comparable<? super E>) a).compareTo(b);
     }
 
-    private int getParent(int i) {
-        return Math.floorDiv(i - 1, 2);
+    /**
+     * Compares the elements at two indices, by their cached keys if the heap has a key extractor
+     */
+    private int compareAt(int i, int j) {
+        if (keys != null) {
+            return Long.compare(keys[i], keys[j]);
+        }
+        return compare(elementAt(i), elementAt(j));
+    }
+
+    /**
+     * Computes the key of an item, or returns 0 if the heap has no key extractor
+     */
+    private long keyOf(E item) {
+        return keyExtractor == null ? 0 : keyExtractor.applyAsLong(item);
+    }
+
+    /**
+     * Returns the cached key at the index, or 0 if the heap has no key extractor
+     */
+    private long keyAt(int i) {
+        return keys == null ? 0 : keys[i];
+    }
+
+    @SuppressWarnings("unchecked")
+    private E elementAt(int i) {
+        return (E) heap[i];
     }
 
-    private int leftChild(int i) {
-        return 2 * i + 1;
+    private int getParent(int i) {
+        return (i - 1) >>> arityShift;
     }
 
-    private int rightChild(int i) {
-        return 2 * i + 2;
+    private int firstChild(int i) {
+        return (i << arityShift) + 1;
     }
 
     /**
-     * Constructs an empty min heap
+     * Returns the index of the last node that has children, or -1 if none does
      */
-    public MinHeap() {
-        this.list = new Vector<>();
-        n = 0;
+    private int lastParent() {
+        return n < 2 ? -1 : getParent(n - 1);
     }
 
     /**
@@ -117,13 +445,114 @@ public class MinHeap<E extends Comparable<E>> implements MinHeapInterface<E> {
             throw new NullPointerException();
         }
 
-        list.add(item);
-        int index = n;
+        long key = keyOf(item);
+        ensureRoom(1);
         n++;
+        siftUp(n - 1, item, key);
+    }
+
+    /**
+     * Adds every item to the min heap.  If the items are at least as many as the elements already held,
+     * the whole heap is rebuilt bottom-up in O(size) time; otherwise each item is sifted up as by
+     * {@link #add(Object)}.  If an item is null the heap is left unchanged.
+     *
+     * @param items items to add
+     * @throws NullPointerException if items or any of its elements is null
+     */
+    public void addAll(E[] items) {
+        appendAll(items);
+    }
+
+    /**
+     * Adds every element of the collection to the min heap, as by {@link #addAll(Object[])}
+     *
+     * @param items items to add
+     * @throws NullPointerException if items or any of its elements is null
+     */
+    public void addAll(Collection<? extends E> items) {
+        appendAll(items.toArray());
+    }
+
+    /**
+     * Copies the elements into the heap and restores the heap property, as by {@link #addAll(Object[])}.
+     * Takes an Object[] so that {@link #of(Comparable[])} can pass a copy of its varargs array, which
+     * itself never escapes.
+     *
+     * @param items items to add, each of which must be an E
+     * @throws NullPointerException if items or any of its elements is null
+     */
+    private void appendAll(Object[] items) {
+        for (Object item : items) {
+            if (item == null) {
+                throw new NullPointerException();
+            }
+        }
+        ensureRoom(items.length);
+        System.arraycopy(items, 0, heap, n, items.length);
+        restoreAfterAppend(items.length);
+    }
+
+    /**
+     * Grows the backing array, if necessary, so it can hold the given number of additional elements
+     */
+    private void ensureRoom(int additional) {
+        long needed = (long) n + additional;
+        if (needed > MAX_CAPACITY) {
+            throw new OutOfMemoryError();
+        }
+        if (needed > heap.length) {
+            long newCapacity = Math.max(needed, Math.min((long) heap.length * INCREASE_FACTOR, MAX_CAPACITY));
+            resize((int) newCapacity);
+        }
+    }
+
+    /**
+     * Copies the elements (and keys) into backing arrays of the given length, at least n
+     */
+    private void resize(int newCapacity) {
+        heap = Arrays.copyOf(heap, newCapacity);
+        if (keys != null) {
+            keys = Arrays.copyOf(keys, newCapacity);
+        }
+    }
+
+    /**
+     * Shrinks the backing arrays if shrinking is turned on and the heap is mostly empty (see SHRINK_FACTOR)
+     */
+    private void shrinkIfMostlyEmpty() {
+        if (!shrinkOnLowOccupancy) {
+            return;
+        }
+        int capacity = heap.length;
+        while (n < capacity * SHRINK_FACTOR && capacity / INCREASE_FACTOR >= minCapacity) {
+            capacity /= INCREASE_FACTOR;
+        }
+        if (capacity != heap.length) {
+            resize(capacity);
+        }
+    }
 
-        while (index > 0 && item.compareTo(list.get(getParent(index))) < 0) {
-            swap(index, getParent(index));
-            index = getParent(index);
+    /**
+     * Restores the heap order after <code>count</code> elements were copied in behind the first n
+     */
+    private void restoreAfterAppend(int count) {
+        if (keys != null) {
+            for (int i = n; i < n + count; i++) {
+                keys[i] = keyExtractor.applyAsLong(elementAt(i));
+            }
+        }
+        if (count >= n) {
+            n += count;
+            /* Floyd's build: sift down every internal node, last one first */
+            for (int i = lastParent(); i >= 0; i--) {
+                siftDown(i, elementAt(i), keyAt(i));
+            }
+        } else {
+            int end = n + count;
+            while (n < end) {
+                n++;
+                siftUp(n - 1, elementAt(n - 1), keyAt(n - 1));
+            }
         }
     }
 
@@ -132,12 +561,63 @@ public class MinHeap<E extends Comparable<E>> implements MinHeapInterface<E> {
      */
     @Override
     public void clear() {
-        for (int i = 0; i < list.size(); i++) {
-            list.set(i, null);
+        if (shrinkOnLowOccupancy && heap.length > minCapacity) {
+            heap = new Object[minCapacity];
+            if (keys != null) {
+                keys = new long[minCapacity];
+            }
+        } else {
+            Arrays.fill(heap, 0, n, null);
         }
         n = 0;
     }
 
+    /**
+     * Shrinks the backing array(s) to exactly the current number of elements (at least 1).  The next add
+     * grows them again.
+     */
+    public void trimToSize() {
+        int capacity = Math.max(n, 1);
+        if (capacity != heap.length) {
+            resize(capacity);
+        }
+    }
+
+    /**
+     * Turns shrinking on or off.  When on, removing elements until fewer than capacity * SHRINK_FACTOR
+     * remain divides the capacity by INCREASE_FACTOR (never below the constructed capacity), and clear
+     * goes back to the constructed capacity.
+     *
+     * @param shrink whether the heap should shrink when mostly empty
+     */
+    public void setShrinkOnLowOccupancy(boolean shrink) {
+        this.shrinkOnLowOccupancy = shrink;
+        shrinkIfMostlyEmpty();
+    }
+
+    /**
+     * Returns the length of the backing array
+     *
+     * @return number of elements the heap can hold before it has to grow
+     */
+    public int capacity() {
+        return heap.length;
+    }
+
+    /**
+     * Returns roughly how many bytes the backing array(s) take, assuming compressed references.  The
+     * elements themselves are not counted.
+     *
+     * @return approximate size of the heap's own arrays in bytes
+     */
+    public long memoryFootprint() {
+        long bytes = ARRAY_HEADER_BYTES + (long) heap.length * REFERENCE_BYTES;
+        if (keys != null) {
+            bytes += ARRAY_HEADER_BYTES + (long) keys.length * Long.BYTES;
+        }
+        return bytes;
+    }
+
     /**
      * Returns the minimum element without removing it, or returns <code>null</code> if heap is empty
      *
@@ -148,7 +628,7 @@ public class MinHeap<E extends Comparable<E>> implements MinHeapInterface<E> {
         if (n == 0) {
             return null;
         }
-        return list.get(0);
+        return elementAt(0);
     }
 
     /**
@@ -161,15 +641,104 @@ public class MinHeap<E extends Comparable<E>> implements MinHeapInterface<E> {
         if (n == 0) {
             return null;
         }
-        E item = list.get(0);
-        list.set(0, list.get(n - 1));
-        list.remove(n - 1);
+        E item = elementAt(0);
         n--;
-        sinkDown(0);
+        E last = elementAt(n);
+        heap[n] = null;
+        if (n > 0) {
+            siftDown(0, last, keyAt(n));
+        }
+        shrinkIfMostlyEmpty();
 
         return item;
     }
 
+    /**
+     * Removes every element that is at most the threshold (whose key is at most the threshold's key, if the
+     * heap has a key extractor) and hands them to the sink, smallest first.
+     * The heap is repaired before the sink sees any element, so the sink may use the heap.
+     * <p>
+     * Removing k elements this way costs O(k log k) to order them plus at most k sift-downs, usually short
+     * ones, instead of k full-depth sift-downs; if k is at least half the heap, the rest is rebuilt
+     * bottom-up in linear time instead.
+     *
+     * @param threshold largest element to remove
+     * @param sink      receives the removed elements
+     * @return number of elements removed
+     * @throws NullPointerException if threshold or sink is null
+     */
+    public int drainUpTo(E threshold, Consumer<? super E> sink) {
+        if (threshold == null || sink == null) {
+            throw new NullPointerException();
+        }
+        long thresholdKey = keyOf(threshold);
+        if (n == 0 || exceeds(0, threshold, thresholdKey)) {
+            return 0;
+        }
+
+        int[] removed = HeapDrain.walk(entries, i -> exceeds(i, threshold, thresholdKey));
+        Object[] drained = new Object[removed.length];
+        for (int j = 0; j < removed.length; j++) {
+            drained[j] = heap[removed[j]];
+        }
+        HeapDrain.removePositions(entries, removed);
+        shrinkIfMostlyEmpty();
+        for (Object item : drained) {
+            @SuppressWarnings("unchecked") E e = (E) item;
+            sink.accept(e);
+        }
+        return removed.length;
+    }
+
+    /**
+     * Returns whether the element at the index is larger than the threshold (whose key is given)
+     */
+    private boolean exceeds(int i, E threshold, long thresholdKey) {
+        if (keys != null) {
+            return keys[i] > thresholdKey;
+        }
+        return compare(elementAt(i), threshold) > 0;
+    }
+
+    /**
+     * This heap's elements, for {@link HeapDrain}
+     */
+    private final HeapDrain.Entries entries = new HeapDrain.Entries() {
+        @Override
+        public int size() {
+            return n;
+        }
+
+        @Override
+        public int arityShift() {
+            return arityShift;
+        }
+
+        @Override
+        public int compareAt(int i, int j) {
+            return MinHeap.this.compareAt(i, j);
+        }
+
+        @Override
+        public void move(int from, int to) {
+            if (keys != null) {
+                keys[to] = keys[from];
+            }
+            heap[to] = heap[from];
+        }
+
+        @Override
+        public void truncate(int size) {
+            Arrays.fill(heap, size, n, null);
+            n = size;
+        }
+
+        @Override
+        public void siftDown(int i) {
+            MinHeap.this.siftDown(i, elementAt(i), keyAt(i));
+        }
+    };
+
     /**
      * Returns the number of elements in the heap
      *
@@ -0,0 +1,378 @@
+package CommonUtils;
+
+import CommonUtils.Interfaces.BetterQueueInterface;
+
+import java.awt.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Implements our {@link BetterQueueInterface} as a bounded queue that any number of producer and consumer
+ * threads can share, for example player-session threads submitting requests to several drones.
+ * <p>
+ * offer and poll never wait: they fail when the queue is full or empty.  put and take wait for room or
+ * for an element by parking the thread (never by spinning), and can be interrupted; add waits like put
+ * but cannot be interrupted, and remove fails like poll.  The capacity is fixed.  peek, size and
+ * isEmpty do not lock, so under concurrent use they describe a moment that may already have passed.
+ * addAll and drainTo are not atomic: other threads' elements may be interleaved with a batch.
+ *
+ * @param <E> the type of object this queue will be holding
+ * @implNote This is Dmitry Vyukov's bounded MPMC queue.  Each slot of the power-of-two ring has a
+ * sequence number that says whose turn it is: slot i is free for the producer that claims position p
+ * (p &amp; mask == i) when its sequence is p, and holds that producer's element once its sequence is
+ * p + 1; the consumer that claims p hands it back to the producer of p + capacity by setting its sequence
+ * to that.  Producers claim positions by a CAS on <code>tail</code> and consumers by a CAS on
+ * <code>head</code>, so neither side ever takes a lock, and a producer and a consumer only meet on
+ * the slot they share.  The counters sit 128 bytes apart.
+ * <p>
+ * Threads that have to wait park on a {@link Condition} of a {@link ReentrantLock} (not a monitor, so
+ * a waiting virtual thread would not pin its carrier), and only the slow path takes that lock: a
+ * successful offer or poll looks at a count of waiting threads and signals only if it is not zero.
+ * Sequence numbers are published with volatile writes (not lazy sets) so that this check cannot be
+ * reordered before the publication, which could otherwise let a waiter miss its wakeup.
+ */
+public class MpmcBetterQueue<E> implements BetterQueueInterface<E> {
+    /**
+     * Largest power of two an array can hold.
+     */
+    private final int MAX_CAPACITY = 1 << 30;
+    /**
+     * Distance, in longs, between two counters that must not share a cache line.
+     */
+    private static final int PAD = 16;
+    /**
+     * Indices of the counters in <code>positions</code>
+     */
+    private static final int TAIL = PAD, HEAD = 2 * PAD;
+
+    private final Object[] ring;
+    private final AtomicLongArray sequences;
+    private final int mask;
+
+    /**
+     * tail, the next position to produce, and head, the next position to consume
+     */
+    private final AtomicLongArray positions = new AtomicLongArray(3 * PAD);
+
+    /**
+     * Slow path for put and take (according to the implementation note in the class header comment)
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final AtomicInteger waitingTakers = new AtomicInteger();
+    private final AtomicInteger waitingPutters = new AtomicInteger();
+
+    /**
+     * Constructs an empty queue that holds up to the given number of elements, rounded up to a power of two
+     *
+     * @param capacity number of elements the queue can hold
+     * @throws IllegalArgumentException if capacity is not positive or larger than 2^30
+     */
+    public MpmcBetterQueue(int capacity) {
+        if (capacity < 1 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException();
+        }
+        int length = Math.max(Hashing.powerOfTwoAtLeast(capacity), 2);
+        ring = new Object[length];
+        sequences = new AtomicLongArray(length);
+        for (int i = 0; i < length; i++) {
+            sequences.set(i, i);
+        }
+        mask = length - 1;
+    }
+
+    /**
+     * Returns the number of elements the queue can hold
+     *
+     * @return capacity of the ring
+     */
+    public int capacity() {
+        return ring.length;
+    }
+
+    /**
+     * Adds the item to the back of the queue if there is room, without waiting
+     *
+     * @param item item to add
+     * @return true if the item was added, false if the queue was full
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean offer(E item) {
+        if (item == null) {
+            throw new NullPointerException();
+        }
+        long tail = positions.get(TAIL);
+        while (true) {
+            int index = (int) tail & mask;
+            long difference = sequences.get(index) - tail;
+            if (difference == 0) {
+                if (positions.compareAndSet(TAIL, tail, tail + 1)) {
+                    ring[index] = item;
+                    sequences.set(index, tail + 1);
+                    if (waitingTakers.get() > 0) {
+                        signal(notEmpty);
+                    }
+                    return true;
+                }
+                tail = positions.get(TAIL);
+            } else if (difference < 0) {
+                /* the slot still holds the element from one lap ago */
+                return false;
+            } else {
+                /* another producer claimed this position first */
+                tail = positions.get(TAIL);
+            }
+        }
+    }
+
+    /**
+     * Removes and returns the front of the queue, without waiting
+     *
+     * @return the head of the queue, or <code>null</code> if this queue is empty
+     */
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        long head = positions.get(HEAD);
+        while (true) {
+            int index = (int) head & mask;
+            long difference = sequences.get(index) - (head + 1);
+            if (difference == 0) {
+                if (positions.compareAndSet(HEAD, head, head + 1)) {
+                    E item = (E) ring[index];
+                    ring[index] = null;
+                    sequences.set(index, head + ring.length);
+                    if (waitingPutters.get() > 0) {
+                        signal(notFull);
+                    }
+                    return item;
+                }
+                head = positions.get(HEAD);
+            } else if (difference < 0) {
+                /* the producer of this position has not finished (or claimed) it yet */
+                return null;
+            } else {
+                /* another consumer claimed this position first */
+                head = positions.get(HEAD);
+            }
+        }
+    }
+
+    /**
+     * Wakes one thread waiting on the condition
+     */
+    private void signal(Condition condition) {
+        lock.lock();
+        try {
+            condition.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds the item to the back of the queue, parking until there is room
+     *
+     * @param item item to add
+     * @throws NullPointerException if the specified element is null
+     * @throws InterruptedException if the thread is interrupted while waiting (the item is not added)
+     */
+    public void put(E item) throws InterruptedException {
+        if (offer(item)) {
+            return;
+        }
+        lock.lockInterruptibly();
+        waitingPutters.incrementAndGet();
+        try {
+            while (!offer(item)) {
+                notFull.await();
+            }
+        } finally {
+            waitingPutters.decrementAndGet();
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes and returns the front of the queue, parking until there is one
+     *
+     * @return the head of the queue
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public E take() throws InterruptedException {
+        E item = poll();
+        if (item != null) {
+            return item;
+        }
+        lock.lockInterruptibly();
+        waitingTakers.incrementAndGet();
+        try {
+            while ((item = poll()) == null) {
+                notEmpty.await();
+            }
+            return item;
+        } finally {
+            waitingTakers.decrementAndGet();
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Add an item to the back of the queue, parking until there is room.  Unlike put, waiting cannot be
+     * interrupted (the thread's interrupt status is kept).
+     *
+     * @param item item to push
+     * @throws NullPointerException if the specified element is null
+     */
+    @Override
+    public void add(E item) {
+        if (offer(item)) {
+            return;
+        }
+        lock.lock();
+        waitingPutters.incrementAndGet();
+        try {
+            while (!offer(item)) {
+                notFull.awaitUninterruptibly();
+            }
+        } finally {
+            waitingPutters.decrementAndGet();
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds len items from src, starting at src[off], to the back of the queue in order, as by add.  If an
+     * item is null the queue is left unchanged.
+     *
+     * @param src array holding the items to add
+     * @param off index of the first item to add
+     * @param len number of items to add
+     * @throws NullPointerException      if src or any of the items is null
+     * @throws IndexOutOfBoundsException if off or len is negative, or off + len is larger than src.length
+     */
+    @Override
+    public void addAll(E[] src, int off, int len) {
+        if (off < 0 || len < 0 || off > src.length - len) {
+            throw new IndexOutOfBoundsException();
+        }
+        for (int i = off; i < off + len; i++) {
+            if (src[i] == null) {
+                throw new NullPointerException();
+            }
+        }
+        for (int i = off; i < off + len; i++) {
+            add(src[i]);
+        }
+    }
+
+    /**
+     * Returns the front of the queue (does not remove it) or <code>null</code> if the queue is empty.
+     * Another consumer may remove it before this returns.
+     *
+     * @return front of the queue or <code>null</code> if the queue is empty
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E peek() {
+        while (true) {
+            long head = positions.get(HEAD);
+            int index = (int) head & mask;
+            if (sequences.get(index) != head + 1) {
+                return null;
+            }
+            E item = (E) ring[index];
+            if (item != null && positions.get(HEAD) == head) {
+                return item;
+            }
+        }
+    }
+
+    /**
+     * Returns and removes the front of the queue, as by poll
+     *
+     * @return the head of the queue, or <code>null</code> if this queue is empty
+     */
+    @Override
+    public E remove() {
+        return poll();
+    }
+
+    /**
+     * Removes up to max items from the front of the queue, as by poll, and stores them in order at the
+     * start of dst
+     *
+     * @param dst array to store the removed items in; no more than its length are removed
+     * @param max largest number of items to remove
+     * @return number of items removed
+     * @throws NullPointerException     if dst is null
+     * @throws IllegalArgumentException if max is negative
+     */
+    @Override
+    public int drainTo(E[] dst, int max) {
+        if (max < 0) {
+            throw new IllegalArgumentException();
+        }
+        int limit = Math.min(max, dst.length);
+        int count = 0;
+        E item;
+        while (count < limit && (item = poll()) != null) {
+            dst[count++] = item;
+        }
+        return count;
+    }
+
+    /**
+     * Checks that the queue can hold the given number of items.  The capacity is fixed when the queue is
+     * constructed, so this never grows it; instead it rejects a size that would leave add waiting for a
+     * consumer to make room (forever, if the caller is the only thread using the queue).
+     *
+     * @param expectedSize number of items the queue is expected to hold
+     * @throws IllegalArgumentException if expectedSize is larger than {@link #capacity()}
+     */
+    @Override
+    public void ensureCapacity(int expectedSize) {
+        if (expectedSize > ring.length) {
+            throw new IllegalArgumentException();
+        }
+    }
+
+    /**
+     * Returns the number of elements in the queue, counting those still being added or removed
+     *
+     * @return integer representing the number of elements in the queue
+     */
+    @Override
+    public int size() {
+        while (true) {
+            long head = positions.get(HEAD);
+            long tail = positions.get(TAIL);
+            if (positions.get(HEAD) == head) {
+                return (int) Math.max(0, Math.min(tail - head, ring.length));
+            }
+        }
+    }
+
+    /**
+     * Returns whether the queue is empty
+     *
+     * @return true if the queue is empty, false otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * DO NOT MODIFY NOR IMPLEMENT THIS FUNCTION
+     *
+     * @param g graphics object to draw on
+     */
+    @Override
+    public void draw(Graphics g) {
+        //DO NOT MODIFY NOR IMPLEMENT THIS FUNCTION
+        if (g != null) g.getColor();
+    }
+}
@@ -0,0 +1,306 @@
+package CommonUtils;
+
+import CommonUtils.Interfaces.LongPayloadMinHeapInterface;
+
+import java.awt.*;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Implements our LongPayloadMinHeapInterface for monotone priorities: no entry may be added with a
+ * priority smaller than the last one removed.  Event queues whose events are never scheduled in the past
+ * (like the sword manager's cleanings, keyed by {@link LongPayloadMinHeap#pack(int, int)}) satisfy this,
+ * and in exchange every operation runs in amortized O(1) time: an entry is moved between buckets at most
+ * 64 times over its whole life, and in practice only a few times.
+ * <p>
+ * Clearing the heap forgets the last removed priority, so any priority may be added again.
+ *
+ * @implNote This is a radix heap.  Bucket 0 holds the entries whose priority equals the last removed one
+ * (<code>last</code>); bucket i &gt; 0 holds those whose highest bit differing from <code>last</code> is bit
+ * i - 1.  Every entry in bucket i is therefore smaller than every entry in bucket i + 1.  When bucket 0
+ * runs out, the smallest entry of the first non-empty bucket becomes <code>last</code>, and the rest of
+ * that bucket is redistributed into strictly lower buckets.  Peeking does not redistribute (an entry
+ * smaller than the peeked one may still be added), so while bucket 0 is empty the position of the
+ * smallest entry is cached instead; adding only ever appends, so the cached position stays valid until
+ * the next removal.  Comparing with <code>key ^ last</code> is the same for signed priorities as for
+ * unsigned ones once both have their sign bit flipped, so negative priorities work too.
+ */
+public class RadixHeap implements LongPayloadMinHeapInterface {
+    /**
+     * Initial size of a bucket's arrays.
+     */
+    private final int INIT_CAPACITY = 16;
+    /**
+     * Determines how much to increase a bucket's capacity.
+     */
+    private final int INCREASE_FACTOR = 2;
+    /**
+     * Largest array length the VM reliably allows.
+     */
+    private final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+    /**
+     * One bucket for "equal to last" and one for each bit of a long.
+     */
+    private final int BUCKETS = 65;
+
+    /**
+     * Parallel arrays per bucket (according to the implementation note in the class header comment).
+     * Bucket arrays are allocated the first time an entry lands in them.
+     */
+    private final long[][] bucketKeys = new long[BUCKETS][];
+    private final int[][] bucketPayloads = new int[BUCKETS][];
+    private final int[] bucketSizes = new int[BUCKETS];
+
+    private long last;
+    int n;
+
+    /**
+     * Bucket and index of the smallest entry while bucket 0 is empty, or -1 if not known
+     */
+    private int minBucket = -1;
+    private int minIndex;
+
+    /**
+     * Constructs an empty radix heap
+     */
+    public RadixHeap() {
+        last = Long.MIN_VALUE;
+        n = 0;
+    }
+
+    /**
+     * Returns the bucket the priority belongs in, relative to the last removed priority
+     */
+    private int bucketOf(long key) {
+        return key == last ? 0 : 64 - Long.numberOfLeadingZeros(key ^ last);
+    }
+
+    /**
+     * Appends the entry to the given bucket, growing it if necessary
+     */
+    private void push(int bucket, long key, int payload) {
+        int size = bucketSizes[bucket];
+        long[] keys = bucketKeys[bucket];
+        if (keys == null) {
+            bucketKeys[bucket] = keys = new long[INIT_CAPACITY];
+            bucketPayloads[bucket] = new int[INIT_CAPACITY];
+        } else if (size == keys.length) {
+            if (size >= MAX_CAPACITY) {
+                throw new OutOfMemoryError();
+            }
+            int newCapacity = (int) Math.min((long) size * INCREASE_FACTOR, MAX_CAPACITY);
+            bucketKeys[bucket] = keys = Arrays.copyOf(keys, newCapacity);
+            bucketPayloads[bucket] = Arrays.copyOf(bucketPayloads[bucket], newCapacity);
+        }
+        keys[size] = key;
+        bucketPayloads[bucket][size] = payload;
+        bucketSizes[bucket] = size + 1;
+    }
+
+    /**
+     * Finds the smallest entry when bucket 0 is empty and the heap is not: it is the smallest entry of
+     * the first non-empty bucket
+     */
+    private void findMin() {
+        if (minBucket != -1) {
+            return;
+        }
+        int bucket = 1;
+        while (bucketSizes[bucket] == 0) {
+            bucket++;
+        }
+        long[] keys = bucketKeys[bucket];
+        int min = 0;
+        for (int i = 1; i < bucketSizes[bucket]; i++) {
+            if (keys[i] < keys[min]) {
+                min = i;
+            }
+        }
+        minBucket = bucket;
+        minIndex = min;
+    }
+
+    /**
+     * Makes sure bucket 0 holds the minimum entries, if the heap is not empty
+     */
+    private void refill() {
+        if (bucketSizes[0] > 0 || n == 0) {
+            return;
+        }
+        findMin();
+        int bucket = minBucket;
+        long[] keys = bucketKeys[bucket];
+        int[] payloads = bucketPayloads[bucket];
+        int size = bucketSizes[bucket];
+
+        /* every entry moves to a strictly lower bucket, so this bucket is never appended to here */
+
+        last = keys[minIndex];
+        minBucket = -1;
+        bucketSizes[bucket] = 0;
+        for (int i = 0; i < size; i++) {
+            push(bucketOf(keys[i]), keys[i], payloads[i]);
+        }
+    }
+
+    /**
+     * Appends a new entry and keeps the cached position of the smallest entry up to date.  Entries equal
+     * to <code>last</code> go to bucket 0, which is always looked at before the cache.
+     */
+    private void addEntry(long key, int payload) {
+        int bucket = bucketOf(key);
+        push(bucket, key, payload);
+        if (bucket != 0 && minBucket != -1 && key < bucketKeys[minBucket][minIndex]) {
+            minBucket = bucket;
+            minIndex = bucketSizes[bucket] - 1;
+        }
+        n++;
+    }
+
+    /**
+     * Adds the entry to the heap
+     *
+     * @param key     priority of the entry, at least the last removed priority
+     * @param payload value carried by the entry
+     * @throws IllegalArgumentException if key is smaller than the last removed priority
+     */
+    @Override
+    public void add(long key, int payload) {
+        if (key < last) {
+            throw new IllegalArgumentException();
+        }
+        addEntry(key, payload);
+    }
+
+    /**
+     * Adds every entry to the heap, as by add
+     *
+     * @param keys     priorities of the entries, each at least the last removed priority
+     * @param payloads values carried by the entries
+     * @throws IllegalArgumentException if the arrays differ in length, or a key is smaller than the last
+     *                                  removed priority (in which case no entry is added)
+     */
+    @Override
+    public void addAll(long[] keys, int[] payloads) {
+        if (keys.length != payloads.length) {
+            throw new IllegalArgumentException();
+        }
+        for (long key : keys) {
+            if (key < last) {
+                throw new IllegalArgumentException();
+            }
+        }
+        for (int i = 0; i < keys.length; i++) {
+            addEntry(keys[i], payloads[i]);
+        }
+    }
+
+    /**
+     * Empties the heap, and forgets the last removed priority.
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(bucketSizes, 0);
+        last = Long.MIN_VALUE;
+        minBucket = -1;
+        n = 0;
+    }
+
+    /**
+     * Returns the smallest priority without removing its entry
+     *
+     * @return the minimum priority in the heap, or {@link #EMPTY_KEY} if heap is empty
+     */
+    @Override
+    public long peekMinKey() {
+        if (n == 0) {
+            return EMPTY_KEY;
+        }
+        if (bucketSizes[0] > 0) {
+            return last;
+        }
+        findMin();
+        return bucketKeys[minBucket][minIndex];
+    }
+
+    /**
+     * Returns the payload of an entry with the smallest priority without removing it
+     *
+     * @return its payload, or {@link #NOT_FOUND} if heap is empty
+     */
+    @Override
+    public int peekMinPayload() {
+        if (n == 0) {
+            return NOT_FOUND;
+        }
+        if (bucketSizes[0] > 0) {
+            return bucketPayloads[0][bucketSizes[0] - 1];
+        }
+        findMin();
+        return bucketPayloads[minBucket][minIndex];
+    }
+
+    /**
+     * Removes an entry with the smallest priority and returns its payload
+     *
+     * @return its payload, or {@link #NOT_FOUND} if heap is empty
+     */
+    @Override
+    public int removeMin() {
+        if (n == 0) {
+            return NOT_FOUND;
+        }
+        refill();
+        n--;
+        return bucketPayloads[0][--bucketSizes[0]];
+    }
+
+    /**
+     * Removes every entry whose priority is at most the threshold, smallest first, handing each payload
+     * to the sink.  The whole batch is removed before the sink sees any payload, so the sink may use the
+     * heap (though, as for add, not to add an entry smaller than the last one removed).
+     *
+     * @param threshold largest priority to remove
+     * @param sink      receives the payloads
+     * @return number of entries removed
+     */
+    @Override
+    public int drainUpTo(long threshold, IntConsumer sink) {
+        if (n == 0 || peekMinKey() > threshold) {
+            return 0;
+        }
+        int[] drained = new int[16];
+        int k = 0;
+        while (n > 0 && peekMinKey() <= threshold) {
+            if (k == drained.length) {
+                drained = Arrays.copyOf(drained, k * INCREASE_FACTOR);
+            }
+            drained[k++] = removeMin();
+        }
+        for (int j = 0; j < k; j++) {
+            sink.accept(drained[j]);
+        }
+        return k;
+    }
+
+    /**
+     * Returns the number of entries in the heap
+     *
+     * @return integer representing the number of entries in the heap
+     */
+    @Override
+    public int size() {
+        return n;
+    }
+
+    /**
+     * DO NOT MODIFY NOR IMPLEMENT THIS FUNCTION
+     *
+     * @param g graphics object to draw on
+     */
+    @Override
+    public void draw(Graphics g) {
+        //DO NOT MODIFY NOR IMPLEMENT THIS FUNCTION
+        if (g != null) g.getColor();
+    }
+}
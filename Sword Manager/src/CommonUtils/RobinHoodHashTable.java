@@ -0,0 +1,622 @@
+package CommonUtils;
+
+import CommonUtils.Interfaces.BetterHashTableInterface;
+import CommonUtils.Interfaces.HashTableCursor;
+
+import java.awt.*;
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Implements our {@link BetterHashTableInterface} with Robin Hood hashing.
+ *
+ * @param <K> Type of key the hash table is holding
+ * @param <V> Type of value the hash table is holding
+ * @implNote Linear probing over power-of-two parallel arrays.  On insert, an entry that has travelled
+ * further from its home slot than the resident of a slot takes that slot and the resident moves on,
+ * which keeps probe lengths short and even at high load.  Removal shifts the following entries back
+ * one slot instead of leaving deleted markers behind.
+ */
+public class RobinHoodHashTable<K, V> implements BetterHashTableInterface<K, V> {
+    /**
+     * Initial size of hash table.
+     */
+    private final int INIT_CAPACITY = 32;
+    /**
+     * Determines the maximum ratio of number of elements to array size.
+     * <p>
+     * Robin Hood probing keeps the variance of probe lengths low enough to run much fuller
+     * than quadratic probing can.
+     */
+    private final double LOAD_FACTOR = 0.9;
+    /**
+     * Determines how much to increase the array's capacity.
+     */
+    private final int INCREASE_FACTOR = 2;
+
+    int size;
+    int capacity;
+    int mask;
+
+    /**
+     * Parallel arrays to store entries.  A stored hash of 0 marks an empty slot, so hashes
+     * that mix to 0 are stored with only their top bit set (see {@link #hash(Object)}).
+     */
+    int[] hashes;
+    Object[] keys;
+    Object[] values;
+
+    /**
+     * Constructs the hash table with a default size
+     */
+    public RobinHoodHashTable() {
+        allocate(INIT_CAPACITY);
+    }
+
+    /**
+     * Constructor that initializes the hash table with an initial capacity
+     *
+     * @param initialCapacity initial table capacity, rounded up to a power of two
+     * @throws IllegalArgumentException if the initial capacity is negative
+     */
+    public RobinHoodHashTable(int initialCapacity) throws IllegalArgumentException {
+        if (initialCapacity < 0) throw new IllegalArgumentException();
+
+        allocate(Math.max(2, Hashing.powerOfTwoAtLeast(initialCapacity)));
+    }
+
+    private void allocate(int newCapacity) {
+        hashes = new int[newCapacity];
+        keys = new Object[newCapacity];
+        values = new Object[newCapacity];
+        capacity = newCapacity;
+        mask = newCapacity - 1;
+        size = 0;
+    }
+
+    /**
+     * Returns the non-zero hash stored for the given key
+     *
+     * @param key key to hash
+     * @return mixed hash, never 0
+     */
+    private int hash(K key) {
+        int h = Hashing.mix(key.hashCode());
+        return h == 0 ? Integer.MIN_VALUE : h;
+    }
+
+    /**
+     * Returns how far the entry at the given index is from its home slot
+     *
+     * @param index occupied slot
+     * @return probe distance (0 if the entry is in its home slot)
+     */
+    private int distance(int index) {
+        return (index - (hashes[index] & mask)) & mask;
+    }
+
+    /**
+     * Walks the probe sequence for the given key exactly once.
+     *
+     * @param key  key to look for
+     * @param hash hash of the key
+     * @return the index of the key if it is in the table.  Otherwise -(slot + 1), where slot is where the
+     * key would be placed (an empty slot, or one whose resident is closer to home than the key would be).
+     */
+    private int findSlot(Object key, int hash) {
+        int index = hash & mask;
+        int dist = 0;
+
+        while (true) {
+            int h = hashes[index];
+            if (h == 0 || distance(index) < dist) {
+                return -(index + 1);
+            }
+            if (h == hash && keys[index].equals(key)) {
+                return index;
+            }
+            index = (index + 1) & mask;
+            dist++;
+        }
+    }
+
+    /**
+     * Stores a key known not to be in the table, growing the table first if necessary
+     *
+     * @param key   key to store
+     * @param hash  hash of the key
+     * @param slot  result of {@link #findSlot} for the key
+     * @param value value to store
+     */
+    private void addNew(K key, int hash, int slot, V value) {
+        if (size + 1 > capacity * LOAD_FACTOR) {
+            if (capacity >= Hashing.MAX_POWER_OF_TWO) {
+                if (size == capacity) {
+                    throw new OutOfMemoryError();
+                }
+            } else {
+                rehash(capacity * INCREASE_FACTOR);
+                slot = findSlot(key, hash);
+            }
+        }
+        placeAt(-(slot + 1), hash, key, value);
+        size++;
+    }
+
+    /**
+     * Places an entry starting at the given slot, displacing residents that are closer to their home
+     * slot than the entry being carried until an empty slot is reached.
+     *
+     * @param index first slot to try
+     * @param hash  hash of the key
+     * @param key   key to place
+     * @param value value to place
+     */
+    private void placeAt(int index, int hash, Object key, Object value) {
+        int dist = (index - (hash & mask)) & mask;
+
+        while (true) {
+            if (hashes[index] == 0) {
+                hashes[index] = hash;
+                keys[index] = key;
+                values[index] = value;
+                return;
+            }
+
+            int residentDist = distance(index);
+            if (residentDist < dist) {
+                int h = hashes[index];
+                Object k = keys[index];
+                Object v = values[index];
+                hashes[index] = hash;
+                keys[index] = key;
+                values[index] = value;
+                hash = h;
+                key = k;
+                value = v;
+                dist = residentDist;
+            }
+            index = (index + 1) & mask;
+            dist++;
+        }
+    }
+
+    /**
+     * Removes the entry at the given index by shifting the entries after it back one slot
+     *
+     * @param index occupied slot
+     */
+    private void removeAt(int index) {
+        int next = (index + 1) & mask;
+        while (hashes[next] != 0 && distance(next) > 0) {
+            hashes[index] = hashes[next];
+            keys[index] = keys[next];
+            values[index] = values[next];
+            index = next;
+            next = (next + 1) & mask;
+        }
+        hashes[index] = 0;
+        keys[index] = null;
+        values[index] = null;
+        size--;
+    }
+
+    /**
+     * Rebuilds the table at the given capacity
+     *
+     * @param newCapacity power of two capacity
+     */
+    private void rehash(int newCapacity) {
+        int[] oldHashes = hashes;
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        int oldSize = size;
+
+        allocate(newCapacity);
+
+        for (int i = 0; i < oldHashes.length; i++) {
+            if (oldHashes[i] != 0) {
+                placeAt(oldHashes[i] & mask, oldHashes[i], oldKeys[i], oldValues[i]);
+            }
+        }
+        size = oldSize;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V valueAt(int index) {
+        return (V) values[index];
+    }
+
+    /**
+     * Places the item in the hash table. Passing key=null will not change the state of the table.
+     * Passing a key already in the table will modify the original entry in the table.
+     *
+     * @param key   key to associate with the value
+     * @param value item to store in the hash table
+     */
+    @Override
+    public void insert(K key, V value) {
+        if (key == null) {
+            return;
+        }
+
+        int hash = hash(key);
+        int slot = findSlot(key, hash);
+        if (slot >= 0) {
+            values[slot] = value;
+            return;
+        }
+        addNew(key, hash, slot, value);
+    }
+
+    /**
+     * Associates the value with the key only if the key is not already mapped to a non-null value.
+     * Passing key=null will not change the state of the table.
+     *
+     * @param key   key to associate with the value
+     * @param value item to store in the hash table
+     * @return the previous value associated with the key, or <code>null</code> if there was none
+     */
+    @Override
+    public V putIfAbsent(K key, V value) {
+        if (key == null) {
+            return null;
+        }
+
+        int hash = hash(key);
+        int slot = findSlot(key, hash);
+        if (slot >= 0) {
+            V old = valueAt(slot);
+            if (old == null) {
+                values[slot] = value;
+            }
+            return old;
+        }
+        addNew(key, hash, slot, value);
+        return null;
+    }
+
+    /**
+     * If the key is not already mapped to a non-null value, computes one with the given function and
+     * stores it unless it is <code>null</code>.  The function must not modify this table.
+     *
+     * @param key             key to look up
+     * @param mappingFunction function computing a value from the key
+     * @return the current (existing or computed) value associated with the key, or <code>null</code>
+     */
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        if (key == null) {
+            return null;
+        }
+
+        int hash = hash(key);
+        int slot = findSlot(key, hash);
+        if (slot >= 0 && values[slot] != null) {
+            return valueAt(slot);
+        }
+
+        V value = mappingFunction.apply(key);
+        if (value == null) {
+            return null;
+        }
+        if (slot >= 0) {
+            values[slot] = value;
+        } else {
+            addNew(key, hash, slot, value);
+        }
+        return value;
+    }
+
+    /**
+     * Computes a new value for the key from its current value (<code>null</code> if absent).  If the new
+     * value is <code>null</code> the mapping is removed.  The function must not modify this table.
+     *
+     * @param key               key to look up
+     * @param remappingFunction function computing the new value from the key and its current value
+     * @return the new value associated with the key, or <code>null</code> if there is none
+     */
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        if (key == null) {
+            return null;
+        }
+
+        int hash = hash(key);
+        int slot = findSlot(key, hash);
+        V old = slot >= 0 ? valueAt(slot) : null;
+
+        V value = remappingFunction.apply(key, old);
+        store(key, hash, slot, value);
+        return value;
+    }
+
+    /**
+     * Associates the value with the key if it is absent or mapped to <code>null</code>, otherwise replaces
+     * the current value with the result of the function (removing the mapping if that is <code>null</code>).
+     * The function must not modify this table.
+     *
+     * @param key               key to look up
+     * @param value             value to use if the key is absent
+     * @param remappingFunction function combining the current value and the given value
+     * @return the new value associated with the key, or <code>null</code> if there is none
+     * @throws NullPointerException if the value is null
+     */
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        if (value == null) {
+            throw new NullPointerException();
+        }
+        if (key == null) {
+            return null;
+        }
+
+        int hash = hash(key);
+        int slot = findSlot(key, hash);
+        V old = slot >= 0 ? valueAt(slot) : null;
+
+        V merged = old == null ? value : remappingFunction.apply(old, value);
+        store(key, hash, slot, merged);
+        return merged;
+    }
+
+    /**
+     * Writes the result of a compute/merge back to the slot found for the key
+     *
+     * @param key   key being updated
+     * @param hash  hash of the key
+     * @param slot  result of {@link #findSlot} for the key
+     * @param value new value, or <code>null</code> to remove the mapping
+     */
+    private void store(K key, int hash, int slot, V value) {
+        if (value == null) {
+            if (slot >= 0) {
+                removeAt(slot);
+            }
+        } else if (slot >= 0) {
+            values[slot] = value;
+        } else {
+            addNew(key, hash, slot, value);
+        }
+    }
+
+    /**
+     * Removes the key, value pair associated with the given key
+     *
+     * @param key key/value to remove
+     */
+    @Override
+    public void remove(K key) {
+        if (key == null) {
+            return;
+        }
+
+        int slot = findSlot(key, hash(key));
+        if (slot >= 0) {
+            removeAt(slot);
+        }
+    }
+
+    /**
+     * Retrieves a value based on the given key
+     *
+     * @param key key to search by
+     * @return value associated with the key, or <code>null</code> if it does not exist
+     */
+    @Override
+    public V get(K key) {
+        return getOrDefault(key, null);
+    }
+
+    /**
+     * Retrieves a value based on the given key
+     *
+     * @param key          key to search by
+     * @param defaultValue value to return if the key does not exist
+     * @return value associated with the key, or <code>defaultValue</code> if it does not exist
+     */
+    @Override
+    public V getOrDefault(K key, V defaultValue) {
+        if (key == null) {
+            return defaultValue;
+        }
+
+        int slot = findSlot(key, hash(key));
+        return slot >= 0 ? valueAt(slot) : defaultValue;
+    }
+
+    /**
+     * Returns <code>true</code> if this hash table contains the given key.
+     *
+     * @param key key to check for
+     * @return true iff the hash table contains a mapping for the specified key,
+     * as ultimately determined by the equals method
+     */
+    @Override
+    public boolean containsKey(K key) {
+        if (key == null) {
+            return false;
+        }
+
+        return findSlot(key, hash(key)) >= 0;
+    }
+
+    /**
+     * Places every entry of the other table in this one, as if by insert, growing this table at most once
+     * beforehand.
+     *
+     * @param other table to copy entries from
+     * @throws NullPointerException if other is null
+     */
+    @Override
+    public void putAll(BetterHashTableInterface<? extends K, ? extends V> other) {
+        if (other == this) {
+            return;
+        }
+
+        ensureCapacity((int) Math.min((long) size + other.size(), Integer.MAX_VALUE));
+        other.forEach(this::insert);
+    }
+
+    /**
+     * Grows the table once, if needed, so that it can hold the given number of elements without resizing
+     *
+     * @param expectedSize number of elements the table is expected to hold
+     */
+    public void ensureCapacity(int expectedSize) {
+        long needed = (long) (expectedSize / LOAD_FACTOR) + 1;
+        int newCapacity = Hashing.powerOfTwoAtLeast((int) Math.min(needed, Hashing.MAX_POWER_OF_TWO));
+        if (newCapacity > capacity) {
+            rehash(newCapacity);
+        }
+    }
+
+    /**
+     * Calls the action once for every entry in the table, in no particular order.  The action must not
+     * modify this table.
+     *
+     * @param action action to run on each key and value
+     * @throws NullPointerException if the action is null
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        if (action == null) {
+            throw new NullPointerException();
+        }
+
+        for (int i = 0; i < capacity; i++) {
+            if (hashes[i] != 0) {
+                action.accept((K) keys[i], (V) values[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns a cursor over the entries of the table, in no particular order
+     *
+     * @return a new cursor positioned before the first entry
+     */
+    @Override
+    public HashTableCursor<K, V> cursor() {
+        return new HashTableCursor<K, V>() {
+            int index = -1;
+
+            @Override
+            public boolean advance() {
+                while (++index < capacity) {
+                    if (hashes[index] != 0) {
+                        return true;
+                    }
+                }
+                index = capacity;
+                return false;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public K key() {
+                checkPosition();
+                return (K) keys[index];
+            }
+
+            @Override
+            public V value() {
+                checkPosition();
+                return valueAt(index);
+            }
+
+            private void checkPosition() {
+                if (index < 0 || index >= capacity) throw new IllegalStateException();
+            }
+        };
+    }
+
+    /**
+     * Empties the hash table.
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(hashes, 0);
+        Arrays.fill(keys, null);
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    /**
+     * Returns the number of items in the hash table
+     *
+     * @return integer representing the number of elements in the hash table
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the length of the backing arrays
+     *
+     * @return current capacity of the table
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the average number of slots a successful lookup examines, over every element in the table.
+     *
+     * @return average probe length, or 0 if the table is empty
+     */
+    public double averageProbeLength() {
+        if (size == 0) {
+            return 0;
+        }
+
+        long total = 0;
+        for (int i = 0; i < capacity; i++) {
+            if (hashes[i] != 0) {
+                total += distance(i) + 1;
+            }
+        }
+        return (double) total / size;
+    }
+
+    /**
+     * Returns the largest number of slots a successful lookup examines
+     *
+     * @return longest probe length, or 0 if the table is empty
+     */
+    public int maxProbeLength() {
+        int max = 0;
+        for (int i = 0; i < capacity; i++) {
+            if (hashes[i] != 0) {
+                max = Math.max(max, distance(i) + 1);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * DO NOT MODIFY NOR IMPLEMENT THIS FUNCTION
+     *
+     * @param g graphics object to draw on
+     */
+    @Override
+    public void draw(Graphics g) {
+        if (g != null) g.getColor();
+        //todo GRAPHICS DEVELOPER:: draw the hash table how we discussed
+    }
+
+    /**
+     * DO NOT MODIFY NOR IMPLEMENT THIS FUNCTION
+     *
+     * @param g graphics object to draw on
+     */
+    @Override
+    public void visualize(Graphics g) {
+        if (g != null) g.getColor();
+        //todo GRAPHICS DEVELOPER:: visualization is to be time-based -- how we discussed
+    }
+}
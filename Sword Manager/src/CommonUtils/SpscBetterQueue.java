@@ -0,0 +1,308 @@
+package CommonUtils;
+
+import CommonUtils.Interfaces.BetterQueueInterface;
+
+import java.awt.*;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Implements our {@link BetterQueueInterface} as a bounded queue that one producer thread and one
+ * consumer thread can share without locks, for example a parser feeding requests to the simulation.
+ * <p>
+ * add, addAll and offer may only be called from the producer thread, and peek, remove and drainTo only
+ * from the consumer thread (each may change from one thread to another only through some other
+ * synchronization).  size and isEmpty may be called from any thread, but are exact only when neither
+ * side is running.  The capacity is fixed: add and addAll wait (spinning, then yielding) for the consumer
+ * to make room, while offer gives up instead.
+ *
+ * @param <E> the type of object this queue will be holding
+ * @implNote The elements live in a power-of-two ring indexed by two ever-increasing sequence numbers:
+ * <code>tail</code>, the number of elements ever added, written only by the producer, and
+ * <code>head</code>, the number ever removed, written only by the consumer.  Each side publishes its
+ * counter with a lazy set (a release store, which needs no fence on the way out), after the element
+ * slots it wrote, so the other side that reads the counter sees those slots.  The counters sit 128 bytes
+ * apart in one array, and each side keeps its own cached copy of the other's counter in another, so the
+ * two threads do not write to the same cache line, and each side only rereads the other's counter when
+ * its cached copy says the ring is full (or empty).  addAll and drainTo publish once per batch.
+ */
+public class SpscBetterQueue<E> implements BetterQueueInterface<E> {
+    /**
+     * Largest power of two an array can hold.
+     */
+    private final int MAX_CAPACITY = 1 << 30;
+    /**
+     * Distance, in longs, between two counters that must not share a cache line (128 bytes, so that
+     * the adjacent-line prefetcher does not pair them up either).
+     */
+    private static final int PAD = 16;
+    /**
+     * Indices of the counters in <code>sequences</code> and of the cached copies in <code>cached</code>
+     */
+    private static final int TAIL = PAD, HEAD = 2 * PAD;
+    /**
+     * Number of times a full producer spins before it starts yielding.
+     */
+    private final int SPINS = 100;
+
+    private final Object[] ring;
+    private final int mask;
+
+    /**
+     * tail and head (according to the implementation note in the class header comment)
+     */
+    private final AtomicLongArray sequences = new AtomicLongArray(3 * PAD);
+    /**
+     * The producer's last read of head (at index TAIL) and the consumer's last read of tail (at index
+     * HEAD); each slot is only ever touched by one thread.
+     */
+    private final long[] cached = new long[3 * PAD];
+
+    /**
+     * Constructs an empty queue that holds up to the given number of elements, rounded up to a power of two
+     *
+     * @param capacity number of elements the queue can hold before add has to wait
+     * @throws IllegalArgumentException if capacity is not positive or larger than 2^30
+     */
+    public SpscBetterQueue(int capacity) {
+        if (capacity < 1 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException();
+        }
+        int length = Hashing.powerOfTwoAtLeast(capacity);
+        ring = new Object[length];
+        mask = length - 1;
+    }
+
+    /**
+     * Returns the number of elements the queue can hold
+     *
+     * @return capacity of the ring
+     */
+    public int capacity() {
+        return ring.length;
+    }
+
+    /**
+     * Returns how many elements the producer can add without waiting, rereading head only if its cached
+     * copy says there is less room than wanted.  Producer only.
+     */
+    private int freeSlots(long tail, int wanted) {
+        long free = ring.length - (tail - cached[TAIL]);
+        if (free < wanted) {
+            cached[TAIL] = sequences.get(HEAD);
+            free = ring.length - (tail - cached[TAIL]);
+        }
+        return (int) free;
+    }
+
+    /**
+     * Returns how many elements the consumer can take, rereading tail only if its cached copy says there
+     * are fewer than wanted.  Consumer only.
+     */
+    private int availableSlots(long head, int wanted) {
+        long available = cached[HEAD] - head;
+        if (available < wanted) {
+            cached[HEAD] = sequences.get(TAIL);
+            available = cached[HEAD] - head;
+        }
+        return (int) available;
+    }
+
+    /**
+     * Adds the item to the back of the queue if there is room.  Producer only.
+     *
+     * @param item item to add
+     * @return true if the item was added, false if the queue was full
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean offer(E item) {
+        if (item == null) {
+            throw new NullPointerException();
+        }
+        long tail = sequences.get(TAIL);
+        if (freeSlots(tail, 1) == 0) {
+            return false;
+        }
+        ring[(int) tail & mask] = item;
+        sequences.lazySet(TAIL, tail + 1);
+        return true;
+    }
+
+    /**
+     * Add an item to the back of the queue, waiting for room if it is full.  Producer only.
+     *
+     * @param item item to push
+     * @throws NullPointerException if the specified element is null
+     */
+    @Override
+    public void add(E item) {
+        for (int attempt = 0; !offer(item); attempt++) {
+            backOff(attempt);
+        }
+    }
+
+    /**
+     * Adds len items from src, starting at src[off], to the back of the queue in order, waiting for room
+     * whenever it is full and publishing each run of items that fits at once.  If an item is null the
+     * queue is left unchanged.  Producer only.
+     *
+     * @param src array holding the items to add
+     * @param off index of the first item to add
+     * @param len number of items to add
+     * @throws NullPointerException      if src or any of the items is null
+     * @throws IndexOutOfBoundsException if off or len is negative, or off + len is larger than src.length
+     */
+    @Override
+    public void addAll(E[] src, int off, int len) {
+        if (off < 0 || len < 0 || off > src.length - len) {
+            throw new IndexOutOfBoundsException();
+        }
+        for (int i = off; i < off + len; i++) {
+            if (src[i] == null) {
+                throw new NullPointerException();
+            }
+        }
+
+        long tail = sequences.get(TAIL);
+        int attempt = 0;
+        while (len > 0) {
+            int count = Math.min(freeSlots(tail, len), len);
+            if (count == 0) {
+                backOff(attempt++);
+                continue;
+            }
+            attempt = 0;
+            int index = (int) tail & mask;
+            int firstRun = Math.min(count, ring.length - index);
+            System.arraycopy(src, off, ring, index, firstRun);
+            System.arraycopy(src, off + firstRun, ring, 0, count - firstRun);
+            tail += count;
+            sequences.lazySet(TAIL, tail);
+            off += count;
+            len -= count;
+        }
+    }
+
+    /**
+     * Spins for the first few attempts, then yields the processor
+     */
+    private void backOff(int attempt) {
+        if (attempt < SPINS) {
+            Thread.onSpinWait();
+        } else {
+            Thread.yield();
+        }
+    }
+
+    /**
+     * Returns the front of the queue (does not remove it) or <code>null</code> if the queue is empty.
+     * Consumer only.
+     *
+     * @return front of the queue or <code>null</code> if the queue is empty
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E peek() {
+        long head = sequences.get(HEAD);
+        if (availableSlots(head, 1) == 0) {
+            return null;
+        }
+        return (E) ring[(int) head & mask];
+    }
+
+    /**
+     * Returns and removes the front of the queue.  Does not wait for the producer.  Consumer only.
+     *
+     * @return the head of the queue, or <code>null</code> if this queue is empty
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E remove() {
+        long head = sequences.get(HEAD);
+        if (availableSlots(head, 1) == 0) {
+            return null;
+        }
+        int index = (int) head & mask;
+        E item = (E) ring[index];
+        ring[index] = null;
+        sequences.lazySet(HEAD, head + 1);
+        return item;
+    }
+
+    /**
+     * Removes up to max items from the front of the queue and stores them in order at the start of dst,
+     * making their slots available to the producer all at once.  Does not wait for the producer.
+     * Consumer only.
+     *
+     * @param dst array to store the removed items in; no more than its length are removed
+     * @param max largest number of items to remove
+     * @return number of items removed
+     * @throws NullPointerException     if dst is null
+     * @throws IllegalArgumentException if max is negative
+     */
+    @Override
+    public int drainTo(E[] dst, int max) {
+        if (max < 0) {
+            throw new IllegalArgumentException();
+        }
+        long head = sequences.get(HEAD);
+        int wanted = Math.min(max, dst.length);
+        int count = Math.min(availableSlots(head, wanted), wanted);
+        int index = (int) head & mask;
+        int firstRun = Math.min(count, ring.length - index);
+        System.arraycopy(ring, index, dst, 0, firstRun);
+        System.arraycopy(ring, 0, dst, firstRun, count - firstRun);
+        for (int i = 0; i < count; i++) {
+            ring[(index + i) & mask] = null;
+        }
+        sequences.lazySet(HEAD, head + count);
+        return count;
+    }
+
+    /**
+     * Checks that the queue can hold the given number of items.  The capacity is fixed when the queue is
+     * constructed, so this never grows it; instead it rejects a size that would leave add waiting for a
+     * consumer to make room (forever, if the caller is the only thread using the queue).
+     *
+     * @param expectedSize number of items the queue is expected to hold
+     * @throws IllegalArgumentException if expectedSize is larger than {@link #capacity()}
+     */
+    @Override
+    public void ensureCapacity(int expectedSize) {
+        if (expectedSize > ring.length) {
+            throw new IllegalArgumentException();
+        }
+    }
+
+    /**
+     * Returns the number of elements in the queue.  Exact only when neither side is running.
+     *
+     * @return integer representing the number of elements in the queue
+     */
+    @Override
+    public int size() {
+        long head = sequences.get(HEAD);
+        long tail = sequences.get(TAIL);
+        return (int) Math.max(0, Math.min(tail - head, ring.length));
+    }
+
+    /**
+     * Returns whether the queue is empty.  Exact only when neither side is running.
+     *
+     * @return true if the queue is empty, false otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * DO NOT MODIFY NOR IMPLEMENT THIS FUNCTION
+     *
+     * @param g graphics object to draw on
+     */
+    @Override
+    public void draw(Graphics g) {
+        //DO NOT MODIFY NOR IMPLEMENT THIS FUNCTION
+        if (g != null) g.getColor();
+    }
+}
@@ -1,8 +1,12 @@
 package Drones;
 
-import CommonUtils.BetterHashTable;
+import CommonUtils.HashTableStats;
+import CommonUtils.IntHashTable;
+import CommonUtils.IntIntHashTable;
 import CommonUtils.Interfaces.BetterQueue;
-import CommonUtils.MinHeap;
+import CommonUtils.Interfaces.LongPayloadMinHeapInterface;
+import CommonUtils.LongPayloadMinHeap;
+import CommonUtils.RadixHeap;
 import Drones.Interfaces.BetterCleanSwordManagerInterface;
 import Items.Sword;
 import Items.Types.SwordType;
@@ -11,6 +15,7 @@ import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 
 /**
  * Manages everything regarding the cleaning of swords in our game.  Will be integrated with
@@ -18,6 +23,16 @@ import java.util.ArrayList;
  */
 public class BetterCleanSwordManager implements BetterCleanSwordManagerInterface {
 
+    /**
+     * Stats the sword registry records into, or null (the default) to record nothing
+     */
+    private HashTableStats registryStats;
+
+    /**
+     * Whether pending cleanings are kept in a RadixHeap instead of a LongPayloadMinHeap
+     */
+    private boolean useRadixHeap;
+
     /**
      * Request class to hold information about time and sword returned
      */
@@ -41,6 +56,29 @@ public class BetterCleanSwordManager implements BetterCleanSwordManagerInterface
         }
     }
 
+    /**
+     * Makes the sword registry built by later calls to {@link #getCleaningTimes(String)} record its probe
+     * counts and resizes into the given stats, which may be read while the manager runs.  The registry's
+     * size, deleted markers and clusters are sampled into them when each call finishes.
+     *
+     * @param stats where to record, or <code>null</code> to stop recording
+     */
+    public void setRegistryStats(HashTableStats stats) {
+        this.registryStats = stats;
+    }
+
+    /**
+     * Makes later calls to {@link #getCleaningTimes(String)} keep the pending cleanings in a
+     * {@link RadixHeap} instead of a {@link LongPayloadMinHeap}.  Both give the same results, since no
+     * cleaning is ever scheduled to finish before the current time; the radix heap takes amortized
+     * constant time per cleaning instead of logarithmic.
+     *
+     * @param useRadixHeap true to use the radix heap, false (the default) for the 8-ary heap
+     */
+    public void setUseRadixHeap(boolean useRadixHeap) {
+        this.useRadixHeap = useRadixHeap;
+    }
+
     /**
      * Gets the cleaning times per the specifications.
      *
@@ -77,11 +115,24 @@ public class BetterCleanSwordManager implements BetterCleanSwordManagerInterface
                 System.exit(1);
             }
 
-            MinHeap<Sword> swordHeap = new MinHeap<>();
-            BetterHashTable<Integer, Sword> swordHash = new BetterHashTable();
+            /* the heap orders packed (time of clean, request order) priorities; each payload is the */
+            /* index of its sword in heapSwords, found from the sword's hash code in heapIndexOf.    */
+            /* A sword requested again while it waits gets a new entry, heapKeys[index], with its new */
+            /* request order; heapEntries counts a sword's entries, and only its last one finishes it */
+            LongPayloadMinHeapInterface swordHeap = useRadixHeap ? new RadixHeap() : new LongPayloadMinHeap(N);
+            Sword[] heapSwords = new Sword[N];
+            long[] heapKeys = new long[N];
+            int[] heapEntries = new int[N];
+            IntIntHashTable heapIndexOf = new IntIntHashTable(2 * N);
+            int heapSwordCount = 0;
+            /* keyed by Sword.HashCode(); sized so that loading N swords never has to grow it */
+            IntHashTable<Sword> swordHash = new IntHashTable<>(2 * N);
+            swordHash.setStats(registryStats);
 
             int requestOrder = 0;
 
+            /* swords that are already clean are heaped all at once after reading, in linear time */
+
             /* read N lines for all the swords and add them to an appropriate data structure */
 
             for (int i = 0; i < N; i++) {
@@ -100,20 +151,33 @@ public class BetterCleanSwordManager implements BetterCleanSwordManagerInterface
                     System.exit(1);
                 }
 
-                /* if the sword is in our possession, add to the min heap      */
+                /* if the sword is in our possession, it goes in the min heap  */
                 /* Otherwise, add it to the hash table to store cleaning time */
                 /* adding request order to make min heap stable               */
 
                 if (sword.getCleanliness() != -1) {
                     sword.setTimeOfClean(sword.getCleanliness());
                     sword.setRequestOrder(requestOrder);
+                    heapKeys[heapSwordCount] = LongPayloadMinHeap.pack(sword.getTimeOfClean(), requestOrder);
+                    heapSwords[heapSwordCount] = sword;
+                    heapEntries[heapSwordCount] = 1;
+                    heapIndexOf.insert(sword.HashCode(), heapSwordCount);
+                    heapSwordCount++;
                     requestOrder++;
-                    swordHeap.add(sword);
                 }
                 swordHash.insert(sword.HashCode(), sword);
             }
+            int[] cleanPayloads = new int[heapSwordCount];
+            for (int i = 0; i < heapSwordCount; i++) {
+                cleanPayloads[i] = i;
+            }
+            swordHeap.addAll(Arrays.copyOf(heapKeys, heapSwordCount), cleanPayloads);
+
+            /* all M requests are queued before the first one is served, and each yields one result */
 
             BetterQueue<Request> requestQueue = new BetterQueue<>();
+            requestQueue.ensureCapacity(M);
+            finishedSwords.ensureCapacity(M);
 
             /* read M lines for all the requests and add them to a queue */
 
@@ -138,14 +202,16 @@ public class BetterCleanSwordManager implements BetterCleanSwordManagerInterface
             BetterQueue<Sword> finishedSwordQueue = new BetterQueue<>();
             BetterQueue<Request> finsihedRequestQueue = new BetterQueue<>();
 
+            /* finished requests and swords are paired off in batches through these */
+
+            Request[] requestBatch = new Request[0];
+            Sword[] swordBatch = new Sword[0];
+
             while (true) {
                 while (!requestQueue.isEmpty() && requestQueue.peek().time == t) {
                     Request current = requestQueue.remove();
-                    Sword sword = new Sword(-1, -1, current.totalHealth,
-                            -1, -1, current.DPS, current.attackSpeed,
-                            "", "", "", current.style);
-
-                    sword = swordHash.get(sword.HashCode());
+                    Sword sword = swordHash.get(Sword.hashOf(current.totalHealth, current.DPS,
+                            current.attackSpeed, current.style));
 
                     boolean addToHeap = false;
                     if (sword.getTimeOfClean() == -1) {
@@ -155,24 +221,50 @@ public class BetterCleanSwordManager implements BetterCleanSwordManagerInterface
                     }
 
                     sword.setRequestOrder(requestOrder);
-                    requestOrder++;
 
+                    /* a sword still waiting to be cleaned is re-keyed with its new request order, unless */
+                    /* it is first in line, which keeps its place (as the root of the original heap did)  */
+                    /* once the stale entries above it are cleared                                        */
+
+                    int index = heapIndexOf.get(sword.HashCode());
                     if (addToHeap) {
-                        swordHeap.add(sword);
+                        index = heapSwordCount++;
+                        heapSwords[index] = sword;
+                        heapIndexOf.insert(sword.HashCode(), index);
+                    } else if (heapEntries[index] > 0) {
+                        while (swordHeap.peekMinKey() != heapKeys[swordHeap.peekMinPayload()]) {
+                            heapEntries[swordHeap.removeMin()]--;
+                        }
+                        addToHeap = swordHeap.peekMinPayload() != index;
                     }
+                    if (addToHeap) {
+                        heapKeys[index] = LongPayloadMinHeap.pack(sword.getTimeOfClean(), requestOrder);
+                        swordHeap.add(heapKeys[index], index);
+                        heapEntries[index]++;
+                    }
+                    requestOrder++;
 
                     finsihedRequestQueue.add(current);
                 }
 
-                while (swordHeap.size() != 0 && swordHeap.peekMin().getTimeOfClean() <= t) {
-                    finishedSwordQueue.add(swordHeap.removeMin());
-                }
+                /* every cleaning finishing at or before t, whatever its request order; a sword's stale */
+                /* entries share its time and have smaller orders, so they come out no later than it  */
 
-                while (!finsihedRequestQueue.isEmpty() && !finishedSwordQueue.isEmpty()) {
-                    Request request = finsihedRequestQueue.remove();
-                    Sword sword = finishedSwordQueue.remove();
+                swordHeap.drainUpTo(LongPayloadMinHeap.pack(t, Integer.MAX_VALUE), index -> {
+                    if (--heapEntries[index] == 0) {
+                        finishedSwordQueue.add(heapSwords[index]);
+                    }
+                });
 
-                    finishedSwords.add(new DetailedCleanSwordTime<>(t, t - request.time, sword));
+                int pairs = Math.min(finsihedRequestQueue.size(), finishedSwordQueue.size());
+                if (pairs > requestBatch.length) {
+                    requestBatch = new Request[Math.max(pairs, 2 * requestBatch.length)];
+                    swordBatch = new Sword[requestBatch.length];
+                }
+                finsihedRequestQueue.drainTo(requestBatch, pairs);
+                finishedSwordQueue.drainTo(swordBatch, pairs);
+                for (int i = 0; i < pairs; i++) {
+                    finishedSwords.add(new DetailedCleanSwordTime<>(t, t - requestBatch[i].time, swordBatch[i]));
                 }
 
                 /* advance to the next necessary t */
@@ -180,7 +272,7 @@ public class BetterCleanSwordManager implements BetterCleanSwordManagerInterface
                 int nextSword = Integer.MAX_VALUE;
                 int nextRequest = Integer.MAX_VALUE;
                 if (swordHeap.size() != 0) {
-                    nextSword = swordHeap.peekMin().getTimeOfClean();
+                    nextSword = LongPayloadMinHeap.timeOf(swordHeap.peekMinKey());
                 }
                 if (!requestQueue.isEmpty()) {
                     nextRequest = requestQueue.peek().time;
@@ -196,6 +288,8 @@ public class BetterCleanSwordManager implements BetterCleanSwordManagerInterface
                 }
 
             }
+
+            swordHash.stats();
         } catch (IOException e) {
             System.err.println("Couldn't find test file: \"" + filename + "\":: " + e.getMessage());
             System.exit(1);
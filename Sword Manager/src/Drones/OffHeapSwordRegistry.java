@@ -0,0 +1,827 @@
+package Drones;
+
+import CommonUtils.Interfaces.BetterHashTableInterface;
+import CommonUtils.Interfaces.HashTableCursor;
+import Items.Sword;
+
+import java.awt.*;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Sword registry that keeps its entries outside the Java heap, keyed by {@link Sword#hashOf} (the
+ * combination of totalHealth, DPS, attackSpeed and style that identifies a sword).  It can live in a direct
+ * buffer, or in a memory-mapped file so that a registry can be reopened without parsing the input again.
+ *
+ * @implNote Everything is stored in one buffer: a header, then a power-of-two table of fixed-size slots,
+ * then an append-only area for the strings.
+ * <pre>
+ *     header  (HEADER_BYTES)   magic, version, capacity, size, string area capacity/used/garbage
+ *     slots   (SLOT_BYTES each) state, key, the eight numeric sword fields, offset and length of its strings
+ *     strings                  name, description, comments, style; each an int length + UTF-8 bytes
+ * </pre>
+ * Slots are found by Fibonacci hashing of the key and linear probing; removal shifts the following entries
+ * back instead of leaving deleted markers.  Strings of removed or replaced swords stay in the string area as
+ * garbage until the next rebuild, which copies only live strings.  A rebuild (growing the table or the
+ * string area) writes a fresh buffer; for a mapped registry that is a new file moved over the old one.
+ * <p>
+ * Values are snapshots: get() builds a new Sword from the stored fields, so changes made to it are only
+ * kept if it is inserted again.  Null values cannot be stored.  Buffers are indexed by int, so a registry
+ * is limited to 2GB.
+ */
+public class OffHeapSwordRegistry implements BetterHashTableInterface<Integer, Sword>, Closeable {
+    /**
+     * Initial number of slots.
+     */
+    private final int INIT_CAPACITY = 64;
+    /**
+     * Bytes of string area reserved per slot when the registry is created.
+     */
+    private final int INIT_STRING_BYTES_PER_SLOT = 64;
+    /**
+     * Determines the maximum ratio of number of elements to number of slots.
+     */
+    private final double LOAD_FACTOR = 0.75;
+    /**
+     * Determines how much to increase the number of slots, or the size of the string area.
+     */
+    private final int INCREASE_FACTOR = 2;
+
+    private static final long MAGIC = 0x53574f5244524547L; //"SWORDREG"
+    private static final int VERSION = 1;
+
+    /*
+     * Header layout
+     */
+    private static final int HEADER_BYTES = 64;
+    private static final int H_MAGIC = 0, H_VERSION = 8, H_CAPACITY = 12, H_SIZE = 16,
+            H_STRING_CAPACITY = 20, H_STRING_USED = 24, H_STRING_GARBAGE = 28;
+
+    /*
+     * Slot layout
+     */
+    private static final int SLOT_BYTES = 48;
+    private static final int S_STATE = 0, S_KEY = 4, S_CLEANLINESS = 8, S_TIME_TO_CLEAN = 12,
+            S_TOTAL_HEALTH = 16, S_HEALTH_LEFT = 20, S_LENGTH = 24, S_DPS = 28, S_ATTACK_SPEED = 32,
+            S_TIME_OF_CLEAN = 36, S_STRINGS_OFFSET = 40, S_STRINGS_LENGTH = 44;
+    private static final int EMPTY = 0, FULL = 1;
+
+    /**
+     * Returned by findSlot when the key is absent and every slot is full
+     */
+    private static final int NO_SLOT = Integer.MIN_VALUE;
+
+    /**
+     * Backing file, or null for a registry in a direct buffer
+     */
+    private final Path file;
+
+    ByteBuffer buffer;
+    int capacity;
+    int mask;
+    int shift;
+    int size;
+    int stringCapacity;
+    int stringUsed;
+    int stringGarbage;
+
+    /**
+     * Constructs an empty registry in a direct buffer with a default size
+     */
+    public OffHeapSwordRegistry() {
+        this(0);
+    }
+
+    /**
+     * Constructs an empty registry in a direct buffer, sized to hold the given number of swords without
+     * resizing
+     *
+     * @param expectedSize number of swords the registry is expected to hold
+     * @throws IllegalArgumentException if the expected size is negative
+     */
+    public OffHeapSwordRegistry(int expectedSize) throws IllegalArgumentException {
+        if (expectedSize < 0) throw new IllegalArgumentException();
+
+        this.file = null;
+        int slots = slotsFor(expectedSize);
+        try {
+            rebuild(slots, stringBytesFor(slots));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); /* direct buffers do no I/O */
+        }
+    }
+
+    private OffHeapSwordRegistry(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Opens the registry stored in the given file, or creates an empty one there if the file does not exist
+     * or is empty.  Changes are written through to the file; call {@link #force()} or {@link #close()} to
+     * make sure they have reached the disk.
+     *
+     * @param file file to map
+     * @return the registry backed by the file
+     * @throws IOException if the file cannot be mapped, or holds something other than a sword registry
+     */
+    public static OffHeapSwordRegistry open(Path file) throws IOException {
+        OffHeapSwordRegistry registry = new OffHeapSwordRegistry(file);
+        if (!Files.exists(file) || Files.size(file) == 0) {
+            int slots = registry.slotsFor(0);
+            registry.rebuild(slots, registry.stringBytesFor(slots));
+            return registry;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            if (channel.size() < HEADER_BYTES || channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Not a sword registry: " + file);
+            }
+            registry.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        }
+        registry.readHeader();
+        return registry;
+    }
+
+    /**
+     * Returns the number of slots to use for the given number of swords
+     */
+    private int slotsFor(int expectedSize) {
+        long needed = Math.max((long) (expectedSize / LOAD_FACTOR) + 1, INIT_CAPACITY);
+        if (needed > 1 << 30) {
+            throw new OutOfMemoryError();
+        }
+        return Integer.highestOneBit((int) needed - 1) << 1;
+    }
+
+    private int stringBytesFor(int slots) {
+        return (int) Math.min((long) slots * INIT_STRING_BYTES_PER_SLOT, Integer.MAX_VALUE);
+    }
+
+    private void readHeader() throws IOException {
+        if (buffer.getLong(H_MAGIC) != MAGIC || buffer.getInt(H_VERSION) != VERSION) {
+            throw new IOException("Not a sword registry: " + file);
+        }
+        setCapacity(buffer.getInt(H_CAPACITY));
+        size = buffer.getInt(H_SIZE);
+        stringCapacity = buffer.getInt(H_STRING_CAPACITY);
+        stringUsed = buffer.getInt(H_STRING_USED);
+        stringGarbage = buffer.getInt(H_STRING_GARBAGE);
+        if ((long) HEADER_BYTES + (long) capacity * SLOT_BYTES + stringCapacity != buffer.capacity()) {
+            throw new IOException("Corrupt sword registry: " + file);
+        }
+    }
+
+    private void writeHeader() {
+        buffer.putLong(H_MAGIC, MAGIC);
+        buffer.putInt(H_VERSION, VERSION);
+        buffer.putInt(H_CAPACITY, capacity);
+        buffer.putInt(H_SIZE, size);
+        buffer.putInt(H_STRING_CAPACITY, stringCapacity);
+        buffer.putInt(H_STRING_USED, stringUsed);
+        buffer.putInt(H_STRING_GARBAGE, stringGarbage);
+    }
+
+    private void setCapacity(int newCapacity) {
+        capacity = newCapacity;
+        mask = capacity - 1;
+        shift = 32 - Integer.numberOfTrailingZeros(capacity);
+    }
+
+    /**
+     * Returns the byte offset of the given slot
+     */
+    private static int slotAt(int index) {
+        return HEADER_BYTES + index * SLOT_BYTES;
+    }
+
+    /**
+     * Returns the byte offset where the string area starts
+     */
+    private int stringsStart() {
+        return HEADER_BYTES + capacity * SLOT_BYTES;
+    }
+
+    /**
+     * Returns the home slot of the key: the top bits of the key times the golden ratio, which spreads
+     * keys that only differ in their high or low digits (like Sword.hashOf values) evenly
+     */
+    private int home(int key) {
+        return (key * 0x9E3779B9) >>> shift;
+    }
+
+    /**
+     * Walks the probe sequence for the given key.
+     *
+     * @return the index of the key if it is in the table, otherwise -(slot + 1) where slot is the first empty
+     * slot, or NO_SLOT if there is none
+     */
+    private int findSlot(int key) {
+        int index = home(key);
+        for (int probe = 0; probe < capacity; probe++) {
+            int at = slotAt(index);
+            if (buffer.getInt(at + S_STATE) == EMPTY) {
+                return -(index + 1);
+            }
+            if (buffer.getInt(at + S_KEY) == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return NO_SLOT;
+    }
+
+    /**
+     * Builds a fresh buffer with the given number of slots and bytes of string area, and moves every entry
+     * (and only the live strings) into it.  For a mapped registry the new buffer is a new file that replaces
+     * the old one.
+     *
+     * @param newCapacity       power of two number of slots
+     * @param newStringCapacity bytes of string area
+     * @throws IOException if the new file cannot be written
+     */
+    private void rebuild(int newCapacity, int newStringCapacity) throws IOException {
+        long bytes = HEADER_BYTES + (long) newCapacity * SLOT_BYTES + newStringCapacity;
+        if (bytes > Integer.MAX_VALUE) {
+            throw new OutOfMemoryError();
+        }
+
+        Path temp = null;
+        ByteBuffer fresh;
+        if (file == null) {
+            fresh = ByteBuffer.allocateDirect((int) bytes);
+        } else {
+            temp = file.resolveSibling(file.getFileName() + ".rebuild");
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                fresh = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+            }
+        }
+
+        ByteBuffer old = buffer;
+        int oldCapacity = capacity;
+        int oldStringsStart = old == null ? 0 : stringsStart();
+
+        buffer = fresh;
+        setCapacity(newCapacity);
+        stringCapacity = newStringCapacity;
+        stringUsed = 0;
+        stringGarbage = 0;
+
+        for (int i = 0; i < oldCapacity; i++) {
+            int from = slotAt(i);
+            if (old.getInt(from + S_STATE) == FULL) {
+                int index = -(findSlot(old.getInt(from + S_KEY)) + 1);
+                int to = slotAt(index);
+                for (int b = 0; b < S_STRINGS_OFFSET; b += Long.BYTES) {
+                    buffer.putLong(to + b, old.getLong(from + b));
+                }
+                int length = old.getInt(from + S_STRINGS_LENGTH);
+                int offset = stringUsed;
+                buffer.put(stringsStart() + offset, old, oldStringsStart + old.getInt(from + S_STRINGS_OFFSET), length);
+                stringUsed += length;
+                buffer.putInt(to + S_STRINGS_OFFSET, offset);
+                buffer.putInt(to + S_STRINGS_LENGTH, length);
+            }
+        }
+        writeHeader();
+
+        if (file != null) {
+            ((MappedByteBuffer) buffer).force();
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+
+    /**
+     * Encodes the sword's strings as they are stored in the string area
+     */
+    private static byte[] encodeStrings(Sword sword) {
+        byte[][] parts = {bytesOf(sword.getName()), bytesOf(sword.getDescription()),
+                bytesOf(sword.getComments()), bytesOf(sword.getStyle())};
+        int length = 0;
+        for (byte[] part : parts) {
+            length += Integer.BYTES + (part == null ? 0 : part.length);
+        }
+
+        ByteBuffer encoded = ByteBuffer.allocate(length);
+        for (byte[] part : parts) {
+            if (part == null) {
+                encoded.putInt(-1);
+            } else {
+                encoded.putInt(part.length);
+                encoded.put(part);
+            }
+        }
+        return encoded.array();
+    }
+
+    private static byte[] bytesOf(String s) {
+        return s == null ? null : s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads one string of a stored sword
+     *
+     * @param position absolute position of its length in the buffer
+     * @param out      array that receives the string
+     * @param outIndex index in out to store the string at
+     * @return position of the next string
+     */
+    private int readString(int position, String[] out, int outIndex) {
+        int length = buffer.getInt(position);
+        position += Integer.BYTES;
+        if (length < 0) {
+            out[outIndex] = null;
+            return position;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(position, bytes);
+        out[outIndex] = new String(bytes, StandardCharsets.UTF_8);
+        return position + length;
+    }
+
+    /**
+     * Builds a Sword from the entry in the given slot
+     */
+    private Sword swordAt(int index) {
+        int at = slotAt(index);
+        String[] strings = new String[4];
+        int position = stringsStart() + buffer.getInt(at + S_STRINGS_OFFSET);
+        for (int i = 0; i < strings.length; i++) {
+            position = readString(position, strings, i);
+        }
+
+        Sword sword = new Sword(buffer.getInt(at + S_CLEANLINESS), buffer.getInt(at + S_TIME_TO_CLEAN),
+                buffer.getInt(at + S_TOTAL_HEALTH), buffer.getInt(at + S_HEALTH_LEFT), buffer.getInt(at + S_LENGTH),
+                buffer.getInt(at + S_DPS), buffer.getInt(at + S_ATTACK_SPEED),
+                strings[0], strings[1], strings[2], strings[3]);
+        sword.setTimeOfClean(buffer.getInt(at + S_TIME_OF_CLEAN));
+        return sword;
+    }
+
+    /**
+     * Stores the sword under the key, replacing the entry that is there if any, growing the table or the
+     * string area first if necessary
+     *
+     * @param key   key to store under
+     * @param slot  result of {@link #findSlot} for the key
+     * @param sword sword to store
+     */
+    private void store(int key, int slot, Sword sword) {
+        if (sword == null) {
+            throw new NullPointerException();
+        }
+
+        byte[] strings = encodeStrings(sword);
+        try {
+            if (slot < 0 && size + 1 > capacity * LOAD_FACTOR) {
+                rebuild(capacity * INCREASE_FACTOR, growStrings(strings.length));
+                slot = findSlot(key);
+            } else if ((long) stringUsed + strings.length > stringCapacity) {
+                rebuild(capacity, growStrings(strings.length));
+                slot = findSlot(key);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        int index;
+        if (slot >= 0) {
+            index = slot;
+            stringGarbage += buffer.getInt(slotAt(index) + S_STRINGS_LENGTH);
+        } else {
+            index = -(slot + 1);
+            size++;
+        }
+
+        int at = slotAt(index);
+        buffer.putInt(at + S_STATE, FULL);
+        buffer.putInt(at + S_KEY, key);
+        buffer.putInt(at + S_CLEANLINESS, sword.getCleanliness());
+        buffer.putInt(at + S_TIME_TO_CLEAN, sword.getTimeToClean());
+        buffer.putInt(at + S_TOTAL_HEALTH, sword.getTotalHealth());
+        buffer.putInt(at + S_HEALTH_LEFT, sword.getHealthLeft());
+        buffer.putInt(at + S_LENGTH, sword.getLength());
+        buffer.putInt(at + S_DPS, sword.getDPS());
+        buffer.putInt(at + S_ATTACK_SPEED, sword.getAttackSpeed());
+        buffer.putInt(at + S_TIME_OF_CLEAN, sword.getTimeOfClean());
+        buffer.putInt(at + S_STRINGS_OFFSET, stringUsed);
+        buffer.putInt(at + S_STRINGS_LENGTH, strings.length);
+        buffer.put(stringsStart() + stringUsed, strings);
+        stringUsed += strings.length;
+        writeHeader();
+    }
+
+    /**
+     * Returns the string area size for a rebuild that must fit the live strings plus the given number of
+     * bytes.  Garbage is dropped by the rebuild, so the area only grows if the live strings need it.
+     */
+    private int growStrings(int extra) {
+        long live = (long) stringUsed - stringGarbage + extra;
+        long newCapacity = stringCapacity;
+        while (newCapacity < live * INCREASE_FACTOR) {
+            newCapacity *= INCREASE_FACTOR;
+        }
+        return (int) Math.min(newCapacity, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Removes the entry in the given slot by shifting back the entries after it that would otherwise become
+     * unreachable
+     *
+     * @param index occupied slot
+     */
+    private void removeAt(int index) {
+        stringGarbage += buffer.getInt(slotAt(index) + S_STRINGS_LENGTH);
+
+        int next = index;
+        while (true) {
+            next = (next + 1) & mask;
+            int at = slotAt(next);
+            if (buffer.getInt(at + S_STATE) == EMPTY) {
+                break;
+            }
+            int home = home(buffer.getInt(at + S_KEY));
+            /* move it back unless its home lies cyclically in (index, next] */
+            boolean reachable = index <= next ? (index < home && home <= next) : (index < home || home <= next);
+            if (!reachable) {
+                int to = slotAt(index);
+                for (int b = 0; b < SLOT_BYTES; b += Long.BYTES) {
+                    buffer.putLong(to + b, buffer.getLong(at + b));
+                }
+                index = next;
+            }
+        }
+
+        buffer.putInt(slotAt(index) + S_STATE, EMPTY);
+        size--;
+        writeHeader();
+    }
+
+    /**
+     * Places the sword in the registry. Passing key=null will not change the state of the registry.
+     * Passing a key already in the registry will replace the stored sword.
+     *
+     * @param key   key to associate with the sword, normally {@link Sword#hashOf}
+     * @param sword sword to store
+     * @throws NullPointerException if the sword is null
+     */
+    @Override
+    public void insert(Integer key, Sword sword) {
+        if (key == null) {
+            return;
+        }
+        store(key, findSlot(key), sword);
+    }
+
+    /**
+     * Stores the sword only if the key is not already in the registry.
+     * Passing key=null will not change the state of the registry.
+     *
+     * @param key   key to associate with the sword
+     * @param sword sword to store
+     * @return a copy of the sword already stored under the key, or <code>null</code> if there was none
+     * @throws NullPointerException if the key is absent and the sword is null
+     */
+    @Override
+    public Sword putIfAbsent(Integer key, Sword sword) {
+        if (key == null) {
+            return null;
+        }
+
+        int slot = findSlot(key);
+        if (slot >= 0) {
+            return swordAt(slot);
+        }
+        store(key, slot, sword);
+        return null;
+    }
+
+    /**
+     * If the key is not in the registry, computes a sword with the given function and stores it unless it is
+     * <code>null</code>.  The function must not modify this registry.
+     *
+     * @param key             key to look up
+     * @param mappingFunction function computing a sword from the key
+     * @return a copy of the stored sword, or the computed one, or <code>null</code>
+     */
+    @Override
+    public Sword computeIfAbsent(Integer key, Function<? super Integer, ? extends Sword> mappingFunction) {
+        if (key == null) {
+            return null;
+        }
+
+        int slot = findSlot(key);
+        if (slot >= 0) {
+            return swordAt(slot);
+        }
+        Sword sword = mappingFunction.apply(key);
+        if (sword != null) {
+            store(key, slot, sword);
+        }
+        return sword;
+    }
+
+    /**
+     * Computes a new sword for the key from (a copy of) its current one, <code>null</code> if absent.  If the
+     * new sword is <code>null</code> the entry is removed.  The function must not modify this registry.
+     *
+     * @param key               key to look up
+     * @param remappingFunction function computing the new sword from the key and the current one
+     * @return the new sword associated with the key, or <code>null</code> if there is none
+     */
+    @Override
+    public Sword compute(Integer key, BiFunction<? super Integer, ? super Sword, ? extends Sword> remappingFunction) {
+        if (key == null) {
+            return null;
+        }
+
+        int slot = findSlot(key);
+        Sword sword = remappingFunction.apply(key, slot >= 0 ? swordAt(slot) : null);
+        update(key, slot, sword);
+        return sword;
+    }
+
+    /**
+     * Stores the sword if the key is absent, otherwise replaces the stored sword with the result of the
+     * function (removing the entry if that is <code>null</code>).  The function must not modify this registry.
+     *
+     * @param key               key to look up
+     * @param sword             sword to use if the key is absent
+     * @param remappingFunction function combining (a copy of) the stored sword and the given one
+     * @return the new sword associated with the key, or <code>null</code> if there is none
+     * @throws NullPointerException if the sword is null
+     */
+    @Override
+    public Sword merge(Integer key, Sword sword, BiFunction<? super Sword, ? super Sword, ? extends Sword> remappingFunction) {
+        if (sword == null) {
+            throw new NullPointerException();
+        }
+        if (key == null) {
+            return null;
+        }
+
+        int slot = findSlot(key);
+        Sword merged = slot >= 0 ? remappingFunction.apply(swordAt(slot), sword) : sword;
+        update(key, slot, merged);
+        return merged;
+    }
+
+    /**
+     * Writes the result of a compute/merge back to the slot found for the key
+     */
+    private void update(int key, int slot, Sword sword) {
+        if (sword != null) {
+            store(key, slot, sword);
+        } else if (slot >= 0) {
+            removeAt(slot);
+        }
+    }
+
+    /**
+     * Removes the sword associated with the given key
+     *
+     * @param key key/sword to remove
+     */
+    @Override
+    public void remove(Integer key) {
+        if (key == null) {
+            return;
+        }
+
+        int slot = findSlot(key);
+        if (slot >= 0) {
+            removeAt(slot);
+        }
+    }
+
+    /**
+     * Retrieves a copy of the sword stored under the given key
+     *
+     * @param key key to search by
+     * @return new Sword with the stored fields, or <code>null</code> if the key is not in the registry
+     */
+    @Override
+    public Sword get(Integer key) {
+        return getOrDefault(key, null);
+    }
+
+    /**
+     * Retrieves a copy of the sword identified by the given fields
+     *
+     * @param totalHealth total health
+     * @param DPS         damage per second
+     * @param attackSpeed attack speed
+     * @param style       style of sword
+     * @return new Sword with the stored fields, or <code>null</code> if it is not in the registry
+     */
+    public Sword get(int totalHealth, int DPS, int attackSpeed, String style) {
+        return get(Sword.hashOf(totalHealth, DPS, attackSpeed, style));
+    }
+
+    /**
+     * Retrieves a copy of the sword stored under the given key
+     *
+     * @param key          key to search by
+     * @param defaultValue value to return if the key does not exist
+     * @return new Sword with the stored fields, or <code>defaultValue</code> if the key is not in the registry
+     */
+    @Override
+    public Sword getOrDefault(Integer key, Sword defaultValue) {
+        if (key == null) {
+            return defaultValue;
+        }
+
+        int slot = findSlot(key);
+        return slot >= 0 ? swordAt(slot) : defaultValue;
+    }
+
+    /**
+     * Returns <code>true</code> if this registry contains the given key.
+     *
+     * @param key key to check for
+     * @return true iff the registry contains a sword for the specified key
+     */
+    @Override
+    public boolean containsKey(Integer key) {
+        return key != null && findSlot(key) >= 0;
+    }
+
+    /**
+     * Places every entry of the other table in this registry, as if by insert, growing the table at most
+     * once beforehand.
+     *
+     * @param other table to copy entries from
+     * @throws NullPointerException if other is null, or holds a null sword
+     */
+    @Override
+    public void putAll(BetterHashTableInterface<? extends Integer, ? extends Sword> other) {
+        if (other == this) {
+            return;
+        }
+
+        int slots = slotsFor((int) Math.min((long) size + other.size(), Integer.MAX_VALUE));
+        if (slots > capacity) {
+            try {
+                rebuild(slots, Math.max(stringCapacity, stringBytesFor(slots)));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        other.forEach(this::insert);
+    }
+
+    /**
+     * Calls the action once for every entry in the registry, in no particular order, with a copy of each
+     * sword.  The action must not modify this registry.
+     *
+     * @param action action to run on each key and sword
+     * @throws NullPointerException if the action is null
+     */
+    @Override
+    public void forEach(BiConsumer<? super Integer, ? super Sword> action) {
+        if (action == null) {
+            throw new NullPointerException();
+        }
+
+        for (int i = 0; i < capacity; i++) {
+            if (buffer.getInt(slotAt(i) + S_STATE) == FULL) {
+                action.accept(buffer.getInt(slotAt(i) + S_KEY), swordAt(i));
+            }
+        }
+    }
+
+    /**
+     * Returns a cursor over the entries of the registry, in no particular order.  Every call to value()
+     * builds a new copy of the sword.
+     *
+     * @return a new cursor positioned before the first entry
+     */
+    @Override
+    public HashTableCursor<Integer, Sword> cursor() {
+        return new HashTableCursor<Integer, Sword>() {
+            int index = -1;
+
+            @Override
+            public boolean advance() {
+                while (++index < capacity) {
+                    if (buffer.getInt(slotAt(index) + S_STATE) == FULL) {
+                        return true;
+                    }
+                }
+                index = capacity;
+                return false;
+            }
+
+            @Override
+            public Integer key() {
+                checkPosition();
+                return buffer.getInt(slotAt(index) + S_KEY);
+            }
+
+            @Override
+            public Sword value() {
+                checkPosition();
+                return swordAt(index);
+            }
+
+            private void checkPosition() {
+                if (index < 0 || index >= capacity) throw new IllegalStateException();
+            }
+        };
+    }
+
+    /**
+     * Empties the registry, keeping its current size.
+     */
+    @Override
+    public void clear() {
+        for (int i = 0; i < capacity; i++) {
+            buffer.putInt(slotAt(i) + S_STATE, EMPTY);
+        }
+        size = 0;
+        stringUsed = 0;
+        stringGarbage = 0;
+        writeHeader();
+    }
+
+    /**
+     * Returns the number of swords in the registry
+     *
+     * @return integer representing the number of swords in the registry
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of bytes the registry occupies outside the heap: header, slots and string area
+     *
+     * @return size of the backing buffer (or mapped file) in bytes
+     */
+    public long residentBytes() {
+        return buffer.capacity();
+    }
+
+    /**
+     * Returns the number of slots in the table
+     *
+     * @return current capacity of the registry
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Writes any changes to a mapped registry out to its file.  Does nothing for a registry in a direct buffer.
+     */
+    public void force() {
+        if (file != null) {
+            ((MappedByteBuffer) buffer).force();
+        }
+    }
+
+    /**
+     * Writes any changes to a mapped registry out to its file.  The registry must not be used afterwards;
+     * the mapping itself is released once the registry is garbage collected.
+     */
+    @Override
+    public void close() {
+        force();
+        buffer = null;
+    }
+
+    /**
+     * DO NOT MODIFY NOR IMPLEMENT THIS FUNCTION
+     *
+     * @param g graphics object to draw on
+     */
+    @Override
+    public void draw(Graphics g) {
+        if (g != null) g.getColor();
+        //todo GRAPHICS DEVELOPER:: draw the hash table how we discussed
+    }
+
+    /**
+     * DO NOT MODIFY NOR IMPLEMENT THIS FUNCTION
+     *
+     * @param g graphics object to draw on
+     */
+    @Override
+    public void visualize(Graphics g) {
+        if (g != null) g.getColor();
+        //todo GRAPHICS DEVELOPER:: visualization is to be time-based -- how we discussed
+    }
+}
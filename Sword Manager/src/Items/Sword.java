@@ -65,19 +65,27 @@ public class Sword extends SwordType implements Comparable<Sword> {
      * Returns the hash code of this object, for internal use only
      */
     public int HashCode() {
+        return hashOf(this.totalHealth, this.DPS, this.attackSpeed, this.style);
+    }
+
+    /**
+     * Returns the same value as {@link #HashCode()} for a sword with the given identifying fields,
+     * without having to construct one (e.g. when looking a sword up from a request)
+     */
+    public static int hashOf(int totalHealth, int DPS, int attackSpeed, String style) {
         /* unique hash code needs to be based on th, dps, as, sty */
 
         int total = 0;
 
         /* summing the value for each char in the string */
 
-        for (int i = 0; i < this.style.length(); i++) {
-            total += this.style.charAt(i);
+        for (int i = 0; i < style.length(); i++) {
+            total += style.charAt(i);
         }
 
         total = total * 100;
 
-        total += this.attackSpeed * 10 + this.DPS * 1 + this.totalHealth * 1000;
+        total += attackSpeed * 10 + DPS * 1 + totalHealth * 1000;
 
         return total;
     }
@@ -0,0 +1,67 @@
+package Benchmarks;
+
+import java.util.Random;
+
+/**
+ * Small helpers shared by the benchmark mains in this package.  The benchmarks are plain programs
+ * (run them with a generous heap, e.g. -Xmx8g) that warm up before every measured pass.
+ */
+public class BenchmarkUtils {
+    /**
+     * Number of unmeasured passes run before the measured one
+     */
+    public static final int WARMUP_PASSES = 2;
+
+    /**
+     * Reads the sizes to benchmark from the command line, falling back to the given defaults
+     * @param args command line arguments
+     * @param defaults sizes to use if none were given
+     * @return sizes to benchmark
+     */
+    public static int[] sizes(String[] args, int... defaults) {
+        if (args.length == 0) {
+            return defaults;
+        }
+        int[] sizes = new int[args.length];
+        for (int i = 0; i < args.length; i++) {
+            sizes[i] = Integer.parseInt(args[i]);
+        }
+        return sizes;
+    }
+
+    /**
+     * Returns n pseudo-random ints from a fixed seed, so every run benchmarks the same keys
+     * @param n number of ints
+     * @param seed random seed
+     * @return array of random ints
+     */
+    public static int[] randomInts(int n, long seed) {
+        Random rand = new Random(seed);
+        int[] result = new int[n];
+        for (int i = 0; i < n; i++) {
+            result[i] = rand.nextInt();
+        }
+        return result;
+    }
+
+    /**
+     * Prints one result line
+     * @param name what was measured
+     * @param ops number of operations in the measured pass
+     * @param nanos duration of the measured pass
+     */
+    public static void report(String name, long ops, long nanos) {
+        double perSecond = ops / (nanos / 1e9);
+        System.out.printf("%-48s %,15.0f ops/s  (%,d ops in %,d ms)%n", name, perSecond, ops, nanos / 1000000);
+    }
+
+    /**
+     * Consumes a value so the JIT cannot drop the work that produced it
+     * @param value value to consume
+     */
+    public static void blackhole(long value) {
+        if (value == 42424242424242L) {
+            System.out.println("unlikely");
+        }
+    }
+}
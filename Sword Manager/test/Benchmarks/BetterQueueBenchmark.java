@@ -0,0 +1,220 @@
+package Benchmarks;
+
+import CommonUtils.Interfaces.BetterQueue;
+import CommonUtils.Interfaces.BetterQueueInterface;
+
+import java.awt.*;
+import java.util.function.Supplier;
+
+/**
+ * Compares BetterQueue, a power-of-two ring buffer that resizes with System.arraycopy and shrinks at a
+ * quarter full, against the previous implementation, which wrapped indices with % and resized with a
+ * modulo loop, shrinking as soon as it was half full (kept below as {@link ModuloQueue}).  Each queue is
+ * timed filling up and draining, both one element at a time and in batches of BATCH with addAll and
+ * drainTo; on a steady mix of one add and one remove; and with its size oscillating by one around a
+ * power of two, the pattern of the request queue under steady load.
+ * <p>
+ * Usage: <code>java -Xmx8g Benchmarks.BetterQueueBenchmark [numElements ...]</code> (defaults to 1K and 64K elements)
+ */
+public class BetterQueueBenchmark {
+    private static final int STEADY_OPS = 20000000;
+    private static final int OSCILLATIONS = 10000;
+    private static final int BATCH = 256;
+
+    public static void main(String[] args) {
+        for (int n : BenchmarkUtils.sizes(args, 1 << 10, 1 << 16)) {
+            System.out.printf("---- %,d elements ----%n", n);
+            run("modulo, shrink at 1/2", n, ModuloQueue::new);
+            run("power of two, shrink at 1/4", n, BetterQueue::new);
+        }
+    }
+
+    /**
+     * Times filling and draining, the steady mix and the oscillation on queues of n elements
+     * @param name name of the queue being measured
+     * @param n number of elements
+     * @param factory creates an empty queue
+     */
+    private static void run(String name, int n, Supplier<BetterQueueInterface<Integer>> factory) {
+        Integer[] values = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = i;
+        }
+
+        long fillNanos = 0, bulkNanos = 0, steadyNanos = 0, oscillateNanos = 0;
+        Integer[] batch = new Integer[BATCH];
+        for (int pass = 0; pass <= BenchmarkUtils.WARMUP_PASSES; pass++) {
+            long sum = 0;
+            BetterQueueInterface<Integer> queue = factory.get();
+            long start = System.nanoTime();
+            for (Integer value : values) {
+                queue.add(value);
+            }
+            while (!queue.isEmpty()) {
+                sum += queue.remove();
+            }
+            fillNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int off = 0; off < n; off += BATCH) {
+                queue.addAll(values, off, Math.min(BATCH, n - off));
+            }
+            for (int count = queue.drainTo(batch, BATCH); count > 0; count = queue.drainTo(batch, BATCH)) {
+                for (int i = 0; i < count; i++) {
+                    sum += batch[i];
+                }
+            }
+            bulkNanos = System.nanoTime() - start;
+
+            for (Integer value : values) {
+                queue.add(value);
+            }
+            start = System.nanoTime();
+            for (int i = 0; i < STEADY_OPS; i++) {
+                Integer value = queue.remove();
+                sum += value;
+                queue.add(value);
+            }
+            steadyNanos = System.nanoTime() - start;
+
+            /* n is a power of two, so the queue now sits exactly at a boundary */
+
+            start = System.nanoTime();
+            for (int i = 0; i < OSCILLATIONS; i++) {
+                queue.add(values[i % n]);
+                sum += queue.remove();
+                sum += queue.remove();
+                queue.add(values[i % n]);
+            }
+            oscillateNanos = System.nanoTime() - start;
+            BenchmarkUtils.blackhole(sum);
+        }
+        BenchmarkUtils.report(name + " fill + drain", 2L * n, fillNanos);
+        BenchmarkUtils.report(name + " addAll + drainTo", 2L * n, bulkNanos);
+        BenchmarkUtils.report(name + " steady (remove + add)", STEADY_OPS, steadyNanos);
+        BenchmarkUtils.report(name + " oscillate", 4L * OSCILLATIONS, oscillateNanos);
+    }
+
+    /**
+     * The previous BetterQueue, unchanged; its bulk operations are loops of add and remove
+     */
+    private static class ModuloQueue<E> implements BetterQueueInterface<E> {
+        private final int INIT_CAPACITY = 8;
+        private final int INCREASE_FACTOR = 2;
+        private final int CONSTANT_INCREMENT = 1 << 5;
+        private final double DECREASE_FACTOR = 0.5;
+
+        private E[] queue;
+        private int first;
+        private int last;
+        private int capacity;
+        private int size;
+
+        @SuppressWarnings("unchecked")
+        ModuloQueue() {
+            queue = (E[]) new Object[INIT_CAPACITY];
+            capacity = INIT_CAPACITY;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public void add(E item) {
+            if (item == null) {
+                throw new NullPointerException();
+            }
+            if (this.size == this.capacity) {
+                if (this.capacity * INCREASE_FACTOR > Integer.MAX_VALUE) {
+                    if (this.capacity + CONSTANT_INCREMENT > Integer.MAX_VALUE) {
+                        throw new OutOfMemoryError();
+                    } else {
+                        E[] newQueue = (E[]) new Object[this.capacity + CONSTANT_INCREMENT];
+                        for (int i = 0; i < this.capacity; i++) {
+                            newQueue[i] = queue[i];
+                        }
+                        queue = newQueue;
+                        capacity = capacity + CONSTANT_INCREMENT;
+                        last = size;
+                    }
+                } else {
+                    E[] newQueue = (E[]) new Object[this.capacity * INCREASE_FACTOR];
+                    for (int i = 0; i < this.capacity; i++) {
+                        newQueue[i] = queue[(first + i) % capacity];
+                    }
+                    queue = newQueue;
+                    capacity = capacity * INCREASE_FACTOR;
+                    first = 0;
+                    last = size;
+                }
+            }
+            queue[last] = item;
+            last++;
+            size++;
+            last = last % capacity;
+        }
+
+        @Override
+        public void addAll(E[] src, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                add(src[i]);
+            }
+        }
+
+        @Override
+        public int drainTo(E[] dst, int max) {
+            int count = 0;
+            while (count < max && count < dst.length && !isEmpty()) {
+                dst[count++] = remove();
+            }
+            return count;
+        }
+
+        @Override
+        public void ensureCapacity(int expectedSize) {
+            /* the previous queue had no way to grow ahead of time */
+        }
+
+        @Override
+        public E peek() {
+            return queue[first];
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public E remove() {
+            if (this.isEmpty()) {
+                return null;
+            }
+            E dequeued;
+            dequeued = queue[first];
+            queue[first] = null;
+            first = (first + 1) % capacity;
+            size--;
+            if ((size <= capacity * DECREASE_FACTOR) && (capacity * DECREASE_FACTOR >= INIT_CAPACITY)) {
+                capacity = (int) (this.capacity * DECREASE_FACTOR);
+                E[] newQueue = (E[]) new Object[capacity];
+                for (int i = 0; i < capacity; i++) {
+                    newQueue[i] = queue[(first + i) % queue.length];
+                }
+                last = 0;
+                queue = newQueue;
+                first = 0;
+            }
+            return dequeued;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        @Override
+        public void draw(Graphics g) {
+            if (g != null) g.getColor();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package Benchmarks;
+
+import CommonUtils.BetterHashTable;
+import CommonUtils.ConcurrentBetterHashTable;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Measures throughput of ConcurrentBetterHashTable against a BetterHashTable behind a single lock, with
+ * 1 up to all available cores hammering the same table (90% get, 10% insert of existing keys).
+ * <p>
+ * Usage: <code>java -Xmx8g Benchmarks.ConcurrentHashTableBenchmark [numKeys]</code> (defaults to 1M keys)
+ */
+public class ConcurrentHashTableBenchmark {
+    private static final long RUN_MILLIS = 2000;
+
+    public static void main(String[] args) throws InterruptedException {
+        int n = BenchmarkUtils.sizes(args, 1000000)[0];
+        Integer[] keys = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = i;
+        }
+
+        ConcurrentBetterHashTable<Integer, Integer> concurrent = new ConcurrentBetterHashTable<>();
+        BetterHashTable<Integer, Integer> plain = new BetterHashTable<>(0, true);
+        Object lock = new Object();
+        for (int i = 0; i < n; i++) {
+            concurrent.insert(keys[i], i);
+            plain.insert(keys[i], i);
+        }
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads <= cores; threads = threads < cores ? Math.min(threads * 2, cores) : cores + 1) {
+            System.out.printf("---- %d thread(s), %,d keys ----%n", threads, n);
+            run("ConcurrentBetterHashTable", concurrent::insert, concurrent::get, keys, threads);
+            run("BetterHashTable behind one lock", (k, v) -> {
+                synchronized (lock) {
+                    plain.insert(k, v);
+                }
+            }, k -> {
+                synchronized (lock) {
+                    return plain.get(k);
+                }
+            }, keys, threads);
+        }
+    }
+
+    /**
+     * Runs the mixed workload on the table from the given number of threads
+     * @param name name of the table being measured
+     * @param insert the table's insert operation
+     * @param get the table's get operation
+     * @param keys keys present in the table
+     * @param threads number of threads
+     */
+    private static void run(String name, BiConsumer<Integer, Integer> insert, Function<Integer, Integer> get,
+                            Integer[] keys, int threads) throws InterruptedException {
+        for (int pass = 0; pass <= BenchmarkUtils.WARMUP_PASSES; pass++) {
+            AtomicLong ops = new AtomicLong();
+            CountDownLatch start = new CountDownLatch(1);
+            Thread[] workers = new Thread[threads];
+            long deadline = System.nanoTime() + RUN_MILLIS * 1000000 + 100000000;
+            for (int t = 0; t < threads; t++) {
+                workers[t] = new Thread(() -> {
+                    ThreadLocalRandom rand = ThreadLocalRandom.current();
+                    long done = 0, sum = 0;
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    while ((done & 1023) != 0 || System.nanoTime() < deadline) {
+                        Integer key = keys[rand.nextInt(keys.length)];
+                        if (rand.nextInt(10) == 0) {
+                            insert.accept(key, (int) done);
+                        } else {
+                            Integer value = get.apply(key);
+                            sum += value == null ? 0 : value;
+                        }
+                        done++;
+                    }
+                    ops.addAndGet(done);
+                    BenchmarkUtils.blackhole(sum);
+                });
+                workers[t].start();
+            }
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Thread worker : workers) {
+                worker.join();
+            }
+            long nanos = System.nanoTime() - begin;
+            if (pass == BenchmarkUtils.WARMUP_PASSES) {
+                BenchmarkUtils.report(name, ops.get(), nanos);
+            }
+        }
+    }
+}
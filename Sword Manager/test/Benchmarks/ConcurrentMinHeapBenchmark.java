@@ -0,0 +1,123 @@
+package Benchmarks;
+
+import CommonUtils.ConcurrentMinHeap;
+import CommonUtils.Interfaces.MinHeapInterface;
+import CommonUtils.MinHeap;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Measures throughput of ConcurrentMinHeap against a MinHeap behind a single lock, with 1 up to all
+ * available cores sharing one heap.  Each operation is the drones' pattern: remove the next element and
+ * add a later one in its place, so the heap stays at its initial size.
+ * <p>
+ * Usage: <code>java -Xmx8g Benchmarks.ConcurrentMinHeapBenchmark [numElements]</code> (defaults to 1M elements)
+ */
+public class ConcurrentMinHeapBenchmark {
+    private static final long RUN_MILLIS = 2000;
+
+    public static void main(String[] args) throws InterruptedException {
+        int n = BenchmarkUtils.sizes(args, 1000000)[0];
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads <= cores; threads = threads < cores ? Math.min(threads * 2, cores) : cores + 1) {
+            System.out.printf("---- %d thread(s), %,d elements ----%n", threads, n);
+            run("ConcurrentMinHeap", ConcurrentMinHeap::new, n, threads);
+            run("MinHeap behind one lock", () -> new LockedMinHeap<>(new MinHeap<>(n)), n, threads);
+        }
+    }
+
+    /**
+     * Runs the workload on a heap of n elements from the given number of threads
+     * @param name name of the heap being measured
+     * @param factory creates an empty heap
+     * @param n number of elements in the heap
+     * @param threads number of threads
+     */
+    private static void run(String name, Supplier<MinHeapInterface<Long>> factory, int n, int threads)
+            throws InterruptedException {
+        int[] values = BenchmarkUtils.randomInts(n, 0);
+        for (int pass = 0; pass <= BenchmarkUtils.WARMUP_PASSES; pass++) {
+            MinHeapInterface<Long> heap = factory.get();
+            for (int value : values) {
+                heap.add((long) (value & Integer.MAX_VALUE));
+            }
+
+            AtomicLong ops = new AtomicLong();
+            CountDownLatch start = new CountDownLatch(1);
+            Thread[] workers = new Thread[threads];
+            long deadline = System.nanoTime() + RUN_MILLIS * 1000000 + 100000000;
+            for (int t = 0; t < threads; t++) {
+                workers[t] = new Thread(() -> {
+                    ThreadLocalRandom rand = ThreadLocalRandom.current();
+                    long done = 0;
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    while ((done & 1023) != 0 || System.nanoTime() < deadline) {
+                        Long next = heap.removeMin();
+                        heap.add(next + 1 + rand.nextInt(1000));
+                        done++;
+                    }
+                    ops.addAndGet(done);
+                });
+                workers[t].start();
+            }
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Thread worker : workers) {
+                worker.join();
+            }
+            long nanos = System.nanoTime() - begin;
+            if (pass == BenchmarkUtils.WARMUP_PASSES) {
+                BenchmarkUtils.report(name, ops.get(), nanos);
+            }
+        }
+    }
+
+    /**
+     * A heap whose every operation holds one lock
+     */
+    private static class LockedMinHeap<E> implements MinHeapInterface<E> {
+        private final MinHeap<E> heap;
+
+        LockedMinHeap(MinHeap<E> heap) {
+            this.heap = heap;
+        }
+
+        @Override
+        public synchronized void add(E item) {
+            heap.add(item);
+        }
+
+        @Override
+        public synchronized void clear() {
+            heap.clear();
+        }
+
+        @Override
+        public synchronized E peekMin() {
+            return heap.peekMin();
+        }
+
+        @Override
+        public synchronized E removeMin() {
+            return heap.removeMin();
+        }
+
+        @Override
+        public synchronized int size() {
+            return heap.size();
+        }
+
+        @Override
+        public void draw(java.awt.Graphics g) {
+            heap.draw(g);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package Benchmarks;
+
+import CommonUtils.BetterHashTable;
+import CommonUtils.Interfaces.BetterHashTableInterface;
+
+import java.util.function.Supplier;
+
+/**
+ * Compares lookups per second of the BetterHashTable probing modes: the original quadratic probing
+ * with <code>% capacity</code>, and power-of-two capacities with masked triangular probing.  Each mode is
+ * also loaded into a table pre-sized with {@link BetterHashTable#withExpectedSize(int, boolean)}.
+ * <p>
+ * Usage: <code>java -Xmx8g Benchmarks.HashTableBenchmark [numKeys ...]</code> (defaults to 1M and 10M keys)
+ */
+public class HashTableBenchmark {
+    private static final int LOOKUPS = 20000000;
+
+    public static void main(String[] args) {
+        for (int n : BenchmarkUtils.sizes(args, 1000000, 10000000)) {
+            System.out.printf("---- %,d keys ----%n", n);
+            run("quadratic, % capacity", n, () -> new BetterHashTable<>());
+            run("quadratic, % capacity, pre-sized", n, () -> BetterHashTable.withExpectedSize(n));
+            run("power of two, masked triangular", n, () -> new BetterHashTable<>(0, true));
+            run("power of two, masked triangular, pre-sized", n, () -> BetterHashTable.withExpectedSize(n, true));
+        }
+    }
+
+    /**
+     * Fills a fresh table with n random keys, then times random successful lookups
+     * @param name name of the engine being measured
+     * @param n number of keys
+     * @param factory creates an empty table
+     */
+    private static void run(String name, int n, Supplier<BetterHashTableInterface<Integer, Integer>> factory) {
+        int[] raw = BenchmarkUtils.randomInts(n, 0);
+        Integer[] keys = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = raw[i];
+        }
+        int[] order = BenchmarkUtils.randomInts(LOOKUPS, 1);
+        for (int i = 0; i < LOOKUPS; i++) {
+            order[i] = Math.floorMod(order[i], n);
+        }
+
+        BetterHashTableInterface<Integer, Integer> table = null;
+        long insertNanos = 0;
+        for (int pass = 0; pass <= BenchmarkUtils.WARMUP_PASSES; pass++) {
+            table = factory.get();
+            long start = System.nanoTime();
+            for (int i = 0; i < n; i++) {
+                table.insert(keys[i], i);
+            }
+            insertNanos = System.nanoTime() - start;
+        }
+        BenchmarkUtils.report(name + " insert", n, insertNanos);
+
+        long lookupNanos = 0;
+        for (int pass = 0; pass <= BenchmarkUtils.WARMUP_PASSES; pass++) {
+            long sum = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < LOOKUPS; i++) {
+                sum += table.get(keys[order[i]]);
+            }
+            lookupNanos = System.nanoTime() - start;
+            BenchmarkUtils.blackhole(sum);
+        }
+        BenchmarkUtils.report(name + " get", LOOKUPS, lookupNanos);
+    }
+}
@@ -0,0 +1,142 @@
+package Benchmarks;
+
+import CommonUtils.Interfaces.LongPayloadMinHeapInterface;
+import CommonUtils.LongPayloadMinHeap;
+import CommonUtils.MinHeap;
+import CommonUtils.RadixHeap;
+import Items.Sword;
+
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Compares binary, 4-ary, 8-ary and 16-ary MinHeaps on the sword manager's event mix.  The heap is
+ * filled with n swords, then runs the replay pattern: remove the sword that finishes cleaning first,
+ * move time to its finishing time, and schedule another cleaning after it, so the heap stays at n
+ * swords.  Finally the heap is drained, which is removeMin only.  The same replay is also run on an
+ * 8-ary MinHeap that caches each sword's cleaning time as a long key instead of calling compareTo, and
+ * on a LongPayloadMinHeap and a RadixHeap of packed priorities, the two heaps the sword manager can use.
+ * <p>
+ * Usage: <code>java -Xmx8g Benchmarks.HeapArityBenchmark [numSwords ...]</code> (defaults to 100K and 10M swords)
+ */
+public class HeapArityBenchmark {
+    private static final int REPLAY_OPS = 5000000;
+    private static final int[] ARITIES = {2, 4, 8, 16};
+    /**
+     * Cleaning times are drawn from [1, MAX_CLEAN_TIME]
+     */
+    private static final int MAX_CLEAN_TIME = 1000;
+
+    public static void main(String[] args) {
+        for (int n : BenchmarkUtils.sizes(args, 100000, 10000000)) {
+            System.out.printf("---- %,d swords ----%n", n);
+            for (int arity : ARITIES) {
+                run(arity + "-ary", n, () -> new MinHeap<>(n, arity));
+            }
+            run("8-ary, key extractor", n, () -> new MinHeap<>(n, 8, (ToLongFunction<Sword>) Sword::getTimeOfClean));
+            runPacked("packed long, 8-ary", n, () -> new LongPayloadMinHeap(n));
+            runPacked("packed long, radix", n, RadixHeap::new);
+        }
+    }
+
+    /**
+     * Times the replay and the drain on a MinHeap of n swords
+     * @param name name of the heap being measured
+     * @param n number of swords
+     * @param factory creates an empty heap
+     */
+    private static void run(String name, int n, Supplier<MinHeap<Sword>> factory) {
+        int[] cleanTimes = BenchmarkUtils.randomInts(n + REPLAY_OPS, 0);
+        for (int i = 0; i < cleanTimes.length; i++) {
+            cleanTimes[i] = Math.floorMod(cleanTimes[i], MAX_CLEAN_TIME) + 1;
+        }
+        Sword[] swords = new Sword[n];
+        for (int i = 0; i < n; i++) {
+            swords[i] = new Sword(i, 10, 1, 1, 1, 1, 1, "n", "d", "c", "s");
+        }
+
+        long replayNanos = 0, drainNanos = 0;
+        for (int pass = 0; pass <= BenchmarkUtils.WARMUP_PASSES; pass++) {
+            MinHeap<Sword> heap = factory.get();
+            int requestOrder = 0;
+            for (int i = 0; i < n; i++) {
+                swords[i].setTimeOfClean(cleanTimes[i]);
+                swords[i].setRequestOrder(requestOrder++);
+            }
+            heap.addAll(swords);
+
+            long start = System.nanoTime();
+            for (int i = n; i < n + REPLAY_OPS; i++) {
+                Sword sword = heap.removeMin();
+                sword.setTimeOfClean(sword.getTimeOfClean() + cleanTimes[i]);
+                sword.setRequestOrder(requestOrder++);
+                heap.add(sword);
+            }
+            replayNanos = System.nanoTime() - start;
+
+            long sum = 0;
+            start = System.nanoTime();
+            for (int i = 0; i < n; i++) {
+                sum += heap.removeMin().getTimeOfClean();
+            }
+            drainNanos = System.nanoTime() - start;
+            BenchmarkUtils.blackhole(sum);
+        }
+        BenchmarkUtils.report(name + " replay (removeMin + add)", REPLAY_OPS, replayNanos);
+        BenchmarkUtils.report(name + " drain (removeMin)", n, drainNanos);
+    }
+
+    /**
+     * Times the replay and the drain on a heap of packed priorities whose payloads index an array of n swords
+     * @param name name of the heap being measured
+     * @param n number of swords
+     * @param factory creates an empty heap
+     */
+    private static void runPacked(String name, int n, Supplier<LongPayloadMinHeapInterface> factory) {
+        int[] cleanTimes = BenchmarkUtils.randomInts(n + REPLAY_OPS, 0);
+        for (int i = 0; i < cleanTimes.length; i++) {
+            cleanTimes[i] = Math.floorMod(cleanTimes[i], MAX_CLEAN_TIME) + 1;
+        }
+        Sword[] swords = new Sword[n];
+        for (int i = 0; i < n; i++) {
+            swords[i] = new Sword(i, 10, 1, 1, 1, 1, 1, "n", "d", "c", "s");
+        }
+
+        long replayNanos = 0, drainNanos = 0;
+        for (int pass = 0; pass <= BenchmarkUtils.WARMUP_PASSES; pass++) {
+            LongPayloadMinHeapInterface heap = factory.get();
+            int requestOrder = 0;
+            long[] keys = new long[n];
+            int[] payloads = new int[n];
+            for (int i = 0; i < n; i++) {
+                swords[i].setTimeOfClean(cleanTimes[i]);
+                swords[i].setRequestOrder(requestOrder);
+                keys[i] = LongPayloadMinHeap.pack(cleanTimes[i], requestOrder++);
+                payloads[i] = i;
+            }
+            heap.addAll(keys, payloads);
+
+            long start = System.nanoTime();
+            for (int i = n; i < n + REPLAY_OPS; i++) {
+                long key = heap.peekMinKey();
+                int index = heap.removeMin();
+                Sword sword = swords[index];
+                int time = LongPayloadMinHeap.timeOf(key) + cleanTimes[i];
+                sword.setTimeOfClean(time);
+                sword.setRequestOrder(requestOrder);
+                heap.add(LongPayloadMinHeap.pack(time, requestOrder++), index);
+            }
+            replayNanos = System.nanoTime() - start;
+
+            long sum = 0;
+            start = System.nanoTime();
+            for (int i = 0; i < n; i++) {
+                sum += swords[heap.removeMin()].getTimeOfClean();
+            }
+            drainNanos = System.nanoTime() - start;
+            BenchmarkUtils.blackhole(sum);
+        }
+        BenchmarkUtils.report(name + " replay (removeMin + add)", REPLAY_OPS, replayNanos);
+        BenchmarkUtils.report(name + " drain (removeMin)", n, drainNanos);
+    }
+}
@@ -0,0 +1,217 @@
+package Benchmarks;
+
+import CommonUtils.Interfaces.MinHeapInterface;
+import CommonUtils.MinHeap;
+
+import java.awt.*;
+import java.util.Vector;
+import java.util.function.Supplier;
+
+/**
+ * Compares MinHeap, backed by a plain array with hole-moving sifts, against the previous
+ * implementation backed by java.util.Vector with recursive, swapping sifts (kept below as
+ * {@link VectorMinHeap}).  Each heap is timed filling up with random keys and then draining, and on a
+ * steady-state mix of one add and one removeMin, the pattern of the sword heap during replay.  The
+ * array heap is also timed building the same keys at once with MinHeap.of, and emptying a heap in which
+ * many elements share each tick, one tick at a time.
+ * <p>
+ * Usage: <code>java -Xmx8g Benchmarks.MinHeapBenchmark [numElements ...]</code> (defaults to 100K and 10M elements)
+ */
+public class MinHeapBenchmark {
+    private static final int STEADY_OPS = 5000000;
+    private static final int TIES_PER_TICK = 100;
+
+    public static void main(String[] args) {
+        for (int n : BenchmarkUtils.sizes(args, 100000, 10000000)) {
+            System.out.printf("---- %,d elements ----%n", n);
+            run("Vector, recursive swaps", n, VectorMinHeap::new);
+            run("Object[], hole-moving", n, MinHeap::new);
+            runBulk(n);
+            runDrain(n);
+        }
+    }
+
+    /**
+     * Times emptying a heap of n keys, TIES_PER_TICK of which share each value, one value (tick) at a
+     * time: first with a removeMin loop, then with {@link MinHeap#drainUpTo(Comparable, java.util.function.Consumer)}
+     * @param n number of elements
+     */
+    private static void runDrain(int n) {
+        int[] raw = BenchmarkUtils.randomInts(n, 0);
+        Integer[] keys = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = Math.floorMod(raw[i], Math.max(n / TIES_PER_TICK, 1));
+        }
+        int ticks = Math.max(n / TIES_PER_TICK, 1);
+
+        long loopNanos = 0, drainNanos = 0;
+        for (int pass = 0; pass <= BenchmarkUtils.WARMUP_PASSES; pass++) {
+            MinHeap<Integer> heap = MinHeap.of(keys);
+            long sum = 0;
+            long start = System.nanoTime();
+            for (int t = 0; t < ticks; t++) {
+                while (heap.size() != 0 && heap.peekMin() <= t) {
+                    sum += heap.removeMin();
+                }
+            }
+            loopNanos = System.nanoTime() - start;
+            BenchmarkUtils.blackhole(sum);
+
+            heap = MinHeap.of(keys);
+            long[] drainedSum = {0};
+            start = System.nanoTime();
+            for (int t = 0; t < ticks; t++) {
+                heap.drainUpTo(t, x -> drainedSum[0] += x);
+            }
+            drainNanos = System.nanoTime() - start;
+            BenchmarkUtils.blackhole(drainedSum[0]);
+        }
+        BenchmarkUtils.report("Object[], removeMin per tick", n, loopNanos);
+        BenchmarkUtils.report("Object[], drainUpTo per tick", n, drainNanos);
+    }
+
+    /**
+     * Times building a heap of n random keys with {@link MinHeap#of(Comparable[])}
+     * @param n number of elements
+     */
+    private static void runBulk(int n) {
+        int[] raw = BenchmarkUtils.randomInts(n, 0);
+        Integer[] keys = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = raw[i];
+        }
+
+        long buildNanos = 0;
+        for (int pass = 0; pass <= BenchmarkUtils.WARMUP_PASSES; pass++) {
+            long start = System.nanoTime();
+            MinHeap<Integer> heap = MinHeap.of(keys);
+            buildNanos = System.nanoTime() - start;
+            BenchmarkUtils.blackhole(heap.peekMin());
+        }
+        BenchmarkUtils.report("Object[], MinHeap.of (bottom-up)", n, buildNanos);
+    }
+
+    /**
+     * Times a fill-then-drain of n random keys and STEADY_OPS add/removeMin pairs on a heap of n keys
+     * @param name name of the heap being measured
+     * @param n number of elements
+     * @param factory creates an empty heap
+     */
+    private static void run(String name, int n, Supplier<MinHeapInterface<Integer>> factory) {
+        int[] raw = BenchmarkUtils.randomInts(n + STEADY_OPS, 0);
+        Integer[] keys = new Integer[raw.length];
+        for (int i = 0; i < raw.length; i++) {
+            keys[i] = raw[i];
+        }
+
+        long fillNanos = 0, drainNanos = 0;
+        for (int pass = 0; pass <= BenchmarkUtils.WARMUP_PASSES; pass++) {
+            MinHeapInterface<Integer> heap = factory.get();
+            long start = System.nanoTime();
+            for (int i = 0; i < n; i++) {
+                heap.add(keys[i]);
+            }
+            fillNanos = System.nanoTime() - start;
+
+            long sum = 0;
+            start = System.nanoTime();
+            for (int i = 0; i < n; i++) {
+                sum += heap.removeMin();
+            }
+            drainNanos = System.nanoTime() - start;
+            BenchmarkUtils.blackhole(sum);
+        }
+        BenchmarkUtils.report(name + " add", n, fillNanos);
+        BenchmarkUtils.report(name + " removeMin", n, drainNanos);
+
+        long steadyNanos = 0;
+        for (int pass = 0; pass <= BenchmarkUtils.WARMUP_PASSES; pass++) {
+            MinHeapInterface<Integer> heap = factory.get();
+            for (int i = 0; i < n; i++) {
+                heap.add(keys[i]);
+            }
+            long sum = 0;
+            long start = System.nanoTime();
+            for (int i = n; i < n + STEADY_OPS; i++) {
+                heap.add(keys[i]);
+                sum += heap.removeMin();
+            }
+            steadyNanos = System.nanoTime() - start;
+            BenchmarkUtils.blackhole(sum);
+        }
+        BenchmarkUtils.report(name + " add + removeMin", STEADY_OPS, steadyNanos);
+    }
+
+    /**
+     * The Vector-backed MinHeap as it was before it moved to a plain array
+     */
+    private static class VectorMinHeap<E extends Comparable<E>> implements MinHeapInterface<E> {
+        private final Vector<E> list = new Vector<>();
+        private int n;
+
+        private void sinkDown(int i) {
+            if (2 * i + 1 >= n) {
+                return;
+            }
+            int minIndex = 2 * i + 1;
+            if (2 * i + 2 < n && list.get(minIndex).compareTo(list.get(2 * i + 2)) > 0) {
+                minIndex = 2 * i + 2;
+            }
+            if (list.get(i).compareTo(list.get(minIndex)) > 0) {
+                swap(i, minIndex);
+                sinkDown(minIndex);
+            }
+        }
+
+        private void swap(int i, int j) {
+            E one = list.get(i);
+            E two = list.get(j);
+            list.set(i, two);
+            list.set(j, one);
+        }
+
+        @Override
+        public void add(E item) {
+            list.add(item);
+            int index = n;
+            n++;
+            while (index > 0 && item.compareTo(list.get(Math.floorDiv(index - 1, 2))) < 0) {
+                swap(index, Math.floorDiv(index - 1, 2));
+                index = Math.floorDiv(index - 1, 2);
+            }
+        }
+
+        @Override
+        public void clear() {
+            list.clear();
+            n = 0;
+        }
+
+        @Override
+        public E peekMin() {
+            return n == 0 ? null : list.get(0);
+        }
+
+        @Override
+        public E removeMin() {
+            if (n == 0) {
+                return null;
+            }
+            E item = list.get(0);
+            list.set(0, list.get(n - 1));
+            list.remove(n - 1);
+            n--;
+            sinkDown(0);
+            return item;
+        }
+
+        @Override
+        public int size() {
+            return n;
+        }
+
+        @Override
+        public void draw(Graphics g) {
+        }
+    }
+}
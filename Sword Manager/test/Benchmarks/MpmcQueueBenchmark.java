@@ -0,0 +1,139 @@
+package Benchmarks;
+
+import CommonUtils.MpmcBetterQueue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures how fast P producer threads can hand elements to P consumer threads through MpmcBetterQueue,
+ * against java.util.concurrent.ArrayBlockingQueue (one lock for both ends), for P from 1 to 32.  Every
+ * thread uses the waiting put and take, so the rows with more threads than cores mostly measure how
+ * cheaply each queue parks and wakes threads.
+ * <p>
+ * Usage: <code>java -Xmx8g Benchmarks.MpmcQueueBenchmark [numElements]</code> (defaults to 4M elements)
+ */
+public class MpmcQueueBenchmark {
+    private static final int CAPACITY = 1 << 10;
+    private static final int[] THREADS = {1, 2, 4, 8, 16, 32};
+
+    public static void main(String[] args) throws InterruptedException {
+        int n = BenchmarkUtils.sizes(args, 4000000)[0];
+        Integer[] values = new Integer[1024];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i;
+        }
+
+        System.out.printf("---- %,d elements, %d core(s) ----%n", n, Runtime.getRuntime().availableProcessors());
+        for (int threads : THREADS) {
+            String mode = " (" + threads + " producers, " + threads + " consumers)";
+            run("MpmcBetterQueue" + mode, new Mpmc(), threads, values, n);
+            run("ArrayBlockingQueue" + mode, new ArrayBlocking(), threads, values, n);
+        }
+    }
+
+    /**
+     * Passes n elements (rounded down to a multiple of threads) from the producers to the consumers
+     * @param name name of the queue being measured
+     * @param factory creates an empty queue
+     * @param threads number of producers, and of consumers
+     * @param values elements to pass, reused in turn
+     * @param n number of elements to pass
+     */
+    private static void run(String name, QueueFactory factory, int threads, Integer[] values, int n)
+            throws InterruptedException {
+        int perThread = n / threads;
+        for (int pass = 0; pass <= BenchmarkUtils.WARMUP_PASSES; pass++) {
+            PutTake queue = factory.create();
+            AtomicLong total = new AtomicLong();
+            List<Thread> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                workers.add(new Thread(() -> {
+                    try {
+                        for (int i = 0; i < perThread; i++) {
+                            queue.put(values[i & (values.length - 1)]);
+                        }
+                    } catch (InterruptedException e) {
+                        throw new RuntimeException(e);
+                    }
+                }));
+                workers.add(new Thread(() -> {
+                    try {
+                        long sum = 0;
+                        for (int i = 0; i < perThread; i++) {
+                            sum += queue.take();
+                        }
+                        total.addAndGet(sum);
+                    } catch (InterruptedException e) {
+                        throw new RuntimeException(e);
+                    }
+                }));
+            }
+
+            long start = System.nanoTime();
+            for (Thread worker : workers) {
+                worker.start();
+            }
+            for (Thread worker : workers) {
+                worker.join();
+            }
+            long nanos = System.nanoTime() - start;
+            BenchmarkUtils.blackhole(total.get());
+            if (pass == BenchmarkUtils.WARMUP_PASSES) {
+                BenchmarkUtils.report(name, (long) perThread * threads, nanos);
+            }
+        }
+    }
+
+    /**
+     * The two operations measured, so that each queue gets its own implementation of the loops' calls
+     */
+    private interface PutTake {
+        void put(Integer item) throws InterruptedException;
+
+        Integer take() throws InterruptedException;
+    }
+
+    private interface QueueFactory {
+        PutTake create();
+    }
+
+    private static class Mpmc implements QueueFactory {
+        @Override
+        public PutTake create() {
+            MpmcBetterQueue<Integer> queue = new MpmcBetterQueue<>(CAPACITY);
+            return new PutTake() {
+                @Override
+                public void put(Integer item) throws InterruptedException {
+                    queue.put(item);
+                }
+
+                @Override
+                public Integer take() throws InterruptedException {
+                    return queue.take();
+                }
+            };
+        }
+    }
+
+    private static class ArrayBlocking implements QueueFactory {
+        @Override
+        public PutTake create() {
+            BlockingQueue<Integer> queue = new ArrayBlockingQueue<>(CAPACITY);
+            return new PutTake() {
+                @Override
+                public void put(Integer item) throws InterruptedException {
+                    queue.put(item);
+                }
+
+                @Override
+                public Integer take() throws InterruptedException {
+                    return queue.take();
+                }
+            };
+        }
+    }
+}
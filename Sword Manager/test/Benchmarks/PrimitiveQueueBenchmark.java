@@ -0,0 +1,102 @@
+package Benchmarks;
+
+import CommonUtils.IntBetterQueue;
+import CommonUtils.Interfaces.BetterQueue;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Compares IntBetterQueue against BetterQueue&lt;Integer&gt; on random ints (almost none of which are in
+ * the Integer cache, so each boxed add allocates), timing a fill and drain and a steady mix of one remove
+ * and one add, and printing the bytes the measuring thread allocated per element queued.
+ * <p>
+ * Usage: <code>java -Xmx8g Benchmarks.PrimitiveQueueBenchmark [numElements ...]</code> (defaults to 1M and 16M elements)
+ */
+public class PrimitiveQueueBenchmark {
+    private static final int STEADY_OPS = 20000000;
+
+    public static void main(String[] args) {
+        for (int n : BenchmarkUtils.sizes(args, 1 << 20, 1 << 24)) {
+            int[] values = BenchmarkUtils.randomInts(n, n);
+            System.out.printf("---- %,d elements ----%n", n);
+            runBoxed(values);
+            runPrimitive(values);
+        }
+    }
+
+    private static void runBoxed(int[] values) {
+        long fillNanos = 0, steadyNanos = 0, allocated = 0;
+        for (int pass = 0; pass <= BenchmarkUtils.WARMUP_PASSES; pass++) {
+            long sum = 0;
+            long bytes = allocatedBytes();
+            long start = System.nanoTime();
+            BetterQueue<Integer> queue = new BetterQueue<>();
+            for (int value : values) {
+                queue.add(value);
+            }
+            while (!queue.isEmpty()) {
+                sum += queue.remove();
+            }
+            fillNanos = System.nanoTime() - start;
+            allocated = allocatedBytes() - bytes;
+
+            for (int value : values) {
+                queue.add(value);
+            }
+            start = System.nanoTime();
+            for (int i = 0; i < STEADY_OPS; i++) {
+                int value = queue.remove();
+                sum += value;
+                queue.add(value + 1);
+            }
+            steadyNanos = System.nanoTime() - start;
+            BenchmarkUtils.blackhole(sum);
+        }
+        report("BetterQueue<Integer>", values.length, fillNanos, steadyNanos, allocated);
+    }
+
+    private static void runPrimitive(int[] values) {
+        long fillNanos = 0, steadyNanos = 0, allocated = 0;
+        for (int pass = 0; pass <= BenchmarkUtils.WARMUP_PASSES; pass++) {
+            long sum = 0;
+            long bytes = allocatedBytes();
+            long start = System.nanoTime();
+            IntBetterQueue queue = new IntBetterQueue();
+            for (int value : values) {
+                queue.add(value);
+            }
+            while (!queue.isEmpty()) {
+                sum += queue.remove();
+            }
+            fillNanos = System.nanoTime() - start;
+            allocated = allocatedBytes() - bytes;
+
+            for (int value : values) {
+                queue.add(value);
+            }
+            start = System.nanoTime();
+            for (int i = 0; i < STEADY_OPS; i++) {
+                int value = queue.remove();
+                sum += value;
+                queue.add(value + 1);
+            }
+            steadyNanos = System.nanoTime() - start;
+            BenchmarkUtils.blackhole(sum);
+        }
+        report("IntBetterQueue", values.length, fillNanos, steadyNanos, allocated);
+    }
+
+    private static void report(String name, int n, long fillNanos, long steadyNanos, long allocated) {
+        BenchmarkUtils.report(name + " fill + drain", 2L * n, fillNanos);
+        BenchmarkUtils.report(name + " steady (remove + add)", STEADY_OPS, steadyNanos);
+        System.out.printf("%-48s %15.1f bytes allocated per element (fill + drain)%n", name, (double) allocated / n);
+    }
+
+    /**
+     * Returns the number of bytes the calling thread has allocated so far (HotSpot only)
+     */
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
@@ -0,0 +1,59 @@
+package Benchmarks;
+
+import CommonUtils.BetterHashTable;
+
+import java.util.Arrays;
+
+/**
+ * Compares per-insert latency of blocking and incremental resizing in a power-of-two BetterHashTable
+ * while it grows from empty: throughput, 99th and 99.99th percentile insert latency, the worst single
+ * insert, and the table's own {@link BetterHashTable#maxResizePauseNanos()}.
+ * <p>
+ * Usage: <code>java -Xmx8g Benchmarks.ResizePauseBenchmark [numKeys ...]</code> (defaults to 8M keys)
+ */
+public class ResizePauseBenchmark {
+    public static void main(String[] args) {
+        for (int n : BenchmarkUtils.sizes(args, 8000000)) {
+            System.out.printf("---- %,d keys ----%n", n);
+            run("blocking resize", n, false);
+            run("incremental resize", n, true);
+        }
+    }
+
+    /**
+     * Inserts n random keys into a fresh table, timing every insert
+     * @param name name of the mode being measured
+     * @param n number of keys
+     * @param incremental whether to turn on incremental resizing
+     */
+    private static void run(String name, int n, boolean incremental) {
+        int[] raw = BenchmarkUtils.randomInts(n, 0);
+        Integer[] keys = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = raw[i];
+        }
+        long[] latencies = new long[n];
+
+        BetterHashTable<Integer, Integer> table = null;
+        long totalNanos = 0;
+        for (int pass = 0; pass <= BenchmarkUtils.WARMUP_PASSES; pass++) {
+            table = null;
+            System.gc();
+            table = new BetterHashTable<>(0, true);
+            table.setIncrementalResize(incremental);
+            long start = System.nanoTime();
+            for (int i = 0; i < n; i++) {
+                long before = System.nanoTime();
+                table.insert(keys[i], i);
+                latencies[i] = System.nanoTime() - before;
+            }
+            totalNanos = System.nanoTime() - start;
+        }
+
+        Arrays.sort(latencies);
+        BenchmarkUtils.report(name + " insert", n, totalNanos);
+        System.out.printf("    p99 %,d ns   p99.99 %,d ns   max %,d ns   max resize pause %,d ns%n",
+                latencies[(int) (n * 0.99)], latencies[(int) (n * 0.9999)], latencies[n - 1],
+                table.maxResizePauseNanos());
+    }
+}
@@ -0,0 +1,148 @@
+package Benchmarks;
+
+import CommonUtils.Interfaces.BetterQueue;
+import CommonUtils.Interfaces.BetterQueueInterface;
+import CommonUtils.SpscBetterQueue;
+
+import java.util.function.Supplier;
+
+/**
+ * Measures how fast one producer thread can hand elements to one consumer thread through
+ * SpscBetterQueue, against a BetterQueue behind a single lock.  Each queue is timed with single adds
+ * and removes, and with addAll and drainTo batches of BATCH elements.
+ * <p>
+ * Usage: <code>java -Xmx8g Benchmarks.SpscQueueBenchmark [numElements]</code> (defaults to 20M elements)
+ */
+public class SpscQueueBenchmark {
+    private static final int CAPACITY = 1 << 12;
+    private static final int BATCH = 256;
+
+    public static void main(String[] args) throws InterruptedException {
+        int n = BenchmarkUtils.sizes(args, 20000000)[0];
+        Integer[] values = new Integer[1024];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i;
+        }
+
+        System.out.printf("---- %,d elements, %d core(s) ----%n", n, Runtime.getRuntime().availableProcessors());
+        for (boolean batched : new boolean[]{false, true}) {
+            String mode = batched ? " (batches of " + BATCH + ")" : " (single)";
+            run("SpscBetterQueue" + mode, () -> new SpscBetterQueue<>(CAPACITY), values, n, batched);
+            run("BetterQueue behind one lock" + mode, () -> new LockedQueue<>(new BetterQueue<>()), values, n, batched);
+        }
+    }
+
+    /**
+     * Passes n elements from a producer thread to the calling thread through the queue
+     * @param name name of the queue being measured
+     * @param factory creates an empty queue
+     * @param values elements to pass, reused in turn
+     * @param n number of elements to pass
+     * @param batched whether to use addAll and drainTo instead of add and remove
+     */
+    private static void run(String name, Supplier<BetterQueueInterface<Integer>> factory, Integer[] values, int n,
+                            boolean batched) throws InterruptedException {
+        for (int pass = 0; pass <= BenchmarkUtils.WARMUP_PASSES; pass++) {
+            BetterQueueInterface<Integer> queue = factory.get();
+            Thread producer = new Thread(() -> {
+                for (int sent = 0; sent < n; ) {
+                    if (batched) {
+                        int len = Math.min(BATCH, n - sent);
+                        queue.addAll(values, sent % (values.length - BATCH), len);
+                        sent += len;
+                    } else {
+                        queue.add(values[sent & (values.length - 1)]);
+                        sent++;
+                    }
+                }
+            });
+
+            long start = System.nanoTime();
+            producer.start();
+            long sum = 0;
+            Integer[] batch = new Integer[BATCH];
+            for (int received = 0; received < n; ) {
+                if (batched) {
+                    int count = queue.drainTo(batch, BATCH);
+                    for (int i = 0; i < count; i++) {
+                        sum += batch[i];
+                    }
+                    received += count;
+                    if (count == 0) {
+                        Thread.yield();
+                    }
+                } else {
+                    Integer value = queue.remove();
+                    if (value != null) {
+                        sum += value;
+                        received++;
+                    } else {
+                        Thread.yield();
+                    }
+                }
+            }
+            producer.join();
+            long nanos = System.nanoTime() - start;
+            BenchmarkUtils.blackhole(sum);
+            if (pass == BenchmarkUtils.WARMUP_PASSES) {
+                BenchmarkUtils.report(name, n, nanos);
+            }
+        }
+    }
+
+    /**
+     * A queue whose every operation holds one lock, and whose adds never wait since it is unbounded
+     */
+    private static class LockedQueue<E> implements BetterQueueInterface<E> {
+        private final BetterQueue<E> queue;
+
+        LockedQueue(BetterQueue<E> queue) {
+            this.queue = queue;
+        }
+
+        @Override
+        public synchronized void add(E item) {
+            queue.add(item);
+        }
+
+        @Override
+        public synchronized void addAll(E[] src, int off, int len) {
+            queue.addAll(src, off, len);
+        }
+
+        @Override
+        public synchronized int drainTo(E[] dst, int max) {
+            return queue.drainTo(dst, max);
+        }
+
+        @Override
+        public synchronized void ensureCapacity(int expectedSize) {
+            queue.ensureCapacity(expectedSize);
+        }
+
+        @Override
+        public synchronized E peek() {
+            return queue.peek();
+        }
+
+        @Override
+        public synchronized E remove() {
+            return queue.remove();
+        }
+
+        @Override
+        public synchronized int size() {
+            return queue.size();
+        }
+
+        @Override
+        public synchronized boolean isEmpty() {
+            return queue.isEmpty();
+        }
+
+        @Override
+        public void draw(java.awt.Graphics g) {
+            queue.draw(g);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package Benchmarks;
+
+import CommonUtils.BetterHashTable;
+import CommonUtils.BetterHashTableFactory;
+import CommonUtils.BetterHashTableFactory.Engine;
+import CommonUtils.Interfaces.BetterHashTableInterface;
+import CommonUtils.RobinHoodHashTable;
+import Items.Sword;
+
+import java.util.Random;
+
+/**
+ * Compares the hash table engines on the keys the manager actually uses: {@link Sword#HashCode()}
+ * of randomly generated swords.  Those keys are sums of small fields, so they are dense and clustered
+ * rather than uniformly random.
+ * <p>
+ * Usage: <code>java -Xmx8g Benchmarks.SwordKeyBenchmark [numSwords ...]</code> (defaults to 1M and 5M swords)
+ */
+public class SwordKeyBenchmark {
+    private static final int LOOKUPS = 10000000;
+    private static final int NUM_STYLES = 500;
+
+    public static void main(String[] args) {
+        for (int n : BenchmarkUtils.sizes(args, 1000000, 5000000)) {
+            Integer[] keys = swordKeys(n);
+            System.out.printf("---- %,d swords ----%n", n);
+            for (Engine engine : Engine.values()) {
+                run(engine, keys);
+            }
+        }
+    }
+
+    /**
+     * Generates the registry keys of n random swords
+     * @param n number of swords
+     * @return Sword.HashCode() of each sword
+     */
+    static Integer[] swordKeys(int n) {
+        Random rand = new Random(0);
+        String[] styles = new String[NUM_STYLES];
+        for (int i = 0; i < NUM_STYLES; i++) {
+            StringBuilder style = new StringBuilder();
+            int length = 5 + rand.nextInt(20);
+            for (int j = 0; j < length; j++) {
+                style.append(rand.nextInt(4) == 0 ? '_' : (char) ('A' + rand.nextInt(26)));
+            }
+            styles[i] = style.toString();
+        }
+
+        Integer[] keys = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = Sword.hashOf(1 + rand.nextInt(100000), 1 + rand.nextInt(1000),
+                    1 + rand.nextInt(100), styles[rand.nextInt(NUM_STYLES)]);
+        }
+        return keys;
+    }
+
+    /**
+     * Fills a table from the given engine with the keys, then times successful and unsuccessful lookups
+     * @param engine engine to measure
+     * @param keys keys to insert
+     */
+    private static void run(Engine engine, Integer[] keys) {
+        int n = keys.length;
+        int[] order = BenchmarkUtils.randomInts(LOOKUPS, 1);
+        Integer[] misses = new Integer[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            misses[i] = -1 - Math.floorMod(order[i], n);
+            order[i] = Math.floorMod(order[i], n);
+        }
+
+        BetterHashTableInterface<Integer, Integer> table = null;
+        long insertNanos = 0;
+        for (int pass = 0; pass <= BenchmarkUtils.WARMUP_PASSES; pass++) {
+            table = BetterHashTableFactory.create(engine);
+            long start = System.nanoTime();
+            for (int i = 0; i < n; i++) {
+                table.insert(keys[i], i);
+            }
+            insertNanos = System.nanoTime() - start;
+        }
+        BenchmarkUtils.report(engine + " insert", n, insertNanos);
+
+        long hitNanos = 0, missNanos = 0;
+        for (int pass = 0; pass <= BenchmarkUtils.WARMUP_PASSES; pass++) {
+            long sum = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < LOOKUPS; i++) {
+                sum += table.get(keys[order[i]]);
+            }
+            hitNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < LOOKUPS; i++) {
+                if (table.containsKey(misses[i])) sum++;
+            }
+            missNanos = System.nanoTime() - start;
+            BenchmarkUtils.blackhole(sum);
+        }
+        BenchmarkUtils.report(engine + " get (hit)", LOOKUPS, hitNanos);
+        BenchmarkUtils.report(engine + " containsKey (miss)", LOOKUPS, missNanos);
+
+        if (table instanceof BetterHashTable) {
+            BetterHashTable<Integer, Integer> t = (BetterHashTable<Integer, Integer>) table;
+            System.out.printf("%-48s size %,d, capacity %,d, average probe length %.2f%n", engine,
+                    t.size(), t.capacity(), t.averageProbeLength());
+        } else if (table instanceof RobinHoodHashTable) {
+            RobinHoodHashTable<Integer, Integer> t = (RobinHoodHashTable<Integer, Integer>) table;
+            System.out.printf("%-48s size %,d, capacity %,d, average probe length %.2f, max %d%n", engine,
+                    t.size(), t.capacity(), t.averageProbeLength(), t.maxProbeLength());
+        }
+    }
+}
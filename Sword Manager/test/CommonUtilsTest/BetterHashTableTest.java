@@ -1,6 +1,13 @@
 package CommonUtilsTest;
 
 import CommonUtils.BetterHashTable;
+import CommonUtils.BetterHashTableFactory;
+import CommonUtils.BetterHashTableFactory.Engine;
+import CommonUtils.ConcurrentBetterHashTable;
+import CommonUtils.HashTableStats;
+import CommonUtils.HashTableStats.Operation;
+import CommonUtils.Interfaces.BetterHashTableInterface;
+import CommonUtils.Interfaces.HashTableCursor;
 import CommonUtilsTest.UsefulObjects.Blob;
 import CommonUtilsTest.factories.IntTestFactory;
 import CommonUtilsTest.factories.NullAndNotFoundTestFactory;
@@ -11,7 +18,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import javax.swing.*;
 import java.util.*;
@@ -462,4 +471,578 @@ public class BetterHashTableTest {
         assertEquals(table.get(3), "4");
         assertEquals(table.size(), 1);
     }
+
+    /**
+     * Tests the single-probe upsert operations (putIfAbsent, computeIfAbsent, compute, merge, getOrDefault)
+     */
+    @Nested
+    class UpsertTests {
+        @Test
+        void testPutIfAbsent(){
+            BetterHashTable<Integer, String> table = new BetterHashTable<>();
+            assertNull(table.putIfAbsent(1, "a"));
+            assertEquals("a", table.putIfAbsent(1, "b"));
+            assertEquals("a", table.get(1));
+
+            //a key mapped to null counts as absent
+            table.insert(2, null);
+            assertNull(table.putIfAbsent(2, "c"));
+            assertEquals("c", table.get(2));
+
+            assertNull(table.putIfAbsent(null, "d"));
+            assertEquals(2, table.size());
+        }
+
+        @Test
+        void testComputeIfAbsent(){
+            BetterHashTable<Integer, Integer> table = new BetterHashTable<>();
+            assertEquals(10, table.computeIfAbsent(5, k -> k * 2));
+            assertEquals(10, table.computeIfAbsent(5, k -> { fail("should not be called for a present key"); return 0; }));
+            assertNull(table.computeIfAbsent(6, k -> null));
+            assertFalse(table.containsKey(6));
+            assertEquals(1, table.size());
+        }
+
+        @Test
+        void testCompute(){
+            BetterHashTable<Integer, Integer> table = new BetterHashTable<>();
+            assertEquals(1, table.compute(7, (k, v) -> v == null ? 1 : v + 1));
+            assertEquals(2, table.compute(7, (k, v) -> v == null ? 1 : v + 1));
+            assertEquals(1, table.size());
+
+            //returning null removes the mapping
+            assertNull(table.compute(7, (k, v) -> null));
+            assertFalse(table.containsKey(7));
+            assertEquals(0, table.size());
+        }
+
+        @Test
+        void testMerge(){
+            BetterHashTable<String, Integer> table = new BetterHashTable<>();
+            final int MAX = 100000;
+            for(int i=0; i<MAX; i++){
+                table.merge("key" + (i % 100), 1, Integer::sum);
+            }
+            assertEquals(100, table.size());
+            for(int i=0; i<100; i++){
+                assertEquals(MAX / 100, table.get("key" + i));
+            }
+
+            assertNull(table.merge("key0", 1, (a, b) -> null));
+            assertFalse(table.containsKey("key0"));
+            assertThrows(NullPointerException.class, () -> table.merge("key1", null, Integer::sum));
+        }
+
+        @Test
+        void testGetOrDefault(){
+            BetterHashTable<Integer, Integer> table = new BetterHashTable<>();
+            table.insert(1, 2);
+            assertEquals(2, table.getOrDefault(1, -1));
+            assertEquals(-1, table.getOrDefault(2, -1));
+            assertEquals(-1, table.getOrDefault(null, -1));
+        }
+
+        /**
+         * Re-inserting a key after it was removed must reuse the deleted slot instead of duplicating the key
+         */
+        @Test
+        void testReinsertAfterRemove(){
+            BetterHashTable<Integer, Integer> table = new BetterHashTable<>();
+            final int MAX = 100000;
+            for(int round=0; round<3; round++){
+                for(int i=0; i<MAX; i++){
+                    table.insert(i, round);
+                }
+                for(int i=0; i<MAX; i+=2){
+                    table.remove(i);
+                }
+                for(int i=0; i<MAX; i+=2){
+                    assertNull(table.putIfAbsent(i, round));
+                }
+                assertEquals(MAX, table.size());
+            }
+            for(int i=0; i<MAX; i++){
+                assertEquals(2, table.get(i));
+            }
+        }
+    }
+
+    /**
+     * Tests the power-of-two capacity mode (masked triangular probing)
+     */
+    @Nested
+    class PowerOfTwoTests {
+        /**
+         * Every key hashes to the same home slot, so the table only works if the probe sequence
+         *   reaches every slot of the array.
+         */
+        @Test
+        void testFullCoverageWithIdenticalHashes(){
+            BetterHashTable<Blob, Integer> table = new BetterHashTable<>(16, true);
+            final int MAX = 2000;
+            for(int i=0; i<MAX; i++){
+                table.insert(new SameHashBlob(i), i);
+            }
+            assertEquals(MAX, table.size());
+            for(int i=0; i<MAX; i++){
+                assertEquals(i, table.get(new SameHashBlob(i)));
+            }
+            for(int i=0; i<MAX; i+=2){
+                table.remove(new SameHashBlob(i));
+            }
+            for(int i=0; i<MAX; i++){
+                assertEquals(i % 2 == 0 ? null : i, table.get(new SameHashBlob(i)));
+            }
+        }
+
+        @Test
+        void testNegativeAndExtremeKeys(){
+            BetterHashTable<Integer, Integer> table = new BetterHashTable<>(0, true);
+            int[] keys = {Integer.MIN_VALUE, Integer.MAX_VALUE, -1, 0, 1, -31, Integer.MIN_VALUE + 31};
+            for(int k : keys){
+                table.insert(k, k);
+            }
+            for(int k : keys){
+                assertEquals(k, table.get(k));
+            }
+            assertEquals(keys.length, table.size());
+        }
+
+        /**
+         * Does basic add remove with large amount of elements exhaustive testing
+         */
+        @Nested
+        class ExtensiveUsageTests extends SizeEmptyBasicAddRemoveBackTestFactory {
+            BetterHashTable<Long, Long> table = new BetterHashTable<>(0, true);
+
+            @Override
+            protected void add(long o) throws Exception { table.insert(o, o); }
+
+            @Override
+            protected void removeParameterized(long o) throws Exception { table.remove(o); }
+
+            @Override
+            protected void removeBack() throws Exception { /* nothing here on purpose */ }
+
+            @Override
+            protected boolean getTestRemoveBack() { return false; }
+
+            @Override
+            protected long getSize() { return table.size(); }
+
+            @Override
+            protected boolean isEmpty() { return table.size() == 0; }
+        }
+    }
+
+    /**
+     * Tests that deleted markers are tracked and cleaned out, and that the table can shrink
+     */
+    @Nested
+    class TombstoneTests {
+        /**
+         * Slides a window of keys across the table (remove the oldest, insert a new one) the way swords are
+         *   checked out and returned, and checks that neither the capacity nor the probe lengths drift.
+         */
+        @ParameterizedTest(name = "Power of two = {0}")
+        @ValueSource(booleans = {false, true})
+        void testChurnStaysBounded(boolean powerOfTwo){
+            BetterHashTable<Integer, Integer> table = new BetterHashTable<>(0, powerOfTwo);
+            final int WINDOW = 10000, CYCLES = 1000000;
+            for(int i=0; i<WINDOW; i++){
+                table.insert(i, i);
+            }
+            int capacityAfterFill = table.capacity();
+
+            for(int i=0; i<CYCLES; i++){
+                table.remove(i);
+                table.insert(i + WINDOW, i);
+                assertTrue(table.size() + table.tombstoneCount() <= table.capacity() * 0.75 + 1);
+            }
+
+            assertEquals(WINDOW, table.size());
+            assertTrue(table.capacity() <= 4 * capacityAfterFill, "capacity grew to " + table.capacity());
+            assertTrue(table.averageProbeLength() < 4, "average probe length " + table.averageProbeLength());
+            for(int i=CYCLES; i<CYCLES+WINDOW; i++){
+                assertEquals(i - WINDOW, table.get(i));
+            }
+        }
+
+        @ParameterizedTest(name = "Power of two = {0}")
+        @ValueSource(booleans = {false, true})
+        void testTrimToSize(boolean powerOfTwo){
+            BetterHashTable<Integer, Integer> table = new BetterHashTable<>(0, powerOfTwo);
+            final int MAX = 100000, KEEP = 1000;
+            for(int i=0; i<MAX; i++){
+                table.insert(i, i);
+            }
+            for(int i=KEEP; i<MAX; i++){
+                table.remove(i);
+            }
+            int capacityBefore = table.capacity();
+            double probeLengthBefore = table.averageProbeLength();
+            assertTrue(table.tombstoneCount() > 0);
+
+            table.trimToSize();
+
+            assertEquals(0, table.tombstoneCount());
+            assertTrue(table.capacity() < capacityBefore / 16, "capacity " + table.capacity());
+            assertTrue(KEEP <= table.capacity() * 0.75);
+            assertTrue(table.averageProbeLength() <= Math.max(probeLengthBefore, 2));
+            for(int i=0; i<MAX; i++){
+                assertEquals(i < KEEP ? (Integer) i : null, table.get(i));
+            }
+        }
+
+        @Test
+        void testShrinkOnLowOccupancy(){
+            BetterHashTable<Integer, Integer> table = new BetterHashTable<>(16, true);
+            table.setShrinkOnLowOccupancy(true);
+            final int MAX = 100000;
+            for(int i=0; i<MAX; i++){
+                table.insert(i, i);
+            }
+            int capacityAfterFill = table.capacity();
+            for(int i=10; i<MAX; i++){
+                table.remove(i);
+            }
+
+            assertTrue(table.capacity() < capacityAfterFill / 100, "capacity " + table.capacity());
+            assertTrue(table.capacity() >= 16);
+            for(int i=0; i<10; i++){
+                assertEquals(i, table.get(i));
+            }
+
+            //shrinking is off by default
+            BetterHashTable<Integer, Integer> other = new BetterHashTable<>();
+            for(int i=0; i<MAX; i++){
+                other.insert(i, i);
+            }
+            int otherCapacity = other.capacity();
+            for(int i=0; i<MAX; i++){
+                other.remove(i);
+            }
+            assertEquals(otherCapacity, other.capacity());
+        }
+    }
+
+    /**
+     * Tests incremental resizing, where a resize is spread over the writes that follow it
+     */
+    @Nested
+    class IncrementalResizeTests {
+        @Test
+        void testRequiresPowerOfTwo(){
+            assertThrows(IllegalStateException.class, () -> new BetterHashTable<Integer, Integer>().setIncrementalResize(true));
+            assertDoesNotThrow(() -> new BetterHashTable<Integer, Integer>().setIncrementalResize(false));
+        }
+
+        /**
+         * Runs a random mix of operations against java.util.HashMap, so that most of them land while some
+         *   resize (growth, deleted-marker purge or shrink) is only partly done.
+         */
+        @Test
+        void testRandomOperationsAgainstHashMap(){
+            final int KEY_RANGE = 50000, OPS = 2000000;
+            BetterHashTable<Integer, Integer> table = new BetterHashTable<>(0, true);
+            table.setIncrementalResize(true);
+            table.setShrinkOnLowOccupancy(true);
+            HashMap<Integer, Integer> reference = new HashMap<>();
+
+            Random rand = new Random(0);
+            int opsWhileResizing = 0;
+            for(int i=0; i<OPS; i++){
+                //grow the key range for the first half, then shrink it again
+                int range = 1 + (int) ((long) (i < OPS/2 ? i : OPS - i) * KEY_RANGE / (OPS/2));
+                int key = rand.nextInt(range);
+                if(table.isResizing()){
+                    opsWhileResizing++;
+                }
+                switch(rand.nextInt(6)){
+                    case 0: case 1:
+                        table.insert(key, i); reference.put(key, i); break;
+                    case 2:
+                        table.remove(key); reference.remove(key); break;
+                    case 3:
+                        assertEquals(reference.merge(key, 1, Integer::sum), table.merge(key, 1, Integer::sum)); break;
+                    case 4:
+                        assertEquals(reference.containsKey(key), table.containsKey(key)); break;
+                    default:
+                        assertEquals(reference.get(key), table.get(key));
+                }
+                assertEquals(reference.size(), table.size());
+            }
+
+            assertTrue(opsWhileResizing > 1000, "only " + opsWhileResizing + " operations during a resize");
+            for(var entry : reference.entrySet()){
+                assertEquals(entry.getValue(), table.get(entry.getKey()));
+            }
+        }
+
+        @Test
+        void testMigrationFinishes(){
+            BetterHashTable<Integer, Integer> table = new BetterHashTable<>(16, true);
+            table.setIncrementalResize(true);
+            int i = 0;
+            while(!table.isResizing()){
+                table.insert(i, i);
+                i++;
+            }
+            int capacity = table.capacity();
+            for(int j=0; j<capacity && table.isResizing(); j++){
+                table.insert(i, i);
+                i++;
+            }
+            assertFalse(table.isResizing());
+            assertEquals(capacity, table.capacity());
+            for(int j=0; j<i; j++){
+                assertEquals(j, table.get(j));
+            }
+
+            //turning it off finishes a running resize
+            while(!table.isResizing()){
+                table.insert(i, i);
+                i++;
+            }
+            table.setIncrementalResize(false);
+            assertFalse(table.isResizing());
+            assertEquals(i, table.size());
+        }
+
+        /**
+         * Growing to a million entries should not stall any insert for as long as a blocking rehash does.
+         *   A garbage collection can land inside either measurement, so the comparison gets three tries.
+         */
+        @Test
+        void testMaxPauseBelowBlockingResize(){
+            final int MAX = 1000000, TRIES = 3;
+            long blockingPause = 0, incrementalPause = 0;
+            for(int attempt=0; attempt<TRIES; attempt++){
+                BetterHashTable<Integer, Integer> blocking = new BetterHashTable<>(0, true),
+                                                  incremental = new BetterHashTable<>(0, true);
+                incremental.setIncrementalResize(true);
+                for(int i=0; i<MAX; i++){
+                    blocking.insert(i, i);
+                    incremental.insert(i, i);
+                }
+                assertEquals(MAX, incremental.size());
+                blockingPause = blocking.maxResizePauseNanos();
+                incrementalPause = incremental.maxResizePauseNanos();
+                if(incrementalPause < blockingPause){
+                    return;
+                }
+            }
+            fail("incremental pause " + incrementalPause + "ns, blocking pause " + blockingPause + "ns");
+        }
+    }
+
+    /**
+     * Tests enumerating entries and copying tables, on every engine
+     */
+    @Nested
+    class IterationAndBulkTests {
+        final int MAX = 50000;
+
+        /**
+         * Fills the table with MAX keys, then removes every third one so there are deleted slots to skip
+         * @return what the table should now contain
+         */
+        HashMap<Integer, Integer> fill(BetterHashTableInterface<Integer, Integer> table){
+            HashMap<Integer, Integer> expected = new HashMap<>();
+            for(int i=0; i<MAX; i++){
+                table.insert(i, -i);
+                expected.put(i, -i);
+            }
+            for(int i=0; i<MAX; i+=3){
+                table.remove(i);
+                expected.remove(i);
+            }
+            return expected;
+        }
+
+        HashMap<Integer, Integer> collectCursor(BetterHashTableInterface<Integer, Integer> table){
+            HashMap<Integer, Integer> seen = new HashMap<>();
+            HashTableCursor<Integer, Integer> cursor = table.cursor();
+            while(cursor.advance()){
+                assertNull(seen.put(cursor.key(), cursor.value()), "visited twice: " + cursor.key());
+            }
+            assertFalse(cursor.advance());
+            assertThrows(IllegalStateException.class, cursor::key);
+            return seen;
+        }
+
+        @ParameterizedTest(name = "Engine = {0}")
+        @EnumSource(Engine.class)
+        void testForEachAndCursor(Engine engine){
+            BetterHashTableInterface<Integer, Integer> table = BetterHashTableFactory.create(engine);
+            assertFalse(table.cursor().advance());
+            assertThrows(IllegalStateException.class, () -> table.cursor().value());
+            HashMap<Integer, Integer> expected = fill(table);
+
+            HashMap<Integer, Integer> seen = new HashMap<>();
+            table.forEach((k, v) -> assertNull(seen.put(k, v), "visited twice: " + k));
+            assertEquals(expected, seen);
+            assertEquals(expected, collectCursor(table));
+            assertThrows(NullPointerException.class, () -> table.forEach(null));
+        }
+
+        @Test
+        void testConcurrentForEachAndCursor(){
+            ConcurrentBetterHashTable<Integer, Integer> table = new ConcurrentBetterHashTable<>();
+            HashMap<Integer, Integer> expected = fill(table);
+
+            HashMap<Integer, Integer> seen = new HashMap<>();
+            table.forEach(seen::put);
+            assertEquals(expected, seen);
+            assertEquals(expected, collectCursor(table));
+        }
+
+        /**
+         * Entries still waiting in the old array of an incremental resize must be visited too
+         */
+        @Test
+        void testIterationDuringIncrementalResize(){
+            BetterHashTable<Integer, Integer> table = new BetterHashTable<>(0, true);
+            table.setIncrementalResize(true);
+            HashMap<Integer, Integer> expected = new HashMap<>();
+            int i = 0;
+            while(!table.isResizing() || expected.size() < 1000){
+                table.insert(i, i);
+                expected.put(i, i);
+                i++;
+            }
+            assertTrue(table.isResizing());
+
+            HashMap<Integer, Integer> seen = new HashMap<>();
+            table.forEach(seen::put);
+            assertEquals(expected, seen);
+            assertEquals(expected, collectCursor(table));
+        }
+
+        @ParameterizedTest(name = "Engine = {0}")
+        @EnumSource(Engine.class)
+        void testPutAll(Engine engine){
+            BetterHashTableInterface<Integer, Integer> source = BetterHashTableFactory.create(engine),
+                                                       target = BetterHashTableFactory.create(engine);
+            HashMap<Integer, Integer> expected = fill(source);
+            target.insert(-1, 1);
+            target.insert(1, 1);
+            expected.put(-1, 1);
+
+            target.putAll(source);
+            target.putAll(target);
+
+            assertEquals(expected.size(), target.size());
+            for(var entry : expected.entrySet()){
+                assertEquals(entry.getValue(), target.get(entry.getKey()));
+            }
+            assertEquals(expected.size() - 1, source.size());
+            assertThrows(NullPointerException.class, () -> target.putAll(null));
+
+            ConcurrentBetterHashTable<Integer, Integer> concurrent = new ConcurrentBetterHashTable<>();
+            concurrent.putAll(target);
+            assertEquals(expected.size(), concurrent.size());
+            assertEquals(-1, concurrent.get(1));
+        }
+
+        @ParameterizedTest(name = "Power of two = {0}")
+        @ValueSource(booleans = {false, true})
+        void testExpectedSizeNeverResizes(boolean powerOfTwo){
+            final int EXPECTED = 100000;
+            BetterHashTable<Integer, Integer> table = BetterHashTable.withExpectedSize(EXPECTED, powerOfTwo);
+            int capacity = table.capacity();
+            for(int i=0; i<EXPECTED; i++){
+                table.insert(i, i);
+            }
+            assertEquals(capacity, table.capacity());
+            assertEquals(0, table.maxResizePauseNanos());
+            assertThrows(IllegalArgumentException.class, () -> BetterHashTable.withExpectedSize(-1));
+
+            //putAll grows once, straight to the size withExpectedSize would have picked
+            BetterHashTable<Integer, Integer> copy = new BetterHashTable<>(0, powerOfTwo);
+            copy.putAll(table);
+            assertEquals(capacity, copy.capacity());
+            assertEquals(EXPECTED, copy.size());
+        }
+    }
+
+    /**
+     * Tests the probe and resize instrumentation
+     */
+    @Nested
+    class StatsTests {
+        @ParameterizedTest(name = "Power of two = {0}")
+        @ValueSource(booleans = {false, true})
+        void testCountsEveryOperation(boolean powerOfTwo){
+            final int MAX = 10000;
+            BetterHashTable<Integer, Integer> table = new BetterHashTable<>(0, powerOfTwo);
+            assertNull(table.stats());
+            HashTableStats stats = new HashTableStats();
+            table.setStats(stats);
+
+            for(int i=0; i<MAX; i++){
+                table.insert(i, i);
+            }
+            table.merge(0, 1, Integer::sum);
+            for(int i=0; i<MAX; i++){
+                table.get(i);
+            }
+            table.containsKey(-1);
+            for(int i=0; i<MAX; i+=4){
+                table.remove(i);
+            }
+
+            assertSame(stats, table.stats());
+            assertEquals(MAX + 1, stats.operationCount(Operation.INSERT));
+            assertEquals(MAX + 1, stats.operationCount(Operation.GET));
+            assertEquals(MAX / 4, stats.operationCount(Operation.REMOVE));
+            assertEquals(MAX + 1, Arrays.stream(stats.probeHistogram(Operation.GET)).sum());
+            assertEquals(0, stats.probeHistogram(Operation.GET)[0]);
+            assertTrue(stats.averageProbes(Operation.GET) >= 1);
+            assertTrue(stats.maxProbes(Operation.GET) >= 1);
+
+            assertTrue(stats.resizeCount() > 0);
+            assertTrue(stats.resizeNanos() > 0);
+            assertEquals(table.size(), stats.size());
+            assertEquals(table.capacity(), stats.capacity());
+            assertEquals((double) table.tombstoneCount() / table.capacity(), stats.tombstoneRatio(), 1e-9);
+            assertEquals((double) table.size() / table.capacity(), stats.loadFactor(), 1e-9);
+
+            stats.reset();
+            assertEquals(0, stats.operationCount(Operation.INSERT));
+            assertEquals(0, stats.resizeCount());
+        }
+
+        /**
+         * Keys that all hash the same should show up as long probes and one big cluster
+         */
+        @Test
+        void testCollisionsAreVisible(){
+            final int MAX = 200;
+            BetterHashTable<SameHashBlob, Integer> table = new BetterHashTable<>(1024, true);
+            table.setStats(new HashTableStats());
+            for(int i=0; i<MAX; i++){
+                table.insert(new SameHashBlob(i), i);
+            }
+            for(int i=0; i<MAX; i++){
+                table.get(new SameHashBlob(i));
+            }
+
+            HashTableStats stats = table.stats();
+            assertTrue(stats.averageProbes(Operation.GET) > MAX / 4.0, stats.toString());
+            assertEquals(HashTableStats.HISTOGRAM_BUCKETS - 1, stats.maxProbes(Operation.INSERT));
+            assertTrue(stats.maxClusterLength() >= 2, stats.toString());
+            assertEquals(0, stats.resizeCount());
+        }
+    }
+
+    /**
+     * Blob whose hash code ignores its contents
+     */
+    private static class SameHashBlob extends Blob {
+        SameHashBlob(int a){ super("same", "", a, 0); }
+
+        @Override
+        public int hashCode() { return 7; }
+    }
 }
@@ -0,0 +1,180 @@
+package CommonUtilsTest;
+
+import CommonUtils.Interfaces.BetterQueue;
+import CommonUtilsTest.factories.SizeEmptyBasicAddRemoveBackTestFactory;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests BetterQueue
+ */
+public class BetterQueueTest {
+    /**
+     * Tests very basic use.  Failing this should fail all other tests
+     */
+    @Test
+    void sanityCheck(){
+        BetterQueue<Integer> queue = new BetterQueue<>();
+        assertTrue(queue.isEmpty());
+        assertNull(queue.peek());
+        assertNull(queue.remove());
+        queue.add(1); queue.add(2); queue.add(3);
+        assertEquals(3, queue.size());
+        assertEquals(1, queue.peek());
+        assertEquals(1, queue.remove());
+        assertEquals(2, queue.remove());
+        assertEquals(3, queue.remove());
+        assertTrue(queue.isEmpty());
+        assertNull(queue.peek());
+        assertThrows(NullPointerException.class, () -> queue.add(null));
+    }
+
+    /**
+     * Runs random adds and removes against ArrayDeque, so the queue grows and shrinks while it wraps
+     *   around the end of its array
+     */
+    @Test
+    void testAgainstArrayDeque(){
+        BetterQueue<Integer> queue = new BetterQueue<>();
+        ArrayDeque<Integer> reference = new ArrayDeque<>();
+        Random rand = new Random(21);
+        for(int round=0; round<200; round++){
+            int adds = rand.nextInt(5000), removes = rand.nextInt(5000);
+            for(int i=0; i<adds; i++){
+                int value = rand.nextInt();
+                queue.add(value);
+                reference.add(value);
+            }
+            for(int i=0; i<removes; i++){
+                assertEquals(reference.peek(), queue.peek());
+                assertEquals(reference.poll(), queue.remove());
+            }
+            assertEquals(reference.size(), queue.size());
+            assertTrue(queue.capacity() >= queue.size() && queue.capacity() >= 8);
+            assertEquals(0, queue.capacity() & (queue.capacity() - 1));
+        }
+    }
+
+    /**
+     * Tests that the queue shrinks once mostly empty, but not while its size oscillates around a capacity
+     */
+    @Test
+    void testShrinkHysteresis(){
+        BetterQueue<Integer> queue = new BetterQueue<>();
+        for(int i=0; i<64; i++){
+            queue.add(i);
+        }
+        assertEquals(64, queue.capacity());
+        queue.add(64);
+        assertEquals(128, queue.capacity());
+        for(int i=0; i<1000; i++){
+            queue.remove();
+            assertEquals(128, queue.capacity());
+            queue.add(i);
+        }
+        while(queue.size() > 32){
+            queue.remove();
+        }
+        assertEquals(128, queue.capacity());
+        queue.remove();
+        assertEquals(64, queue.capacity());
+        while(!queue.isEmpty()){
+            queue.remove();
+        }
+        assertEquals(8, queue.capacity());
+    }
+
+    /**
+     * Tests addAll and drainTo against ArrayDeque, with batches that wrap around the end of the array
+     */
+    @Test
+    void testBulkOperations(){
+        BetterQueue<Integer> queue = new BetterQueue<>();
+        ArrayDeque<Integer> reference = new ArrayDeque<>();
+        Random rand = new Random(22);
+        Integer[] src = new Integer[3000];
+        Integer[] dst = new Integer[3000];
+        for(int round=0; round<500; round++){
+            int off = rand.nextInt(src.length), len = rand.nextInt(src.length - off + 1);
+            for(int i=off; i<off+len; i++){
+                src[i] = rand.nextInt();
+                reference.add(src[i]);
+            }
+            queue.addAll(src, off, len);
+            queue.add(round);
+            reference.add(round);
+
+            int max = rand.nextInt(dst.length + 1);
+            int count = queue.drainTo(dst, max);
+            assertEquals(Math.min(max, reference.size()), count);
+            for(int i=0; i<count; i++){
+                assertEquals(reference.poll(), dst[i]);
+            }
+            assertEquals(reference.size(), queue.size());
+            assertEquals(reference.peek(), queue.peek());
+        }
+        assertEquals(2, queue.drainTo(new Integer[2], Integer.MAX_VALUE));
+
+        int size = queue.size();
+        assertThrows(NullPointerException.class, () -> queue.addAll(new Integer[]{1, null}, 0, 2));
+        assertThrows(IndexOutOfBoundsException.class, () -> queue.addAll(new Integer[2], 1, 2));
+        assertThrows(IndexOutOfBoundsException.class, () -> queue.addAll(new Integer[2], -1, 1));
+        assertThrows(IllegalArgumentException.class, () -> queue.drainTo(dst, -1));
+        assertEquals(size, queue.size());
+        queue.addAll(new Integer[]{null, 7, null}, 1, 1);
+        assertEquals(size + 1, queue.size());
+    }
+
+    /**
+     * Tests that ensureCapacity grows the queue once, to a power of two, so that filling it does not resize
+     */
+    @Test
+    void testEnsureCapacity(){
+        BetterQueue<Integer> queue = new BetterQueue<>();
+        queue.ensureCapacity(4);
+        assertEquals(8, queue.capacity());
+        queue.ensureCapacity(1000);
+        assertEquals(1024, queue.capacity());
+        for(int i=0; i<1024; i++){
+            queue.add(i);
+            assertEquals(1024, queue.capacity());
+        }
+        queue.ensureCapacity(1025);
+        assertEquals(2048, queue.capacity());
+        for(int i=0; i<1024; i++){
+            assertEquals(i, queue.remove());
+        }
+        assertEquals(8, queue.capacity());
+    }
+
+    /**
+     * Does basic add remove with large amount of elements exhaustive testing
+     */
+    @Nested
+    class StandardAddRemoveSizeTests extends SizeEmptyBasicAddRemoveBackTestFactory {
+        BetterQueue<Long> queue = new BetterQueue<>();
+
+        @Override
+        protected void add(long o) throws Exception { queue.add(o); }
+
+        @Override
+        protected void removeParameterized(long o) throws Exception { /* nothing here on purpose */ }
+
+        @Override
+        protected void removeBack() throws Exception { queue.remove(); }
+
+        @Override
+        protected long getSize() { return queue.size(); }
+
+        @Override
+        protected boolean isEmpty() { return queue.isEmpty(); }
+
+        @Override
+        protected boolean getTestParameterizedRemove() { return false; }
+    }
+}
@@ -0,0 +1,166 @@
+package CommonUtilsTest;
+
+import CommonUtils.ConcurrentBetterHashTable;
+import CommonUtilsTest.factories.IntTestFactory;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests ConcurrentBetterHashTable, both single-threaded against the interface specifications and
+ *   with several threads sharing one table.
+ */
+public class ConcurrentBetterHashTableTest {
+    private static final int THREADS = 8;
+
+    /**
+     * Tests very basic use.  Failing this should fail all other tests
+     */
+    @Test
+    void sanityCheck(){
+        ConcurrentBetterHashTable<Integer, Integer> table = new ConcurrentBetterHashTable<>();
+        table.insert(1, 2); table.insert(2, 3); table.insert(3, 4); table.insert(4, 5);
+
+        assertTrue(table.containsKey(1));
+        assertEquals(5, table.get(4));
+        assertEquals(4, table.size());
+
+        table.insert(4, 6);
+        assertEquals(6, table.get(4));
+        assertEquals(4, table.size());
+
+        table.remove(4);
+        table.insert(null, 1);
+        assertNull(table.get(4));
+        assertEquals(3, table.size());
+
+        table.clear();
+        assertEquals(0, table.size());
+        assertNull(table.get(1));
+    }
+
+    /**
+     * Each thread inserts, updates and removes its own range of keys; afterwards every range must be intact.
+     */
+    @Test
+    void testDisjointWriters() throws Throwable {
+        final int PER_THREAD = 200000;
+        ConcurrentBetterHashTable<Integer, Integer> table = new ConcurrentBetterHashTable<>();
+
+        runThreads(t -> {
+            int base = t * PER_THREAD;
+            for(int i=base; i<base+PER_THREAD; i++){
+                table.insert(i, i);
+            }
+            for(int i=base; i<base+PER_THREAD; i+=2){
+                table.remove(i);
+            }
+            for(int i=base+1; i<base+PER_THREAD; i+=2){
+                table.insert(i, -i);
+            }
+        });
+
+        assertEquals(THREADS * PER_THREAD / 2, table.size());
+        for(int i=0; i<THREADS * PER_THREAD; i++){
+            assertEquals(i % 2 == 0 ? null : (Integer) (-i), table.get(i));
+        }
+    }
+
+    /**
+     * All threads merge into the same few keys; no increment may be lost.
+     */
+    @Test
+    void testAtomicMerge() throws Throwable {
+        final int PER_THREAD = 100000, KEYS = 50;
+        ConcurrentBetterHashTable<Integer, Integer> table = new ConcurrentBetterHashTable<>();
+
+        runThreads(t -> {
+            for(int i=0; i<PER_THREAD; i++){
+                table.merge(i % KEYS, 1, Integer::sum);
+            }
+        });
+
+        for(int k=0; k<KEYS; k++){
+            assertEquals(THREADS * PER_THREAD / KEYS, table.get(k));
+        }
+    }
+
+    /**
+     * Readers run without locks while writers grow the table; a key that was inserted before the readers
+     *   started must never be reported missing.
+     */
+    @Test
+    void testReadsDuringResize() throws Throwable {
+        final int STABLE = 10000, PER_WRITER = 200000;
+        ConcurrentBetterHashTable<Integer, Integer> table = new ConcurrentBetterHashTable<>();
+        for(int i=0; i<STABLE; i++){
+            table.insert(-1 - i, i);
+        }
+
+        runThreads(t -> {
+            if(t % 2 == 0){
+                for(int i=0; i<PER_WRITER; i++){
+                    table.insert(t * PER_WRITER + i, i);
+                }
+            } else {
+                for(int round=0; round<20; round++){
+                    for(int i=0; i<STABLE; i++){
+                        assertEquals(i, table.get(-1 - i));
+                    }
+                }
+            }
+        });
+
+        assertEquals(STABLE + THREADS / 2 * PER_WRITER, table.size());
+    }
+
+    /**
+     * Runs the body on THREADS threads at once and rethrows the first failure
+     * @param body work for thread number t
+     */
+    private static void runThreads(ThreadBody body) throws Throwable {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> threads = new ArrayList<>();
+        for(int t=0; t<THREADS; t++){
+            final int id = t;
+            Thread thread = new Thread(() -> {
+                try {
+                    body.run(id);
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for(Thread thread : threads){
+            thread.join();
+        }
+        if(failure.get() != null){
+            throw failure.get();
+        }
+    }
+
+    private interface ThreadBody {
+        void run(int threadNumber);
+    }
+
+    /**
+     * Verifies that it can hold integers properly
+     */
+    @Nested
+    class GetContainsTests extends IntTestFactory {
+        ConcurrentBetterHashTable<Integer, Integer> table = new ConcurrentBetterHashTable<>();
+
+        @Override
+        protected int setGetField(int num) throws Exception {
+            table.insert(num, num);
+            return table.get(num);
+        }
+    }
+}
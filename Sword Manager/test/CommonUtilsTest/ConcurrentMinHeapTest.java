@@ -0,0 +1,201 @@
+package CommonUtilsTest;
+
+import CommonUtils.ConcurrentMinHeap;
+import CommonUtilsTest.factories.IntTestFactory;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests ConcurrentMinHeap, both single-threaded and with several producer and consumer threads sharing one heap.
+ */
+public class ConcurrentMinHeapTest {
+    private static final int THREADS = 8;
+
+    /**
+     * Tests very basic use with a single queue, where the order is exact.  Failing this should fail all other tests
+     */
+    @Test
+    void sanityCheck(){
+        ConcurrentMinHeap<Integer> heap = new ConcurrentMinHeap<>(1);
+        heap.add(5); heap.add(3); heap.add(8);
+        assertEquals(3, heap.size());
+        assertEquals(3, heap.peekMin());
+        assertEquals(3, heap.removeMin());
+        assertEquals(5, heap.removeMin());
+        assertEquals(8, heap.removeMin());
+        assertNull(heap.removeMin());
+        assertNull(heap.peekMin());
+        assertEquals(0, heap.size());
+
+        heap.add(1);
+        heap.clear();
+        assertEquals(0, heap.size());
+        assertThrows(NullPointerException.class, () -> heap.add(null));
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentMinHeap<Integer>(-1));
+        assertTrue(new ConcurrentMinHeap<Integer>().numQueues() >= 1);
+    }
+
+    /**
+     * With several queues every element still comes out exactly once, peekMin is exact when no thread is
+     *   working, and each removed element is among the smallest few
+     */
+    @Test
+    void testRelaxedOrder(){
+        final int QUEUES = 16, N = 100000;
+        ConcurrentMinHeap<Integer> heap = new ConcurrentMinHeap<>(QUEUES, Collections.reverseOrder());
+        ArrayList<Integer> values = new ArrayList<>();
+        for(int i=0; i<N; i++){
+            values.add(i);
+        }
+        Collections.shuffle(values, new Random(19));
+        for(Integer value : values){
+            heap.add(value);
+        }
+        assertEquals(N, heap.size());
+        assertEquals(N - 1, heap.peekMin());
+
+        /* in reverse order the rank of value v among the remaining ones is the number of larger values left */
+
+        boolean[] removed = new boolean[N];
+        int largestLeft = N - 1;
+        long totalRank = 0;
+        for(int i=0; i<N; i++){
+            int value = heap.removeMin();
+            assertFalse(removed[value]);
+            removed[value] = true;
+            int rank = 0;
+            for(int v=largestLeft; v>value; v--){
+                if(!removed[v]) rank++;
+            }
+            totalRank += rank;
+            while(largestLeft >= 0 && removed[largestLeft]){
+                largestLeft--;
+            }
+        }
+        assertNull(heap.removeMin());
+        assertTrue(totalRank / N < 10 * QUEUES, "average rank error " + totalRank / N);
+    }
+
+    /**
+     * Producers and consumers share one heap; every element added must be removed exactly once.
+     */
+    @Test
+    void testProducersAndConsumers() throws Throwable {
+        final int PER_PRODUCER = 200000, PRODUCERS = THREADS / 2;
+        ConcurrentMinHeap<Integer> heap = new ConcurrentMinHeap<>();
+        AtomicIntegerArray seen = new AtomicIntegerArray(PRODUCERS * PER_PRODUCER);
+        int[] consumed = new int[THREADS];
+
+        runThreads(t -> {
+            if(t < PRODUCERS){
+                for(int i=0; i<PER_PRODUCER; i++){
+                    heap.add(t * PER_PRODUCER + i);
+                }
+            } else {
+                for(int i=0; i<PER_PRODUCER; i++){
+                    Integer value = heap.removeMin();
+                    if(value != null){
+                        assertEquals(0, seen.getAndIncrement(value));
+                        consumed[t]++;
+                    }
+                }
+            }
+        });
+
+        int total = 0;
+        for(int count : consumed){
+            total += count;
+        }
+        assertEquals(PRODUCERS * PER_PRODUCER - total, heap.size());
+        for(Integer value = heap.removeMin(); value != null; value = heap.removeMin()){
+            assertEquals(0, seen.getAndIncrement(value));
+        }
+        for(int i=0; i<seen.length(); i++){
+            assertEquals(1, seen.get(i));
+        }
+    }
+
+    /**
+     * Every thread alternates adds and removes, the drones' pattern of rescheduling what they pull off the heap
+     */
+    @Test
+    void testMixedThreads() throws Throwable {
+        final int PER_THREAD = 100000;
+        ConcurrentMinHeap<Long> heap = new ConcurrentMinHeap<>(2 * THREADS);
+        for(long i=0; i<1000; i++){
+            heap.add(-1 - i);
+        }
+
+        runThreads(t -> {
+            Random rand = new Random(t);
+            for(int i=0; i<PER_THREAD; i++){
+                heap.add((long) t * PER_THREAD + i);
+                if(rand.nextBoolean()){
+                    assertNotNull(heap.removeMin());
+                }
+            }
+        });
+
+        int left = heap.size();
+        int removed = 0;
+        while(heap.removeMin() != null){
+            removed++;
+        }
+        assertEquals(left, removed);
+        assertEquals(0, heap.size());
+    }
+
+    /**
+     * Runs the body on THREADS threads at once and rethrows the first failure
+     * @param body work for thread number t
+     */
+    private static void runThreads(ThreadBody body) throws Throwable {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> threads = new ArrayList<>();
+        for(int t=0; t<THREADS; t++){
+            final int id = t;
+            Thread thread = new Thread(() -> {
+                try {
+                    body.run(id);
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for(Thread thread : threads){
+            thread.join();
+        }
+        if(failure.get() != null){
+            throw failure.get();
+        }
+    }
+
+    private interface ThreadBody {
+        void run(int threadNumber);
+    }
+
+    /**
+     * Verifies that it can hold integers properly
+     */
+    @Nested
+    class StandardIntTests extends IntTestFactory {
+        ConcurrentMinHeap<Integer> heap = new ConcurrentMinHeap<>();
+
+        @Override
+        protected int setGetField(int num) throws Exception {
+            heap.add(num);
+            return heap.removeMin();
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package CommonUtilsTest;
+
+import CommonUtils.IndexedMinHeap;
+import CommonUtilsTest.factories.IntTestFactory;
+import Items.Sword;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests IndexedMinHeap: the MinHeap specifications, and finding, reprioritizing and removing elements
+ *   through their handles.
+ */
+public class IndexedMinHeapTest {
+    /**
+     * Tests very basic use.  Failing this should fail all other tests
+     */
+    @Test
+    void sanityCheck(){
+        IndexedMinHeap<Integer> heap = new IndexedMinHeap<>();
+        int a = heap.insert(5), b = heap.insert(3), c = heap.insert(8);
+        assertEquals(3, heap.size());
+        assertEquals(3, heap.peekMin());
+        assertEquals(b, heap.peekMinHandle());
+        assertEquals(8, heap.get(c));
+
+        heap.decreaseKey(c, 1);
+        assertEquals(1, heap.peekMin());
+        heap.increaseKey(c, 10);
+        assertEquals(5, heap.remove(a));
+        assertFalse(heap.contains(a));
+        assertEquals(3, heap.removeMin());
+        assertEquals(10, heap.removeMin());
+        assertNull(heap.removeMin());
+        assertNull(heap.peekMin());
+        assertEquals(-1, heap.peekMinHandle());
+    }
+
+    /**
+     * Tests the exceptions thrown for null elements, invalid handles and keys moving the wrong way
+     */
+    @Test
+    void testExceptions(){
+        IndexedMinHeap<Integer> heap = new IndexedMinHeap<>();
+        assertThrows(NullPointerException.class, () -> heap.add(null));
+        int handle = heap.insert(5);
+        assertThrows(NullPointerException.class, () -> heap.decreaseKey(handle, null));
+        assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(handle, 6));
+        assertThrows(IllegalArgumentException.class, () -> heap.increaseKey(handle, 4));
+        assertThrows(IllegalArgumentException.class, () -> heap.get(-1));
+        assertThrows(IllegalArgumentException.class, () -> heap.remove(1000));
+        heap.clear();
+        assertFalse(heap.contains(handle));
+        assertThrows(IllegalArgumentException.class, () -> heap.get(handle));
+        assertThrows(IllegalArgumentException.class, () -> new IndexedMinHeap<Integer>(-1));
+    }
+
+    /**
+     * Runs a random mix of every operation against a map from handle to value, enough to grow the arrays
+     *   and reuse handles many times
+     */
+    @Test
+    void testRandomOperationsAgainstMap(){
+        IndexedMinHeap<Integer> heap = new IndexedMinHeap<>(1);
+        Map<Integer, Integer> reference = new HashMap<>();
+        Random rand = new Random(0);
+        for(int i=0; i<50000; i++){
+            int op = rand.nextInt(6);
+            if(op <= 1 || reference.isEmpty()){
+                int value = rand.nextInt(1000);
+                int handle = heap.insert(value);
+                assertNull(reference.put(handle, value));
+            } else {
+                int handle = (Integer) reference.keySet().toArray()[rand.nextInt(reference.size())];
+                int value = reference.get(handle);
+                switch(op){
+                    case 2:
+                        heap.decreaseKey(handle, value - rand.nextInt(100));
+                        reference.put(handle, heap.get(handle)); break;
+                    case 3:
+                        heap.increaseKey(handle, value + rand.nextInt(100));
+                        reference.put(handle, heap.get(handle)); break;
+                    case 4:
+                        assertEquals(value, heap.remove(handle));
+                        reference.remove(handle); break;
+                    default:
+                        int min = heap.peekMinHandle();
+                        assertEquals(reference.get(min), heap.removeMin());
+                        reference.remove(min);
+                }
+            }
+            assertEquals(reference.size(), heap.size());
+            if(!reference.isEmpty()){
+                assertEquals(reference.values().stream().min(Integer::compare).get(), heap.peekMin());
+            }
+        }
+        reference.forEach((handle, value) -> assertEquals(value, heap.get(handle)));
+    }
+
+    /**
+     * Reprioritizes swords by changing their time of clean in place, as the sword manager would
+     */
+    @Test
+    void testInPlaceReprioritization(){
+        IndexedMinHeap<Sword> heap = new IndexedMinHeap<>();
+        Sword[] swords = new Sword[10];
+        int[] handles = new int[swords.length];
+        for(int i=0; i<swords.length; i++){
+            swords[i] = new Sword(i, 10, 1, 1, 1, 1, 1, "n", "d", "c", "s");
+            swords[i].setTimeOfClean(10 * i);
+            swords[i].setRequestOrder(i);
+            handles[i] = heap.insert(swords[i]);
+        }
+
+        swords[7].setTimeOfClean(5);
+        heap.decreaseKey(handles[7], swords[7]);
+        swords[0].setTimeOfClean(1000);
+        heap.increaseKey(handles[0], swords[0]);
+
+        assertSame(swords[7], heap.removeMin());
+        for(int i=1; i<swords.length; i++){
+            if(i != 7){
+                assertSame(swords[i], heap.removeMin());
+            }
+        }
+        assertSame(swords[0], heap.removeMin());
+    }
+
+    /**
+     * Changes swords in place the opposite way from the method called; the heap cannot tell, so it must
+     *   move them whichever way restores the order instead of trusting the direction
+     */
+    @Test
+    void testInPlaceChangeInWrongDirection(){
+        IndexedMinHeap<Sword> heap = new IndexedMinHeap<>();
+        Sword[] swords = new Sword[3];
+        int[] handles = new int[swords.length];
+        int[] times = {1, 5, 3};
+        for(int i=0; i<swords.length; i++){
+            swords[i] = new Sword(i, 10, 1, 1, 1, 1, 1, "n", "d", "c", "s");
+            swords[i].setTimeOfClean(times[i]);
+            handles[i] = heap.insert(swords[i]);
+        }
+
+        swords[0].setTimeOfClean(10);
+        heap.decreaseKey(handles[0], swords[0]);
+        assertSame(swords[2], heap.peekMin());
+
+        swords[1].setTimeOfClean(0);
+        heap.increaseKey(handles[1], swords[1]);
+        assertSame(swords[1], heap.removeMin());
+        assertSame(swords[2], heap.removeMin());
+        assertSame(swords[0], heap.removeMin());
+    }
+
+    /**
+     * Verifies that it can hold integers properly
+     */
+    @Nested
+    class StandardIntTests extends IntTestFactory {
+        IndexedMinHeap<Integer> heap = new IndexedMinHeap<>();
+
+        @Override
+        protected int setGetField(int num) throws Exception {
+            return heap.remove(heap.insert(num));
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package CommonUtilsTest;
+
+import CommonUtils.IntBetterQueue;
+import CommonUtils.Interfaces.IntBetterQueueInterface;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests IntBetterQueue
+ */
+public class IntBetterQueueTest {
+    /**
+     * Tests very basic use.  Failing this should fail all other tests
+     */
+    @Test
+    void sanityCheck(){
+        IntBetterQueue queue = new IntBetterQueue();
+        assertTrue(queue.isEmpty());
+        assertEquals(IntBetterQueueInterface.EMPTY, queue.peek());
+        assertEquals(IntBetterQueueInterface.EMPTY, queue.remove());
+        queue.add(1); queue.add(-1); queue.add(3);
+        assertEquals(3, queue.size());
+        assertEquals(1, queue.peek());
+        assertEquals(1, queue.remove());
+        assertEquals(-1, queue.remove());
+        assertFalse(queue.isEmpty());
+        assertEquals(3, queue.remove());
+        assertTrue(queue.isEmpty());
+        assertEquals(IntBetterQueueInterface.EMPTY, queue.peek());
+    }
+
+    /**
+     * Runs random adds and removes, single and in batches, against ArrayDeque, so the queue grows and
+     *   shrinks while it wraps around the end of its array
+     */
+    @Test
+    void testAgainstArrayDeque(){
+        IntBetterQueue queue = new IntBetterQueue();
+        ArrayDeque<Integer> reference = new ArrayDeque<>();
+        Random rand = new Random(25);
+        int[] src = new int[3000];
+        int[] dst = new int[3000];
+        for(int round=0; round<300; round++){
+            int adds = rand.nextInt(5000), removes = rand.nextInt(5000);
+            for(int i=0; i<adds; i++){
+                int value = rand.nextInt();
+                queue.add(value);
+                reference.add(value);
+            }
+            int off = rand.nextInt(src.length), len = rand.nextInt(src.length - off + 1);
+            for(int i=off; i<off+len; i++){
+                src[i] = rand.nextInt();
+                reference.add(src[i]);
+            }
+            queue.addAll(src, off, len);
+
+            for(int i=0; i<removes && !reference.isEmpty(); i++){
+                assertEquals(reference.peek(), queue.peek());
+                assertEquals(reference.poll(), queue.remove());
+            }
+            int max = rand.nextInt(dst.length + 1);
+            int count = queue.drainTo(dst, max);
+            assertEquals(Math.min(max, reference.size()), count);
+            for(int i=0; i<count; i++){
+                assertEquals(reference.poll(), dst[i]);
+            }
+            assertEquals(reference.size(), queue.size());
+            assertTrue(queue.capacity() >= queue.size() && queue.capacity() >= 8);
+            assertEquals(0, queue.capacity() & (queue.capacity() - 1));
+        }
+
+        assertThrows(IndexOutOfBoundsException.class, () -> queue.addAll(new int[2], 1, 2));
+        assertThrows(IndexOutOfBoundsException.class, () -> queue.addAll(new int[2], -1, 1));
+        assertThrows(IllegalArgumentException.class, () -> queue.drainTo(dst, -1));
+        assertEquals(reference.size(), queue.size());
+    }
+
+    /**
+     * Tests that the queue shrinks once mostly empty, but not while its size oscillates around a capacity,
+     *   and that ensureCapacity grows it to a power of two
+     */
+    @Test
+    void testCapacity(){
+        IntBetterQueue queue = new IntBetterQueue();
+        for(int i=0; i<65; i++){
+            queue.add(i);
+        }
+        assertEquals(128, queue.capacity());
+        for(int i=0; i<1000; i++){
+            queue.remove();
+            assertEquals(128, queue.capacity());
+            queue.add(i);
+        }
+        while(queue.size() > 32){
+            queue.remove();
+        }
+        assertEquals(128, queue.capacity());
+        queue.remove();
+        assertEquals(64, queue.capacity());
+        while(!queue.isEmpty()){
+            queue.remove();
+        }
+        assertEquals(8, queue.capacity());
+
+        queue.ensureCapacity(1000);
+        assertEquals(1024, queue.capacity());
+    }
+}
@@ -0,0 +1,219 @@
+package CommonUtilsTest;
+
+import CommonUtils.HashTableStats;
+import CommonUtils.HashTableStats.Operation;
+import CommonUtils.IntHashTable;
+import CommonUtils.IntIntHashTable;
+import CommonUtils.Interfaces.IntIntHashTableInterface;
+import CommonUtilsTest.factories.IntTestFactory;
+import CommonUtilsTest.factories.SizeEmptyBasicAddRemoveBackTestFactory;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the int-keyed hash tables (IntHashTable and IntIntHashTable) according to the interface specifications.
+ */
+public class IntHashTableTest {
+    /**
+     * Tests very basic use.  Failing this should fail all other tests
+     */
+    @Test
+    void sanityCheck(){
+        IntHashTable<Integer> table = new IntHashTable<>(4);
+        table.insert(1, 2); table.insert(2, 3); table.insert(3, 4); table.insert(4, 5);
+
+        assertTrue(table.containsKey(1));
+        assertTrue(table.containsKey(4));
+        assertFalse(table.containsKey(5));
+
+        assertEquals(2, table.get(1));
+        assertEquals(5, table.get(4));
+        assertNull(table.get(5));
+
+        assertEquals(4, table.size());
+
+        table.clear();
+
+        assertEquals(0, table.size());
+        assertNull(table.get(1));
+    }
+
+    /**
+     * Tests that when inserting an element with the same key as one already in the table,
+     *   it just updates the value at that key.
+     */
+    @Test
+    void testSameKeyUpdated(){
+        IntHashTable<String> table = new IntHashTable<>();
+        table.insert(3, "3");
+        assertEquals("3", table.get(3));
+        table.insert(3, "4");
+        assertEquals("4", table.get(3));
+        assertEquals(1, table.size());
+    }
+
+    /**
+     * Inserts and removes keys continuously (so the table fills up with deleted markers) and checks
+     *   against a simple reference array that nothing is lost or duplicated.
+     */
+    @Test
+    void testChurn(){
+        final int KEY_RANGE = 5000, OPS = 2000000;
+        IntHashTable<Integer> table = new IntHashTable<>();
+        Integer[] reference = new Integer[KEY_RANGE];
+        int expectedSize = 0;
+
+        Random rand = new Random(0);
+        for(int i=0; i<OPS; i++){
+            int key = rand.nextInt(KEY_RANGE) - KEY_RANGE/2;
+            if(rand.nextBoolean()){
+                if(reference[key + KEY_RANGE/2] == null) expectedSize++;
+                reference[key + KEY_RANGE/2] = i;
+                table.insert(key, i);
+            } else {
+                if(reference[key + KEY_RANGE/2] != null) expectedSize--;
+                reference[key + KEY_RANGE/2] = null;
+                table.remove(key);
+            }
+            assertEquals(expectedSize, table.size());
+        }
+
+        for(int key=-KEY_RANGE/2; key<KEY_RANGE/2; key++){
+            assertEquals(reference[key + KEY_RANGE/2], table.get(key));
+        }
+    }
+
+    /**
+     * Tests that an attached HashTableStats sees every operation and resize, and nothing once detached
+     */
+    @Test
+    void testStats(){
+        final int MAX = 10000;
+        IntHashTable<Integer> table = new IntHashTable<>();
+        HashTableStats stats = new HashTableStats();
+        table.setStats(stats);
+        for(int i=0; i<MAX; i++){
+            table.insert(i * 1000, i);
+        }
+        for(int i=0; i<MAX; i++){
+            assertEquals(i, table.get(i * 1000));
+            assertFalse(table.containsKey(i * 1000 + 1));
+        }
+        for(int i=0; i<MAX; i+=2){
+            table.remove(i * 1000);
+        }
+
+        assertSame(stats, table.stats());
+        assertEquals(MAX, stats.operationCount(Operation.INSERT));
+        assertEquals(2 * MAX, stats.operationCount(Operation.GET));
+        assertEquals(MAX / 2, stats.operationCount(Operation.REMOVE));
+        assertTrue(stats.averageProbes(Operation.GET) >= 1 && stats.averageProbes(Operation.GET) < 3);
+        assertTrue(stats.resizeCount() > 0);
+        assertEquals(MAX / 2, stats.size());
+        assertEquals((double) (MAX / 2) / stats.capacity(), stats.tombstoneRatio(), 1e-9);
+        assertTrue(stats.maxClusterLength() >= 1 && stats.maxClusterLength() < stats.capacity());
+
+        table.setStats(null);
+        table.get(0);
+        assertNull(table.stats());
+        assertEquals(2 * MAX, stats.operationCount(Operation.GET));
+    }
+
+    /**
+     * Verifies that it can hold integers properly
+     */
+    @Nested
+    class GetContainsTests extends IntTestFactory {
+        IntHashTable<Integer> table = new IntHashTable<>();
+        /**
+         * Factory method for calling the appropriate function you want to test for signed ints validity
+         *
+         * @param num signed int to test
+         * @return the result of a getField on the respective object
+         * @throws Exception if something goes wrong
+         */
+        @Override
+        protected int setGetField(int num) throws Exception {
+            table.insert(num, num);
+            return table.get(num);
+        }
+    }
+
+    /**
+     * Does basic add remove with large amount of elements exhaustive testing
+     */
+    @Nested
+    class ExtensiveUsageTests extends SizeEmptyBasicAddRemoveBackTestFactory {
+        IntHashTable<Long> table = new IntHashTable<>();
+
+        @Override
+        protected void add(long o) throws Exception { table.insert((int) o, o); }
+
+        @Override
+        protected void removeParameterized(long o) throws Exception { table.remove((int) o); }
+
+        @Override
+        protected void removeBack() throws Exception { /* nothing here on purpose */ }
+
+        @Override
+        protected boolean getTestRemoveBack() { return false; }
+
+        @Override
+        protected long getSize() { return table.size(); }
+
+        @Override
+        protected boolean isEmpty() { return table.size() == 0; }
+    }
+
+    /**
+     * Tests the int-to-int table, including its NOT_FOUND sentinel
+     */
+    @Nested
+    class IntIntTests {
+        @Test
+        void sanityCheck(){
+            IntIntHashTable table = new IntIntHashTable();
+            final int MAX = 1000000;
+            for(int i=0; i<MAX; i++){
+                table.insert(i, -i);
+            }
+            assertEquals(MAX, table.size());
+            for(int i=0; i<MAX; i++){
+                assertEquals(-i, table.get(i));
+            }
+
+            assertEquals(IntIntHashTableInterface.NOT_FOUND, table.get(MAX));
+            assertEquals(42, table.getOrDefault(MAX, 42));
+
+            //a stored -1 is still distinguishable through containsKey
+            table.insert(MAX, IntIntHashTableInterface.NOT_FOUND);
+            assertTrue(table.containsKey(MAX));
+            assertFalse(table.containsKey(MAX + 1));
+
+            for(int i=0; i<MAX; i+=2){
+                table.remove(i);
+            }
+            assertEquals(MAX/2 + 1, table.size());
+            assertFalse(table.containsKey(0));
+            assertEquals(-1, table.get(1));
+        }
+
+        /**
+         * Verifies that it can hold integers properly
+         */
+        @Nested
+        class GetContainsTests extends IntTestFactory {
+            IntIntHashTable table = new IntIntHashTable();
+
+            @Override
+            protected int setGetField(int num) throws Exception {
+                table.insert(num, num);
+                return table.get(num);
+            }
+        }
+    }
+}
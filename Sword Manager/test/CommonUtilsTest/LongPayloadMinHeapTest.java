@@ -0,0 +1,161 @@
+package CommonUtilsTest;
+
+import CommonUtils.LongPayloadMinHeap;
+import CommonUtils.MinHeap;
+import Items.Sword;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+
+import static CommonUtils.Interfaces.LongPayloadMinHeapInterface.EMPTY_KEY;
+import static CommonUtils.Interfaces.LongPayloadMinHeapInterface.NOT_FOUND;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests LongPayloadMinHeap, and that packed priorities order swords the way Sword.compareTo does
+ */
+public class LongPayloadMinHeapTest {
+    /**
+     * Tests very basic use.  Failing this should fail all other tests
+     */
+    @Test
+    void sanityCheck(){
+        LongPayloadMinHeap heap = new LongPayloadMinHeap();
+        heap.add(5, 50);
+        heap.add(-3, 30);
+        heap.add(Long.MAX_VALUE - 1, 80);
+        assertEquals(3, heap.size());
+        assertEquals(-3, heap.peekMinKey());
+        assertEquals(30, heap.peekMinPayload());
+        assertEquals(30, heap.removeMin());
+        assertEquals(50, heap.removeMin());
+        assertEquals(80, heap.removeMin());
+        assertEquals(0, heap.size());
+    }
+
+    /**
+     * Tests clear and the values returned when empty
+     */
+    @Test
+    void testClearAndEmptyReturns(){
+        LongPayloadMinHeap heap = new LongPayloadMinHeap(0);
+        assertEquals(NOT_FOUND, heap.removeMin());
+        assertEquals(NOT_FOUND, heap.peekMinPayload());
+        assertEquals(EMPTY_KEY, heap.peekMinKey());
+        for(int i=0; i<100000; i++){
+            heap.add(i, i);
+        }
+        heap.clear();
+        assertEquals(0, heap.size());
+        assertEquals(NOT_FOUND, heap.removeMin());
+        assertThrows(IllegalArgumentException.class, () -> new LongPayloadMinHeap(-1));
+        assertThrows(IllegalArgumentException.class, () -> heap.addAll(new long[2], new int[1]));
+    }
+
+    /**
+     * Runs random adds, bulk adds and removes against a sorted array of the same keys
+     */
+    @Test
+    void testRandomOperationsAgainstSortedKeys(){
+        LongPayloadMinHeap heap = new LongPayloadMinHeap(1);
+        Random rand = new Random(0);
+        long[] reference = new long[0];
+        for(int i=0; i<20000; i++){
+            int op = rand.nextInt(100);
+            if(op == 0){
+                long[] keys = new long[rand.nextInt(200)];
+                int[] payloads = new int[keys.length];
+                for(int j=0; j<keys.length; j++){
+                    keys[j] = rand.nextLong();
+                    payloads[j] = Long.hashCode(keys[j]);
+                }
+                heap.addAll(keys, payloads);
+                reference = Arrays.copyOf(reference, reference.length + keys.length);
+                System.arraycopy(keys, 0, reference, reference.length - keys.length, keys.length);
+                Arrays.sort(reference);
+            } else if(op < 60 || reference.length == 0){
+                long key = rand.nextLong();
+                heap.add(key, Long.hashCode(key));
+                reference = Arrays.copyOf(reference, reference.length + 1);
+                reference[reference.length - 1] = key;
+                Arrays.sort(reference);
+            } else {
+                assertEquals(reference[0], heap.peekMinKey());
+                assertEquals(Long.hashCode(reference[0]), heap.removeMin());
+                reference = Arrays.copyOfRange(reference, 1, reference.length);
+            }
+            assertEquals(reference.length, heap.size());
+        }
+    }
+
+    /**
+     * Drains random thresholds from a heap full of ties, checking each batch against a sorted reference
+     */
+    @Test
+    void testDrainUpTo(){
+        LongPayloadMinHeap heap = new LongPayloadMinHeap();
+        ArrayList<Long> reference = new ArrayList<>();
+        Random rand = new Random(2);
+        for(int round=0; round<2000; round++){
+            int adds = rand.nextInt(200);
+            for(int i=0; i<adds; i++){
+                long key = rand.nextInt(500);
+                heap.add(key, (int) key);
+                reference.add(key);
+            }
+            Collections.sort(reference);
+
+            long threshold = rand.nextInt(round % 10 == 0 ? 500 : 50);
+            ArrayList<Long> drained = new ArrayList<>();
+            int count = heap.drainUpTo(threshold, payload -> drained.add((long) payload));
+            int expected = 0;
+            while(expected < reference.size() && reference.get(expected) <= threshold){
+                expected++;
+            }
+            assertEquals(expected, count);
+            assertEquals(reference.subList(0, expected), drained);
+            reference.subList(0, expected).clear();
+            assertEquals(reference.size(), heap.size());
+            assertEquals(reference.isEmpty() ? EMPTY_KEY : reference.get(0), heap.peekMinKey());
+        }
+
+        heap.clear();
+        heap.addAll(new long[]{1, 2, 3}, new int[]{1, 2, 3});
+        assertEquals(3, heap.drainUpTo(10, payload -> heap.add(payload + 3, payload + 3)));
+        assertEquals(3, heap.size());
+        assertEquals(4, heap.peekMinKey());
+        assertEquals(0, heap.drainUpTo(3, payload -> fail()));
+    }
+
+    /**
+     * Orders the same swords with a MinHeap (through Sword.compareTo) and with packed priorities
+     */
+    @Test
+    void testPackedOrderMatchesSwordCompareTo(){
+        final int SWORDS = 50000;
+        Random rand = new Random(1);
+        Sword[] swords = new Sword[SWORDS];
+        long[] keys = new long[SWORDS];
+        int[] payloads = new int[SWORDS];
+        for(int i=0; i<SWORDS; i++){
+            swords[i] = new Sword(i, 10, 1, 1, 1, 1, 1, "n", "d", "c", "s");
+            swords[i].setTimeOfClean(rand.nextInt(1000));
+            int order = rand.nextInt(Integer.MAX_VALUE);
+            swords[i].setRequestOrder(order);
+            keys[i] = LongPayloadMinHeap.pack(swords[i].getTimeOfClean(), order);
+            payloads[i] = i;
+            assertEquals(swords[i].getTimeOfClean(), LongPayloadMinHeap.timeOf(keys[i]));
+            assertEquals(order, LongPayloadMinHeap.orderOf(keys[i]));
+        }
+
+        MinHeap<Sword> objectHeap = MinHeap.of(swords);
+        LongPayloadMinHeap heap = new LongPayloadMinHeap();
+        heap.addAll(keys, payloads);
+        for(int i=0; i<SWORDS; i++){
+            assertSame(objectHeap.removeMin(), swords[heap.removeMin()]);
+        }
+    }
+}
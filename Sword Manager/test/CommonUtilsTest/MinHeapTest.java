@@ -5,6 +5,7 @@ import CommonUtilsTest.UsefulObjects.ComplexObject;
 import CommonUtilsTest.UsefulObjects.NewInt;
 import CommonUtilsTest.factories.IntTestFactory;
 import CommonUtilsTest.factories.SizeEmptyBasicAddRemoveBackTestFactory;
+import Items.Sword;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -13,6 +14,10 @@ import org.junit.jupiter.params.provider.ValueSource;
 import javax.swing.*;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.function.ToLongFunction;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -66,6 +71,386 @@ public class MinHeapTest {
         assertNull(heap.peekMin());
     }
 
+    /**
+     * Runs a random mix of adds and removes against a sorted reference, enough to grow the backing
+     *   array several times and shrink the heap back to empty
+     */
+    @Test
+    void testRandomOperationsAgainstSortedList(){
+        MinHeap<Integer> heap = new MinHeap<>(1);
+        ArrayList<Integer> reference = new ArrayList<>();
+        Random rand = new Random(0);
+        for(int i=0; i<200000; i++){
+            if(rand.nextInt(3) != 0 || reference.isEmpty()){
+                int value = rand.nextInt(1000);
+                heap.add(value);
+                int index = Collections.binarySearch(reference, value);
+                reference.add(index < 0 ? -index - 1 : index, value);
+            } else {
+                assertEquals(reference.remove(0), heap.removeMin());
+            }
+            assertEquals(reference.size(), heap.size());
+            assertEquals(reference.isEmpty() ? null : reference.get(0), heap.peekMin());
+        }
+        while(!reference.isEmpty()){
+            assertEquals(reference.remove(0), heap.removeMin());
+        }
+        assertNull(heap.removeMin());
+        assertThrows(IllegalArgumentException.class, () -> new MinHeap<Integer>(-1));
+    }
+
+    /**
+     * Runs random adds, removes and bulk adds on d-ary heaps against a sorted reference
+     * @param arity number of children per node
+     */
+    @ParameterizedTest(name = "Arity = {0}")
+    @ValueSource(ints = {2, 4, 8, 16, 64})
+    void testArity(int arity){
+        MinHeap<Integer> heap = new MinHeap<>(0, arity);
+        assertEquals(arity, heap.arity());
+        ArrayList<Integer> reference = new ArrayList<>();
+        Random rand = new Random(arity);
+        for(int i=0; i<20000; i++){
+            int op = rand.nextInt(100);
+            if(op == 0){
+                Integer[] batch = new Integer[rand.nextInt(Math.min(2 * reference.size(), 200) + 2)];
+                for(int j=0; j<batch.length; j++){
+                    batch[j] = rand.nextInt(1000);
+                }
+                heap.addAll(batch);
+                reference.addAll(Arrays.asList(batch));
+                Collections.sort(reference);
+            } else if(op < 60 || reference.isEmpty()){
+                int value = rand.nextInt(1000);
+                heap.add(value);
+                int index = Collections.binarySearch(reference, value);
+                reference.add(index < 0 ? -index - 1 : index, value);
+            } else {
+                assertEquals(reference.remove(0), heap.removeMin());
+            }
+            assertEquals(reference.size(), heap.size());
+        }
+        heap.heapify(0);
+        while(!reference.isEmpty()){
+            assertEquals(reference.remove(0), heap.removeMin());
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> new MinHeap<Integer>(0, 3));
+        assertThrows(IllegalArgumentException.class, () -> new MinHeap<Integer>(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new MinHeap<Integer>(0, 128));
+    }
+
+    /**
+     * Drains random thresholds from heaps full of ties, checking each batch against a sorted reference,
+     *   and that the heap stays valid for the adds and drains that follow
+     * @param arity number of children per node
+     */
+    @ParameterizedTest(name = "Arity = {0}")
+    @ValueSource(ints = {2, 8})
+    void testDrainUpTo(int arity){
+        MinHeap<Integer> heap = new MinHeap<>(0, arity);
+        ArrayList<Integer> reference = new ArrayList<>();
+        Random rand = new Random(arity);
+        for(int round=0; round<2000; round++){
+            int adds = rand.nextInt(200);
+            for(int i=0; i<adds; i++){
+                int value = rand.nextInt(500);
+                heap.add(value);
+                reference.add(value);
+            }
+            Collections.sort(reference);
+
+            int threshold = rand.nextInt(round % 10 == 0 ? 500 : 50);
+            ArrayList<Integer> drained = new ArrayList<>();
+            int count = heap.drainUpTo(threshold, drained::add);
+            int expected = 0;
+            while(expected < reference.size() && reference.get(expected) <= threshold){
+                expected++;
+            }
+            assertEquals(expected, count);
+            assertEquals(reference.subList(0, expected), drained);
+            reference.subList(0, expected).clear();
+            assertEquals(reference.size(), heap.size());
+            assertEquals(reference.isEmpty() ? null : reference.get(0), heap.peekMin());
+        }
+
+        heap.clear();
+        heap.addAll(new Integer[]{1, 2, 3});
+        assertEquals(3, heap.drainUpTo(10, x -> heap.add(x + 10)));
+        assertEquals(3, heap.size());
+        assertEquals(11, heap.peekMin());
+        assertEquals(0, heap.drainUpTo(5, x -> fail()));
+        assertThrows(NullPointerException.class, () -> heap.drainUpTo(null, x -> {}));
+    }
+
+    /**
+     * Tests that heapify restores the heap order after Swords change their timeOfClean in place, first
+     *   inside one subtree (heapify of that subtree's root) and then anywhere (heapify(0))
+     * @param arity number of children per node
+     */
+    @ParameterizedTest(name = "Arity = {0}")
+    @ValueSource(ints = {2, 4, 8, 16})
+    void testHeapify(int arity){
+        Random rand = new Random(arity);
+        final int N = 1000;
+        for(int trial=0; trial<50; trial++){
+            /* a sorted array is already a heap, so addAll leaves swords[i] at index i */
+            Sword[] swords = new Sword[N];
+            for(int i=0; i<N; i++){
+                swords[i] = new Sword(i, 10, 1, 1, 1, 1, 1, "n", "d", "c", "s");
+                swords[i].setTimeOfClean(10 * i);
+                swords[i].setRequestOrder(i);
+            }
+            MinHeap<Sword> heap = new MinHeap<>(N, arity);
+            heap.addAll(swords);
+            heap.heapify(-1);
+            heap.heapify(N);
+
+            /* disorder the subtree rooted at a child of the root; the root stays below all of it */
+            int root = 1 + rand.nextInt(arity);
+            for(long first=root, last=root; first<N; first=first*arity+1, last=last*arity+arity){
+                for(long i=first; i<=Math.min(last, N-1); i++){
+                    if(rand.nextBoolean()){
+                        swords[(int) i].setTimeOfClean(1 + rand.nextInt(10 * N));
+                    }
+                }
+            }
+            heap.heapify(root);
+            assertDrainsInOrder(heap, swords);
+
+            /* disorder several Swords anywhere in the heap */
+            heap.addAll(swords);
+            for(int i=0; i<50; i++){
+                swords[rand.nextInt(N)].setTimeOfClean(rand.nextInt(10 * N));
+            }
+            heap.heapify(0);
+            assertDrainsInOrder(heap, swords);
+        }
+    }
+
+    /**
+     * Removes every element from the heap and checks they come out in the order of the sorted Swords
+     */
+    private static void assertDrainsInOrder(MinHeap<Sword> heap, Sword[] swords){
+        Sword[] sorted = swords.clone();
+        Arrays.sort(sorted);
+        for(Sword sword : sorted){
+            assertSame(sword, heap.removeMin());
+        }
+        assertEquals(0, heap.size());
+    }
+
+    /**
+     * Tests addAll (both the bottom-up rebuild and the sift-up path) and the of factories
+     */
+    @Test
+    void testBulkConstruction(){
+        Random rand = new Random(1);
+        Integer[] values = new Integer[100000];
+        for(int i=0; i<values.length; i++){
+            values[i] = rand.nextInt();
+        }
+        Integer[] sorted = values.clone();
+        Arrays.sort(sorted);
+
+        MinHeap<Integer> fromArray = MinHeap.of(values);
+        MinHeap<Integer> fromList = MinHeap.of(Arrays.asList(values));
+        MinHeap<Integer> mixed = new MinHeap<>();
+        mixed.addAll(Arrays.copyOfRange(values, 0, 90000));
+        mixed.addAll(Arrays.asList(values).subList(90000, values.length));
+        for(Integer expected : sorted){
+            assertEquals(expected, fromArray.removeMin());
+            assertEquals(expected, fromList.removeMin());
+            assertEquals(expected, mixed.removeMin());
+        }
+        assertEquals(0, fromArray.size());
+
+        MinHeap<Integer> heap = MinHeap.of(3, 1, 2);
+        assertThrows(NullPointerException.class, () -> heap.addAll(new Integer[]{5, null}));
+        assertThrows(NullPointerException.class, () -> heap.addAll(Arrays.asList(4, null)));
+        assertEquals(3, heap.size());
+        assertEquals(1, heap.removeMin());
+        assertEquals(0, MinHeap.<Integer>of().size());
+    }
+
+    /**
+     * Tests that a heap with shrinking turned on gives memory back after a burst, without growing and
+     *   shrinking over and over around one size, and that trimToSize and clear release memory
+     * @param arity number of children per node
+     */
+    @ParameterizedTest(name = "Arity = {0}")
+    @ValueSource(ints = {2, 8})
+    void testShrinking(int arity){
+        final int BURST = 1000000, IDLE = 3000;
+        MinHeap<Integer> heap = new MinHeap<>(16, arity);
+        MinHeap<Integer> keyed = new MinHeap<>(16, arity, (ToLongFunction<Integer>) i -> i);
+        heap.setShrinkOnLowOccupancy(true);
+        keyed.setShrinkOnLowOccupancy(true);
+        Random rand = new Random(arity);
+        for(int i=0; i<BURST; i++){
+            int value = rand.nextInt();
+            heap.add(value);
+            keyed.add(value);
+        }
+        long burstFootprint = heap.memoryFootprint();
+        assertTrue(heap.capacity() >= BURST);
+
+        Integer previous = Integer.MIN_VALUE;
+        while(heap.size() > IDLE){
+            Integer next = heap.removeMin();
+            assertTrue(next >= previous);
+            assertEquals(next, keyed.removeMin());
+            previous = next;
+        }
+        assertTrue(heap.capacity() <= 4 * IDLE, "capacity stayed at " + heap.capacity());
+        assertTrue(heap.memoryFootprint() < burstFootprint / 100);
+        assertTrue(keyed.memoryFootprint() > heap.memoryFootprint());
+
+        /* hovering around one size must not resize on every call */
+        int capacity = heap.capacity();
+        for(int i=0; i<10000; i++){
+            heap.add(previous + rand.nextInt(1000));
+            heap.removeMin();
+            assertEquals(capacity, heap.capacity());
+        }
+
+        keyed.drainUpTo(keyed.peekMin() + (Integer.MAX_VALUE - keyed.peekMin()) / 2, x -> {});
+        assertTrue(keyed.capacity() <= 4 * keyed.size() || keyed.capacity() == 16);
+        heap.trimToSize();
+        assertEquals(IDLE, heap.capacity());
+        heap.clear();
+        assertEquals(16, heap.capacity());
+        while(keyed.size() > 0){
+            assertTrue(keyed.removeMin() >= previous);
+        }
+
+        MinHeap<Integer> plain = new MinHeap<>();
+        for(int i=0; i<100000; i++){
+            plain.add(i);
+        }
+        plain.clear();
+        assertEquals(131072, plain.capacity());
+        plain.trimToSize();
+        assertEquals(1, plain.capacity());
+        plain.add(2); plain.add(1);
+        assertEquals(1, plain.removeMin());
+    }
+
+    /**
+     * Tests ordering by a comparator instead of the natural ordering, including for elements that are not
+     *   Comparable at all
+     */
+    @Test
+    void testComparator(){
+        MinHeap<Integer> reversed = new MinHeap<>(Collections.reverseOrder());
+        MinHeap<Integer> natural = new MinHeap<>(0, 4, (Comparator<Integer>) null);
+        MinHeap<int[]> pairs = new MinHeap<>(0, 8, Comparator.<int[]>comparingInt(p -> p[0]).thenComparingInt(p -> p[1]));
+        Random rand = new Random(18);
+        Integer[] values = new Integer[50000];
+        for(int i=0; i<values.length; i++){
+            values[i] = rand.nextInt(1000);
+            reversed.add(values[i]);
+            pairs.add(new int[]{values[i], i});
+        }
+        natural.addAll(values);
+        Integer[] sorted = values.clone();
+        Arrays.sort(sorted);
+
+        for(int i=0; i<sorted.length; i++){
+            assertEquals(sorted[sorted.length - 1 - i], reversed.removeMin());
+            assertEquals(sorted[i], natural.removeMin());
+            assertEquals((int) sorted[i], pairs.removeMin()[0]);
+        }
+        assertNull(pairs.removeMin());
+
+        reversed.addAll(new Integer[]{1, 5, 3, 9});
+        ArrayList<Integer> drained = new ArrayList<>();
+        assertEquals(2, reversed.drainUpTo(5, drained::add));
+        assertEquals(Arrays.asList(9, 5), drained);
+        assertEquals(3, reversed.peekMin());
+    }
+
+    /**
+     * Tests ordering by extracted keys against a sorted reference, and that each element's key is extracted
+     *   only once however much it is moved around
+     * @param arity number of children per node
+     */
+    @ParameterizedTest(name = "Arity = {0}")
+    @ValueSource(ints = {2, 8})
+    void testKeyExtractor(int arity){
+        int[] calls = new int[1];
+        MinHeap<long[]> heap = new MinHeap<>(0, arity, item -> { calls[0]++; return item[0]; });
+        ArrayList<Long> reference = new ArrayList<>();
+        Random rand = new Random(arity);
+        int extracted = 0;
+        for(int round=0; round<2000; round++){
+            int adds = rand.nextInt(100);
+            if(round % 3 == 0){
+                long[][] batch = new long[adds][];
+                for(int i=0; i<adds; i++){
+                    batch[i] = new long[]{rand.nextLong() >> 40};
+                    reference.add(batch[i][0]);
+                }
+                heap.addAll(batch);
+            } else {
+                for(int i=0; i<adds; i++){
+                    long key = rand.nextLong() >> 40;
+                    heap.add(new long[]{key});
+                    reference.add(key);
+                }
+            }
+            extracted += adds;
+            Collections.sort(reference);
+
+            int removes = rand.nextInt(60);
+            for(int i=0; i<removes && !reference.isEmpty(); i++){
+                assertEquals(reference.remove(0), heap.removeMin()[0]);
+            }
+            if(round % 10 == 0){
+                long threshold = reference.isEmpty() ? 0 : reference.get(rand.nextInt(reference.size()));
+                ArrayList<Long> drained = new ArrayList<>();
+                heap.drainUpTo(new long[]{threshold}, item -> drained.add(item[0]));
+                extracted++;
+                int expected = 0;
+                while(expected < reference.size() && reference.get(expected) <= threshold){
+                    expected++;
+                }
+                assertEquals(reference.subList(0, expected), drained);
+                reference.subList(0, expected).clear();
+            }
+            assertEquals(reference.size(), heap.size());
+            assertEquals(reference.isEmpty() ? null : reference.get(0), heap.peekMin() == null ? null : heap.peekMin()[0]);
+        }
+        assertEquals(extracted, calls[0]);
+        assertThrows(NullPointerException.class, () -> new MinHeap<long[]>((ToLongFunction<long[]>) null));
+        assertThrows(NullPointerException.class, () -> heap.add(null));
+    }
+
+    /**
+     * Schedules items whose times live in an array outside the items, the way the sword manager could keep
+     *   its cleaning times next to its heap instead of inside each Sword
+     */
+    @Test
+    void testKeysOutsideElements(){
+        Random rand = new Random(7);
+        long[] cleanAt = new long[10000];
+        MinHeap<Integer> schedule = new MinHeap<>(cleanAt.length, 8, (ToLongFunction<Integer>) i -> cleanAt[i]);
+        for(int i=0; i<cleanAt.length; i++){
+            cleanAt[i] = rand.nextInt(100000);
+            schedule.add(i);
+        }
+        long now = Long.MIN_VALUE;
+        for(int step=0; step<100000; step++){
+            int next = schedule.removeMin();
+            assertTrue(cleanAt[next] >= now);
+            now = cleanAt[next];
+            /* reschedule it: its time changes only while it is out of the heap */
+            cleanAt[next] = now + rand.nextInt(1000);
+            schedule.add(next);
+        }
+        assertEquals(cleanAt.length, schedule.size());
+    }
+
     /**
      * Tests basic use cases with integers
      */
@@ -0,0 +1,187 @@
+package CommonUtilsTest;
+
+import CommonUtils.MpmcBetterQueue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests MpmcBetterQueue, both from one thread and shared by several producer and consumer threads
+ */
+public class MpmcBetterQueueTest {
+    private static final int THREADS = 4;
+
+    /**
+     * Tests very basic use.  Failing this should fail all other tests
+     */
+    @Test
+    void sanityCheck() throws InterruptedException {
+        MpmcBetterQueue<Integer> queue = new MpmcBetterQueue<>(3);
+        assertEquals(4, queue.capacity());
+        assertTrue(queue.isEmpty());
+        assertNull(queue.peek());
+        assertNull(queue.poll());
+        assertNull(queue.remove());
+
+        for(int i=0; i<4; i++){
+            assertTrue(queue.offer(i));
+        }
+        assertFalse(queue.offer(4));
+        assertEquals(4, queue.size());
+        assertEquals(0, queue.peek());
+        assertEquals(0, queue.take());
+        queue.put(4);
+        for(int i=1; i<=4; i++){
+            assertEquals(i, queue.poll());
+        }
+        assertNull(queue.poll());
+        assertEquals(0, queue.size());
+
+        assertThrows(NullPointerException.class, () -> queue.add(null));
+        assertThrows(NullPointerException.class, () -> queue.offer(null));
+        assertThrows(NullPointerException.class, () -> queue.addAll(new Integer[]{1, null}, 0, 2));
+        assertThrows(IndexOutOfBoundsException.class, () -> queue.addAll(new Integer[1], 0, 2));
+        assertThrows(IllegalArgumentException.class, () -> queue.drainTo(new Integer[1], -1));
+        assertThrows(IllegalArgumentException.class, () -> new MpmcBetterQueue<Integer>(0));
+        queue.ensureCapacity(4);
+        assertThrows(IllegalArgumentException.class, () -> queue.ensureCapacity(5));
+        assertEquals(0, queue.size());
+    }
+
+    /**
+     * Tests addAll and drainTo from a single thread, many laps around a small ring
+     */
+    @Test
+    void testBatchesWrapAround(){
+        MpmcBetterQueue<Integer> queue = new MpmcBetterQueue<>(16);
+        Integer[] batch = new Integer[16];
+        int next = 0, expected = 0;
+        Random rand = new Random(24);
+        for(int round=0; round<10000; round++){
+            int len = rand.nextInt(16 - queue.size() + 1);
+            for(int i=0; i<len; i++){
+                batch[i] = next++;
+            }
+            queue.addAll(batch, 0, len);
+            assertEquals(next - expected, queue.size());
+
+            int count = queue.drainTo(batch, rand.nextInt(17));
+            for(int i=0; i<count; i++){
+                assertEquals(expected++, batch[i]);
+            }
+        }
+    }
+
+    /**
+     * Tests that take waits for an element and can be interrupted while it waits
+     */
+    @Test
+    void testTakeParks() throws Throwable {
+        MpmcBetterQueue<Integer> queue = new MpmcBetterQueue<>(2);
+        AtomicReference<Object> taken = new AtomicReference<>();
+        Thread taker = new Thread(() -> {
+            try {
+                taken.set(queue.take());
+                queue.take();
+            } catch (InterruptedException e) {
+                taken.compareAndSet(0, e);
+            }
+        });
+        taker.start();
+        while(taker.getState() != Thread.State.WAITING){
+            Thread.yield();
+        }
+        assertNull(taken.get());
+        queue.put(0);
+        while(taken.get() == null || taker.getState() != Thread.State.WAITING){
+            Thread.yield();
+        }
+        assertEquals(0, taken.get());
+        taker.interrupt();
+        taker.join();
+        assertTrue(taken.get() instanceof InterruptedException);
+    }
+
+    /**
+     * Producers and consumers share a small queue, each mixing waiting and non-waiting operations; every
+     *   element must arrive exactly once, and each producer's elements in the order it added them
+     * @param capacity capacity of the queue
+     */
+    @ParameterizedTest(name = "Capacity = {0}")
+    @ValueSource(ints = {1, 8, 1024})
+    void testProducersConsumers(int capacity) throws Throwable {
+        final int N = 50000;
+        MpmcBetterQueue<Integer> queue = new MpmcBetterQueue<>(capacity);
+        AtomicIntegerArray received = new AtomicIntegerArray(THREADS * N);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> threads = new ArrayList<>();
+
+        for(int t=0; t<THREADS; t++){
+            final int producer = t;
+            threads.add(new Thread(() -> {
+                try {
+                    Random rand = new Random(producer);
+                    for(int i=producer*N; i<(producer+1)*N; i++){
+                        switch(rand.nextInt(3)){
+                            case 0: queue.put(i); break;
+                            case 1: queue.add(i); break;
+                            default:
+                                while(!queue.offer(i)){
+                                    Thread.yield();
+                                }
+                        }
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            }));
+            final int consumer = t;
+            threads.add(new Thread(() -> {
+                try {
+                    Random rand = new Random(-consumer);
+                    int[] last = new int[THREADS];
+                    for(int i=0; i<N; i++){
+                        Integer value;
+                        if(rand.nextBoolean()){
+                            value = queue.take();
+                        } else {
+                            while((value = queue.poll()) == null){
+                                Thread.yield();
+                            }
+                        }
+                        assertEquals(0, received.getAndIncrement(value));
+                        int from = value / N;
+                        assertTrue(value >= last[from]);
+                        last[from] = value;
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            }));
+        }
+        for(Thread thread : threads){
+            thread.setDaemon(true);
+            thread.start();
+        }
+        for(Thread thread : threads){
+            thread.join(60000);
+            if(failure.get() != null){
+                throw failure.get();
+            }
+            assertFalse(thread.isAlive());
+        }
+        for(int i=0; i<THREADS*N; i++){
+            assertEquals(1, received.get(i));
+        }
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+}
@@ -0,0 +1,139 @@
+package CommonUtilsTest;
+
+import CommonUtils.LongPayloadMinHeap;
+import CommonUtils.RadixHeap;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import static CommonUtils.Interfaces.LongPayloadMinHeapInterface.EMPTY_KEY;
+import static CommonUtils.Interfaces.LongPayloadMinHeapInterface.NOT_FOUND;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests RadixHeap, mostly by running the same monotone operations on a LongPayloadMinHeap
+ */
+public class RadixHeapTest {
+    /**
+     * Tests very basic use.  Failing this should fail all other tests
+     */
+    @Test
+    void sanityCheck(){
+        RadixHeap heap = new RadixHeap();
+        heap.add(5, 50);
+        heap.add(3, 30);
+        heap.add(8, 80);
+        assertEquals(3, heap.size());
+        assertEquals(3, heap.peekMinKey());
+        assertEquals(30, heap.peekMinPayload());
+        assertEquals(30, heap.removeMin());
+
+        heap.add(4, 40);
+        assertThrows(IllegalArgumentException.class, () -> heap.add(2, 20));
+        assertEquals(40, heap.removeMin());
+        assertEquals(50, heap.removeMin());
+        assertEquals(80, heap.removeMin());
+        assertEquals(0, heap.size());
+        assertEquals(NOT_FOUND, heap.removeMin());
+        assertEquals(NOT_FOUND, heap.peekMinPayload());
+        assertEquals(EMPTY_KEY, heap.peekMinKey());
+
+        heap.clear();
+        heap.add(-7, 70);
+        heap.add(Long.MIN_VALUE, 10);
+        assertEquals(10, heap.removeMin());
+        assertEquals(70, heap.removeMin());
+    }
+
+    /**
+     * An entry smaller than the one a peek reported may still be added, as long as it is not smaller than
+     *   the last one removed
+     */
+    @Test
+    void testAddBelowPeekedMinimum(){
+        RadixHeap heap = new RadixHeap();
+        heap.add(0, 0);
+        heap.add(100, 100);
+        assertEquals(0, heap.removeMin());
+        assertEquals(100, heap.peekMinKey());
+        heap.add(60, 60);
+        assertEquals(60, heap.peekMinKey());
+        assertEquals(60, heap.peekMinPayload());
+        heap.add(0, 1);
+        assertEquals(0, heap.peekMinKey());
+        assertEquals(1, heap.removeMin());
+        assertEquals(60, heap.removeMin());
+        assertEquals(100, heap.removeMin());
+    }
+
+    /**
+     * Replays an event timeline on both heaps: at each step the current time moves to the next event and
+     *   new events are scheduled at or after it
+     * @param maxDelay events are scheduled up to this far after the current time
+     */
+    @ParameterizedTest(name = "Max delay = {0}")
+    @ValueSource(ints = {1, 1000, 1 << 30})
+    void testTimelineAgainstLongPayloadMinHeap(int maxDelay){
+        RadixHeap radix = new RadixHeap();
+        LongPayloadMinHeap reference = new LongPayloadMinHeap();
+        Random rand = new Random(maxDelay);
+        int order = 0;
+        long now = 0;
+        for(int i=0; i<200000; i++){
+            int op = rand.nextInt(10);
+            if(op < 5 || reference.size() == 0){
+                int time = (int) Math.min(Integer.MAX_VALUE, now + rand.nextInt(maxDelay));
+                long key = LongPayloadMinHeap.pack(time, order);
+                radix.add(key, order);
+                reference.add(key, order);
+                order++;
+            } else if(op < 9){
+                assertEquals(reference.peekMinKey(), radix.peekMinKey());
+                assertEquals(reference.peekMinPayload(), radix.peekMinPayload());
+                now = LongPayloadMinHeap.timeOf(reference.peekMinKey());
+                assertEquals(reference.removeMin(), radix.removeMin());
+            } else {
+                long threshold = LongPayloadMinHeap.pack((int) Math.min(Integer.MAX_VALUE, now + rand.nextInt(maxDelay)),
+                        Integer.MAX_VALUE);
+                ArrayList<Integer> expected = new ArrayList<>(), actual = new ArrayList<>();
+                assertEquals(reference.drainUpTo(threshold, expected::add), radix.drainUpTo(threshold, actual::add));
+                assertEquals(expected, actual);
+                if(!expected.isEmpty()){
+                    now = LongPayloadMinHeap.timeOf(threshold);
+                }
+            }
+            assertEquals(reference.size(), radix.size());
+        }
+        while(reference.size() != 0){
+            assertEquals(reference.removeMin(), radix.removeMin());
+        }
+    }
+
+    @Test
+    void testAddAll(){
+        RadixHeap heap = new RadixHeap();
+        heap.addAll(new long[]{9, 2, 7}, new int[]{90, 20, 70});
+        assertEquals(20, heap.removeMin());
+        assertThrows(IllegalArgumentException.class, () -> heap.addAll(new long[]{3, 1}, new int[]{30, 10}));
+        assertThrows(IllegalArgumentException.class, () -> heap.addAll(new long[]{3}, new int[0]));
+        assertEquals(2, heap.size());
+        assertEquals(70, heap.removeMin());
+        assertEquals(90, heap.removeMin());
+    }
+
+    /**
+     * The whole batch is out of the heap before the sink sees it, so entries the sink adds are not drained
+     */
+    @Test
+    void testDrainUpToSinkAdds(){
+        RadixHeap heap = new RadixHeap();
+        heap.addAll(new long[]{1, 2, 3}, new int[]{1, 2, 3});
+        assertEquals(3, heap.drainUpTo(10, payload -> heap.add(payload + 3, payload + 3)));
+        assertEquals(3, heap.size());
+        assertEquals(4, heap.peekMinKey());
+        assertEquals(0, heap.drainUpTo(3, payload -> fail()));
+    }
+}
@@ -0,0 +1,154 @@
+package CommonUtilsTest;
+
+import CommonUtils.BetterHashTableFactory;
+import CommonUtils.BetterHashTableFactory.Engine;
+import CommonUtils.Interfaces.BetterHashTableInterface;
+import CommonUtils.RobinHoodHashTable;
+import CommonUtilsTest.UsefulObjects.Blob;
+import CommonUtilsTest.factories.IntTestFactory;
+import CommonUtilsTest.factories.SizeEmptyBasicAddRemoveBackTestFactory;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.HashMap;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests RobinHoodHashTable according to the interface specifications, and the engine factory.
+ */
+public class RobinHoodHashTableTest {
+    /**
+     * Tests very basic use.  Failing this should fail all other tests
+     */
+    @Test
+    void sanityCheck(){
+        RobinHoodHashTable<Integer, Integer> table = new RobinHoodHashTable<>(4);
+        table.insert(1, 2); table.insert(2, 3); table.insert(3, 4); table.insert(4, 5);
+
+        assertTrue(table.containsKey(1));
+        assertTrue(table.containsKey(4));
+        assertEquals(2, table.get(1));
+        assertEquals(5, table.get(4));
+        assertEquals(4, table.size());
+
+        table.insert(null, 1);
+        assertEquals(4, table.size());
+        assertNull(table.get(null));
+
+        table.clear();
+        assertEquals(0, table.size());
+        assertNull(table.get(1));
+    }
+
+    /**
+     * Tests that the hash table uses equivalence based on equals function and not object equivalence.
+     */
+    @Test
+    void basicEquivalenceTest(){
+        Blob b = new Blob("hi0", "asdf", 0, 1),
+             c = new Blob("hi0", ";lkj", 0, 10000);
+        RobinHoodHashTable<Blob, Integer> table = new RobinHoodHashTable<>();
+        table.insert(b, 0);
+        assertTrue(table.containsKey(c));
+    }
+
+    /**
+     * Runs a random mix of every operation against java.util.HashMap.  Removal shifts entries backwards,
+     *   so this mostly checks that no entry becomes unreachable after a remove.
+     */
+    @Test
+    void testRandomOperationsAgainstHashMap(){
+        final int KEY_RANGE = 20000, OPS = 2000000;
+        RobinHoodHashTable<Integer, Integer> table = new RobinHoodHashTable<>();
+        HashMap<Integer, Integer> reference = new HashMap<>();
+
+        Random rand = new Random(0);
+        for(int i=0; i<OPS; i++){
+            //clustered keys, like Sword.HashCode()
+            int key = rand.nextInt(KEY_RANGE) * 1000 + rand.nextInt(3);
+            switch(rand.nextInt(5)){
+                case 0: case 1:
+                    table.insert(key, i); reference.put(key, i); break;
+                case 2:
+                    table.remove(key); reference.remove(key); break;
+                case 3:
+                    assertEquals(reference.merge(key, 1, Integer::sum), table.merge(key, 1, Integer::sum)); break;
+                default:
+                    assertEquals(reference.get(key), table.get(key));
+            }
+            assertEquals(reference.size(), table.size());
+        }
+        for(var entry : reference.entrySet()){
+            assertEquals(entry.getValue(), table.get(entry.getKey()));
+        }
+        assertTrue(table.averageProbeLength() < 3, "average probe length " + table.averageProbeLength());
+    }
+
+    /**
+     * Tests that every engine handed out by the factory meets the interface contract
+     * @param engine engine to test
+     */
+    @ParameterizedTest(name = "Engine = {0}")
+    @EnumSource(Engine.class)
+    void testFactoryEngines(Engine engine){
+        BetterHashTableInterface<Integer, Integer> table = BetterHashTableFactory.create(engine, 3);
+        final int MAX = 100000;
+        for(int i=0; i<MAX; i++){
+            table.insert(i, i);
+        }
+        for(int i=0; i<MAX; i+=2){
+            table.remove(i);
+        }
+        assertEquals(MAX/2, table.size());
+        for(int i=0; i<MAX; i++){
+            assertEquals(i % 2 == 0 ? null : (Integer) i, table.get(i));
+        }
+        assertEquals(7, table.computeIfAbsent(0, k -> 7));
+        assertEquals(1, table.putIfAbsent(1, 2));
+        assertEquals(-1, table.getOrDefault(-5, -1));
+    }
+
+    /**
+     * Verifies that it can hold integers properly
+     */
+    @Nested
+    class GetContainsTests extends IntTestFactory {
+        RobinHoodHashTable<Integer, Integer> table = new RobinHoodHashTable<>();
+
+        @Override
+        protected int setGetField(int num) throws Exception {
+            table.insert(num, num);
+            return table.get(num);
+        }
+    }
+
+    /**
+     * Does basic add remove with large amount of elements exhaustive testing
+     */
+    @Nested
+    class ExtensiveUsageTests extends SizeEmptyBasicAddRemoveBackTestFactory {
+        RobinHoodHashTable<Long, Long> table = new RobinHoodHashTable<>();
+
+        @Override
+        protected void add(long o) throws Exception { table.insert(o, o); }
+
+        @Override
+        protected void removeParameterized(long o) throws Exception { table.remove(o); }
+
+        @Override
+        protected void removeBack() throws Exception { /* nothing here on purpose */ }
+
+        @Override
+        protected boolean getTestRemoveBack() { return false; }
+
+        @Override
+        protected long getSize() { return table.size(); }
+
+        @Override
+        protected boolean isEmpty() { return table.size() == 0; }
+    }
+}
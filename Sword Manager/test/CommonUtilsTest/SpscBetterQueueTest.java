@@ -0,0 +1,140 @@
+package CommonUtilsTest;
+
+import CommonUtils.SpscBetterQueue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests SpscBetterQueue, both from one thread and with a producer and a consumer thread
+ */
+public class SpscBetterQueueTest {
+    /**
+     * Tests very basic use.  Failing this should fail all other tests
+     */
+    @Test
+    void sanityCheck(){
+        SpscBetterQueue<Integer> queue = new SpscBetterQueue<>(3);
+        assertEquals(4, queue.capacity());
+        assertTrue(queue.isEmpty());
+        assertNull(queue.peek());
+        assertNull(queue.remove());
+
+        for(int i=0; i<4; i++){
+            assertTrue(queue.offer(i));
+        }
+        assertFalse(queue.offer(4));
+        assertEquals(4, queue.size());
+        assertEquals(0, queue.peek());
+        assertEquals(0, queue.remove());
+        queue.add(4);
+        for(int i=1; i<=4; i++){
+            assertEquals(i, queue.remove());
+        }
+        assertNull(queue.remove());
+        assertEquals(0, queue.size());
+
+        assertThrows(NullPointerException.class, () -> queue.add(null));
+        assertThrows(NullPointerException.class, () -> queue.offer(null));
+        assertThrows(NullPointerException.class, () -> queue.addAll(new Integer[]{1, null}, 0, 2));
+        assertThrows(IndexOutOfBoundsException.class, () -> queue.addAll(new Integer[1], 0, 2));
+        assertThrows(IllegalArgumentException.class, () -> queue.drainTo(new Integer[1], -1));
+        assertThrows(IllegalArgumentException.class, () -> new SpscBetterQueue<Integer>(0));
+        queue.ensureCapacity(4);
+        assertThrows(IllegalArgumentException.class, () -> queue.ensureCapacity(5));
+        assertEquals(0, queue.size());
+    }
+
+    /**
+     * Tests batches that wrap around the end of the ring from a single thread
+     */
+    @Test
+    void testBatchesWrapAround(){
+        SpscBetterQueue<Integer> queue = new SpscBetterQueue<>(16);
+        Integer[] batch = new Integer[16];
+        int next = 0, expected = 0;
+        Random rand = new Random(23);
+        for(int round=0; round<10000; round++){
+            int len = rand.nextInt(16 - queue.size() + 1);
+            for(int i=0; i<len; i++){
+                batch[i] = next++;
+            }
+            queue.addAll(batch, 0, len);
+            assertEquals(next - expected, queue.size());
+
+            int count = queue.drainTo(batch, rand.nextInt(17));
+            for(int i=0; i<count; i++){
+                assertEquals(expected++, batch[i]);
+            }
+        }
+    }
+
+    /**
+     * A producer thread and a consumer thread share a small queue; every element must arrive exactly once
+     *   and in order, whichever mix of single and batched operations each side uses
+     * @param capacity capacity of the queue
+     */
+    @ParameterizedTest(name = "Capacity = {0}")
+    @ValueSource(ints = {1, 64, 1024})
+    void testProducerConsumer(int capacity) throws Throwable {
+        final int N = 500000;
+        SpscBetterQueue<Integer> queue = new SpscBetterQueue<>(capacity);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        Thread producer = new Thread(() -> {
+            try {
+                Random rand = new Random(capacity);
+                Integer[] batch = new Integer[100];
+                int next = 0;
+                while(next < N){
+                    if(rand.nextBoolean()){
+                        queue.add(next++);
+                    } else {
+                        int len = Math.min(rand.nextInt(batch.length), N - next);
+                        for(int i=0; i<len; i++){
+                            batch[i] = next++;
+                        }
+                        queue.addAll(batch, 0, len);
+                    }
+                }
+            } catch (Throwable e) {
+                failure.compareAndSet(null, e);
+            }
+        });
+        producer.setDaemon(true);
+        producer.start();
+
+        Random rand = new Random(-capacity);
+        Integer[] batch = new Integer[100];
+        int expected = 0;
+        while(expected < N && failure.get() == null){
+            if(rand.nextBoolean()){
+                Integer value = queue.remove();
+                if(value != null){
+                    assertEquals(expected++, value);
+                } else {
+                    Thread.yield();
+                }
+            } else {
+                int count = queue.drainTo(batch, rand.nextInt(batch.length));
+                for(int i=0; i<count; i++){
+                    assertEquals(expected++, batch[i]);
+                }
+                if(count == 0){
+                    Thread.yield();
+                }
+            }
+        }
+        producer.join();
+        if(failure.get() != null){
+            throw failure.get();
+        }
+        assertNull(queue.remove());
+        assertTrue(queue.isEmpty());
+    }
+}
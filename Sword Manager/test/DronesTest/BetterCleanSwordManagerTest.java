@@ -145,6 +145,17 @@ public class BetterCleanSwordManagerTest {
         compareAnswer(trueAns, ans, "Test case: " + inputFile);
     }
 
+    /**
+     * Runs all input files with the pending cleanings kept in a radix heap
+     */
+    @DisplayName("File-based tests for Story 3, radix heap")
+    @ParameterizedTest(name = "{index}: {0}")
+    @MethodSource("testFileProvider")
+    void runFilesWithRadixHeap(File file){
+        manager.setUseRadixHeap(true);
+        runFiles(file);
+    }
+
     /**
      * Laziness.
      * @param inputFile input file
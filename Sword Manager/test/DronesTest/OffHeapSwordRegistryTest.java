@@ -0,0 +1,155 @@
+package DronesTest;
+
+import CommonUtils.BetterHashTable;
+import CommonUtils.Interfaces.HashTableCursor;
+import Drones.OffHeapSwordRegistry;
+import Items.Sword;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests OffHeapSwordRegistry according to the hash table interface specifications, and reopening a
+ *   registry from its file.
+ */
+public class OffHeapSwordRegistryTest {
+    /**
+     * Makes a sword whose fields (and identity) all derive from i
+     */
+    static Sword sword(int i){
+        Sword sword = new Sword(i % 7 - 1, i % 13, i, i / 2, i % 100, i % 31, i % 17,
+                "name" + i, "description " + i, i % 5 == 0 ? "" : "comment \u00fc" + i, "style" + (i % 3));
+        sword.setTimeOfClean(i % 11);
+        return sword;
+    }
+
+    static int keyOf(Sword sword){
+        return sword.HashCode();
+    }
+
+    /**
+     * Tests very basic use.  Failing this should fail all other tests
+     */
+    @Test
+    void sanityCheck(){
+        OffHeapSwordRegistry registry = new OffHeapSwordRegistry();
+        Sword a = sword(1), b = sword(2);
+        registry.insert(keyOf(a), a);
+        registry.insert(keyOf(b), b);
+
+        assertEquals(2, registry.size());
+        assertTrue(registry.containsKey(keyOf(a)));
+        assertEquals(a, registry.get(keyOf(a)));
+        assertNotSame(a, registry.get(keyOf(a)));
+        assertEquals(a.getTimeOfClean(), registry.get(keyOf(a)).getTimeOfClean());
+        assertEquals(b, registry.get(b.getTotalHealth(), b.getDPS(), b.getAttackSpeed(), b.getStyle()));
+
+        registry.insert(keyOf(a), b);
+        assertEquals(b, registry.get(keyOf(a)));
+        assertEquals(2, registry.size());
+
+        registry.remove(keyOf(a));
+        registry.insert(null, a);
+        assertNull(registry.get(keyOf(a)));
+        assertEquals(1, registry.size());
+        assertThrows(NullPointerException.class, () -> registry.insert(5, null));
+
+        registry.clear();
+        assertEquals(0, registry.size());
+        assertNull(registry.get(keyOf(b)));
+    }
+
+    /**
+     * Runs a random mix of operations against java.util.HashMap, enough to grow the table, compact the
+     *   string area and shift entries back on removal many times
+     */
+    @Test
+    void testRandomOperationsAgainstHashMap(){
+        final int KEY_RANGE = 5000, OPS = 200000;
+        OffHeapSwordRegistry registry = new OffHeapSwordRegistry();
+        HashMap<Integer, Sword> reference = new HashMap<>();
+
+        Random rand = new Random(0);
+        for(int i=0; i<OPS; i++){
+            Sword s = sword(rand.nextInt(KEY_RANGE));
+            int key = keyOf(s);
+            switch(rand.nextInt(5)){
+                case 0: case 1:
+                    registry.insert(key, s); reference.put(key, s); break;
+                case 2:
+                    registry.remove(key); reference.remove(key); break;
+                case 3:
+                    assertEquals(reference.putIfAbsent(key, s), registry.putIfAbsent(key, s)); break;
+                default:
+                    assertEquals(reference.get(key), registry.get(key));
+            }
+            assertEquals(reference.size(), registry.size());
+        }
+
+        HashMap<Integer, Sword> seen = new HashMap<>();
+        registry.forEach(seen::put);
+        assertEquals(reference, seen);
+
+        seen.clear();
+        HashTableCursor<Integer, Sword> cursor = registry.cursor();
+        while(cursor.advance()){
+            assertNull(seen.put(cursor.key(), cursor.value()));
+        }
+        assertEquals(reference, seen);
+    }
+
+    @Test
+    void testReopenFromFile(@TempDir Path dir) throws IOException {
+        final int MAX = 20000;
+        Path file = dir.resolve("swords.reg");
+        try(OffHeapSwordRegistry registry = OffHeapSwordRegistry.open(file)){
+            for(int i=0; i<MAX; i++){
+                registry.insert(keyOf(sword(i)), sword(i));
+            }
+            for(int i=0; i<MAX; i+=2){
+                registry.remove(keyOf(sword(i)));
+            }
+            assertEquals(registry.residentBytes(), Files.size(file));
+        }
+
+        OffHeapSwordRegistry reopened = OffHeapSwordRegistry.open(file);
+        assertEquals(MAX / 2, reopened.size());
+        for(int i=0; i<MAX; i++){
+            assertEquals(i % 2 == 0 ? null : sword(i), reopened.get(keyOf(sword(i))));
+        }
+        reopened.insert(keyOf(sword(0)), sword(0));
+        reopened.close();
+        assertEquals(MAX / 2 + 1, OffHeapSwordRegistry.open(file).size());
+
+        Path notARegistry = dir.resolve("other");
+        Files.writeString(notARegistry, "definitely not a sword registry, but long enough to have a header..........");
+        assertThrows(IOException.class, () -> OffHeapSwordRegistry.open(notARegistry));
+    }
+
+    @Test
+    void testExpectedSizeAndPutAll(){
+        final int MAX = 10000;
+        BetterHashTable<Integer, Sword> onHeap = BetterHashTable.withExpectedSize(MAX);
+        for(int i=0; i<MAX; i++){
+            onHeap.insert(keyOf(sword(i)), sword(i));
+        }
+
+        OffHeapSwordRegistry registry = new OffHeapSwordRegistry(MAX);
+        int capacity = registry.capacity();
+        long bytes = registry.residentBytes();
+        registry.putAll(onHeap);
+
+        assertEquals(onHeap.size(), registry.size());
+        assertEquals(capacity, registry.capacity());
+        assertTrue(registry.residentBytes() >= bytes);
+        onHeap.forEach((k, v) -> assertEquals(v, registry.get(k)));
+        assertThrows(IllegalArgumentException.class, () -> new OffHeapSwordRegistry(-1));
+    }
+}